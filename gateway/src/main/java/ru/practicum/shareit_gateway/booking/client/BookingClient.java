@@ -4,35 +4,48 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit_gateway.booking.BookingState;
 import ru.practicum.shareit_gateway.booking.dto.BookingCreationDto;
 import ru.practicum.shareit_gateway.client.BaseClient;
+import ru.practicum.shareit_gateway.client.RequestCoalescer;
+import ru.practicum.shareit_gateway.client.ResponseCache;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
+    private final ResponseCache responseCache;
+    private final String itemsPath;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         RestTemplateBuilder builder,
+                         ClientHttpRequestFactory serverRequestFactory,
+                         WebClient serverWebClient,
+                         ResponseCache responseCache,
+                         RequestCoalescer requestCoalescer) {
+        super(builder, serverUrl + API_PREFIX, serverRequestFactory, serverWebClient, requestCoalescer);
+        this.responseCache = responseCache;
+        this.itemsPath = rootPath(serverUrl + "/items");
     }
 
-    public ResponseEntity<Object> findById(final Long userId, final Long bookingId) {
+    public Mono<ResponseEntity<Object>> findById(final Long userId, final Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> findAllByState(final Long userId, final BookingState state,
-                                                 final Integer from, final Integer size) {
+    public Mono<ResponseEntity<Object>> findByIds(final Long userId, final List<Long> ids) {
+        return get("/batch?ids={ids}", userId, Map.of("ids", joinIds(ids)));
+    }
+
+    public Mono<ResponseEntity<Object>> findAllByState(final Long userId, final BookingState state,
+                                                       final Integer from, final Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -41,8 +54,8 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findAllByStateForOwner(final Long userId, final BookingState state,
-                                                         final Integer from, final Integer size) {
+    public Mono<ResponseEntity<Object>> findAllByStateForOwner(final Long userId, final BookingState state,
+                                                               final Integer from, final Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -51,14 +64,19 @@ public class BookingClient extends BaseClient {
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> save(final Long userId, final BookingCreationDto booking) {
-        return post("", userId, booking);
+    public Mono<ResponseEntity<Object>> save(final Long userId, final BookingCreationDto booking) {
+        return post("", userId, booking)
+                .doOnTerminate(() -> responseCache.invalidate(itemsPath + "/" + booking.getItemId()));
     }
 
-    public ResponseEntity<Object> approve(final Long ownerId, final Long bookingId, final Boolean isApprove) {
+    public Mono<ResponseEntity<Object>> approve(final Long ownerId, final Long bookingId, final Boolean isApprove) {
         Map<String, Object> parameters = Map.of(
                 "approved", isApprove
         );
-        return patch("/" + bookingId + "?approved={approved}", ownerId, parameters, null);
+        // the request does not name the item, the approved booking in the response does
+        return patch("/" + bookingId + "?approved={approved}", ownerId, parameters, null)
+                .doOnNext(response -> readLong(response, "/item/id")
+                        .ifPresent(itemId -> responseCache.invalidate(itemsPath + "/" + itemId)))
+                .doOnError(e -> responseCache.invalidatePrefix(itemsPath + "/"));
     }
 }
@@ -5,14 +5,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit_gateway.booking.BookingState;
 import ru.practicum.shareit_gateway.booking.client.BookingClient;
 import ru.practicum.shareit_gateway.booking.dto.BookingCreationDto;
 import ru.practicum.shareit_gateway.exception.UnsupportedStateException;
+import ru.practicum.shareit_gateway.validate.BatchIds;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -23,18 +26,26 @@ public class BookingController {
 
     private final BookingClient bookingClient;
 
+    @GetMapping("/batch")
+    public Mono<ResponseEntity<Object>> findByIds(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                  @RequestParam final List<Long> ids) {
+        log.info(">>> FIND BY IDS: " + ids);
+        BatchIds.validate(ids);
+        return bookingClient.findByIds(userId, ids);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> findById(@RequestHeader("X-Sharer-User-Id") final Long userId,
-                                           @PathVariable final Long bookingId) {
+    public Mono<ResponseEntity<Object>> findById(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                 @PathVariable final Long bookingId) {
         log.info(">>> FIND BY ID: [" + bookingId + "]");
         return bookingClient.findById(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllByState(@RequestHeader("X-Sharer-User-Id") final Long userId,
-                                                 @RequestParam(required = false, defaultValue = "ALL") final String state,
-                                                 @RequestParam(defaultValue = "0") @PositiveOrZero final Integer from,
-                                                 @RequestParam(defaultValue = "20") @Positive final Integer size) {
+    public Mono<ResponseEntity<Object>> findAllByState(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                       @RequestParam(required = false, defaultValue = "ALL") final String state,
+                                                       @RequestParam(defaultValue = "0") @PositiveOrZero final Integer from,
+                                                       @RequestParam(defaultValue = "20") @Positive final Integer size) {
         log.info(">>> FIND ALL BY STATE: [" + state + "] >>> USER ID: [" + userId + "]");
 
         try {
@@ -45,10 +56,10 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> findAllByStateForOwner(@RequestHeader("X-Sharer-User-Id") final Long userId,
-                                                         @RequestParam(required = false, defaultValue = "ALL") final String state,
-                                                         @RequestParam(defaultValue = "0") @PositiveOrZero final Integer from,
-                                                         @RequestParam(defaultValue = "20") @Positive final Integer size) {
+    public Mono<ResponseEntity<Object>> findAllByStateForOwner(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                               @RequestParam(required = false, defaultValue = "ALL") final String state,
+                                                               @RequestParam(defaultValue = "0") @PositiveOrZero final Integer from,
+                                                               @RequestParam(defaultValue = "20") @Positive final Integer size) {
         log.info(">>> FIND ALL BY STATE: [" + state + "] >>> FOR OWNER: [" + userId + "]");
 
         try {
@@ -59,16 +70,16 @@ public class BookingController {
     }
 
     @PostMapping
-    public ResponseEntity<Object> save(@RequestHeader("X-Sharer-User-Id") final Long userId,
-                                       @Valid @RequestBody final BookingCreationDto bookingCreationDto) {
+    public Mono<ResponseEntity<Object>> save(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                             @Valid @RequestBody final BookingCreationDto bookingCreationDto) {
         log.info(">>> SAVE BOOKING: [" + bookingCreationDto + "]");
         return bookingClient.save(userId, bookingCreationDto);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approve(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
-                                          @PathVariable final Long bookingId,
-                                          @RequestParam(name = "approved") final Boolean isApprove) {
+    public Mono<ResponseEntity<Object>> approve(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
+                                                @PathVariable final Long bookingId,
+                                                @RequestParam(name = "approved") final Boolean isApprove) {
         log.info(">>> APPROVED BY USER ID: [" + ownerId + "] >> BOOKING ID: [" + bookingId + "] " +
                 " >>> APPROVED STATUS: [" + isApprove + "]");
 
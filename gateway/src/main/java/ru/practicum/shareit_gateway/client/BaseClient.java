@@ -1,94 +1,217 @@
 package ru.practicum.shareit_gateway.client;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.RestTemplate;
-
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
-
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Proxies calls to the server without holding a request thread: requests go through the non-blocking
+ * {@link WebClient} and return a {@link Mono} that Spring MVC completes asynchronously. Response bodies are passed
+ * through as the server's bytes with its status and headers, never parsed and re-serialized, and identical concurrent
+ * GETs share one server call. Only the streaming {@link #relay} still uses the blocking {@link RestTemplate}, as it
+ * copies into the servlet response.
+ * <p>
+ * Passed-through bodies are buffered whole, up to {@code spring.codec.max-in-memory-size}; a larger response fails
+ * with {@link org.springframework.core.io.buffer.DataBufferLimitException}, answered with 502 Bad Gateway. Endpoints
+ * whose responses can grow past the cap have to go through {@link #relay}.
+ */
 public class BaseClient {
-    protected final RestTemplate rest;
-
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
-    }
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade");
+    private static final ObjectMapper JSON = new ObjectMapper();
 
-    protected ResponseEntity<Object> get(String path) {
+    protected final RestTemplate rest;
+    protected final WebClient web;
+    private final RequestCoalescer coalescer;
+    private final String rootPath;
+
+    public BaseClient(RestTemplateBuilder builder,
+                      String rootUri,
+                      ClientHttpRequestFactory requestFactory,
+                      WebClient serverWebClient,
+                      RequestCoalescer coalescer) {
+        this.rest = builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(rootUri))
+                .requestFactory(() -> requestFactory)
+                .build();
+        this.web = serverWebClient.mutate()
+                .baseUrl(rootUri)
+                .build();
+        this.coalescer = coalescer;
+        this.rootPath = rootPath(rootUri);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return coalesced(path, userId, parameters, null);
+    }
+
+    /**
+     * Reads through the response cache, per user when the response depends on {@code X-Sharer-User-Id}.
+     */
+    protected Mono<ResponseEntity<Object>> get(ResponseCache cache,
+                                               String path,
+                                               Long userId,
+                                               boolean perUser,
+                                               @Nullable Map<String, Object> parameters) {
+        return cache.get(uri(path, parameters), perUser ? userId : null,
+                etag -> coalesced(path, userId, parameters, etag));
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body, null);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body, null);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-
-        ResponseEntity<Object> shareitServerResponse;
+    /**
+     * Copies the server response to the servlet response as it arrives, without buffering the body.
+     */
+    protected void relay(HttpMethod method,
+                         String path,
+                         RequestCallback requestCallback,
+                         HttpServletResponse response) throws IOException {
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
+            rest.execute(path, method, requestCallback, serverResponse -> {
+                relayStatus(serverResponse.getRawStatusCode(), serverResponse.getHeaders().getContentType(), response);
+                serverResponse.getBody().transferTo(response.getOutputStream());
+                return null;
+            });
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            final var headers = e.getResponseHeaders();
+            relayStatus(e.getRawStatusCode(), headers != null ? headers.getContentType() : null, response);
+            response.getOutputStream().write(e.getResponseBodyAsByteArray());
+        }
+    }
+
+    /**
+     * The key under which {@link #get(ResponseCache, String, Long, boolean, Map)} caches {@code path}, to invalidate it.
+     */
+    protected String resource(String path) {
+        return uri(path, null);
+    }
+
+    /**
+     * The path every cache key of a client rooted at {@code rootUri} starts with.
+     */
+    protected static String rootPath(String rootUri) {
+        return URI.create(rootUri).getPath();
+    }
+
+    /**
+     * Reads a number such as {@code /item/id} out of a successful passed-through JSON body, e.g. to invalidate exactly
+     * what a write touched.
+     */
+    protected static Optional<Long> readLong(ResponseEntity<Object> response, String pointer) {
+        if (!response.getStatusCode().is2xxSuccessful() || !(response.getBody() instanceof byte[])) {
+            return Optional.empty();
         }
-        return prepareGatewayResponse(shareitServerResponse);
+
+        try {
+            final var value = JSON.readTree((byte[]) response.getBody()).at(pointer);
+            return value.isIntegralNumber() ? Optional.of(value.asLong()) : Optional.empty();
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    protected static String joinIds(List<Long> ids) {
+        return ids.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
+    private Mono<ResponseEntity<Object>> coalesced(String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable String etag) {
+        return coalescer.get(uri(path, parameters), userId, etag,
+                () -> makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, etag));
+    }
+
+    private String uri(String path, @Nullable Map<String, Object> parameters) {
+        return rootPath + UriComponentsBuilder.fromUriString(path)
+                .buildAndExpand(parameters != null ? parameters : Map.of())
+                .toUriString();
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body, @Nullable String etag) {
+        WebClient.RequestBodySpec request = web.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> {
+                    headers.addAll(defaultHeaders(userId));
+                    if (etag != null) {
+                        headers.setIfNoneMatch(etag);
+                    }
+                });
+
+        return (body != null ? request.bodyValue(body) : request)
+                .exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(BaseClient::prepareGatewayResponse);
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -101,17 +224,23 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                headers.addAll(name, values);
+            }
+        });
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        return ResponseEntity.status(response.getStatusCodeValue())
+                .headers(headers)
+                .body(response.getBody());
+    }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+    private static void relayStatus(final int status, final MediaType contentType, final HttpServletResponse response) {
+        response.setStatus(status);
+        if (contentType != null) {
+            response.setContentType(contentType.toString());
         }
-
-        return responseBuilder.build();
     }
 }
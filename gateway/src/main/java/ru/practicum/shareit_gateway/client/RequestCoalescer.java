@@ -0,0 +1,110 @@
+package ru.practicum.shareit_gateway.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Collapses identical GETs that are in flight at the same time into one server call whose response all of them
+ * share. Requests are identical when URI, {@code X-Sharer-User-Id} and {@code If-None-Match} match. A request that
+ * joins a running call waits at most {@code max-wait} for it and then calls the server itself. Calls that started
+ * before a write are {@link #forget forgotten} by it, so a read sent after the write does not get the old state.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final boolean enabled;
+    private final Duration maxWait;
+    private final Map<Key, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter timeouts;
+
+    public RequestCoalescer(@Value("${shareit-server.coalescing.enabled:true}") final boolean enabled,
+                            @Value("${shareit-server.coalescing.max-wait:2000}") final long maxWaitMillis,
+                            final MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxWait = Duration.ofMillis(maxWaitMillis);
+        this.leaders = requests(meterRegistry, "leader");
+        this.followers = requests(meterRegistry, "follower");
+        this.timeouts = Counter.builder("gateway.coalescing.timeouts")
+                .register(meterRegistry);
+        Gauge.builder("gateway.coalescing.ratio", this, RequestCoalescer::ratio)
+                .register(meterRegistry);
+        Gauge.builder("gateway.coalescing.in-flight", inFlight, Map::size)
+                .register(meterRegistry);
+    }
+
+    public Mono<ResponseEntity<Object>> get(final String uri,
+                                           @Nullable final Long userId,
+                                           @Nullable final String etag,
+                                           final Supplier<Mono<ResponseEntity<Object>>> fetch) {
+        if (!enabled) {
+            return fetch.get();
+        }
+
+        return Mono.defer(() -> {
+            final var key = new Key(uri, userId, etag);
+            final var started = new AtomicReference<Mono<ResponseEntity<Object>>>();
+            final var shared = inFlight.computeIfAbsent(key, k -> {
+                // a forgotten call must not remove the one that replaced it
+                started.set(fetch.get()
+                        .doFinally(signal -> inFlight.remove(k, started.get()))
+                        .cache());
+                return started.get();
+            });
+
+            if (shared == started.get()) {
+                leaders.increment();
+                return shared;
+            }
+
+            followers.increment();
+            return shared.timeout(maxWait, Mono.defer(() -> {
+                timeouts.increment();
+                return fetch.get();
+            }));
+        });
+    }
+
+    /**
+     * Lets later requests for matching URIs call the server again; requests already waiting keep their shared call.
+     */
+    public void forget(final Predicate<String> uri) {
+        inFlight.keySet().removeIf(key -> uri.test(key.getUri()));
+    }
+
+    /**
+     * Share of requests answered by another request's server call.
+     */
+    public double ratio() {
+        final var total = leaders.count() + followers.count();
+        return total == 0 ? 0 : followers.count() / total;
+    }
+
+    private static Counter requests(final MeterRegistry meterRegistry, final String role) {
+        return Counter.builder("gateway.coalescing.requests")
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    @Data
+    private static class Key {
+        private final String uri;
+        private final Long userId;
+        private final String etag;
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit_gateway.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Successful server reads that carry an ETag, keyed by URI and, where the response depends on
+ * {@code X-Sharer-User-Id}, by user. Fresh entries are served without a server call; older ones are revalidated with
+ * {@code If-None-Match} and kept as long as the server answers 304. Writes through the gateway invalidate what they
+ * change, also for server calls already in flight in the {@link RequestCoalescer}, and changes the gateway does not
+ * see show up at the latest on the next revalidation.
+ */
+@Component
+public class ResponseCache {
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Cache<Key, Entry> cache;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter notModified;
+    private final Counter modified;
+    private final RequestCoalescer coalescer;
+
+    public ResponseCache(@Value("${shareit-server.cache.enabled:true}") final boolean enabled,
+                         @Value("${shareit-server.cache.max-size:10000}") final long maxSize,
+                         @Value("${shareit-server.cache.ttl:5000}") final long ttlMillis,
+                         @Value("${shareit-server.cache.max-age:600000}") final long maxAgeMillis,
+                         final MeterRegistry meterRegistry,
+                         final RequestCoalescer coalescer) {
+        this.enabled = enabled;
+        this.ttlNanos = Duration.ofMillis(ttlMillis).toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(maxAgeMillis))
+                .recordStats()
+                .build();
+        this.notModified = revalidations(meterRegistry, "not_modified");
+        this.modified = revalidations(meterRegistry, "modified");
+        this.coalescer = coalescer;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.responses");
+    }
+
+    /**
+     * Answers from the cache or through {@code fetch}, which gets the cached ETag to send as {@code If-None-Match}.
+     */
+    public Mono<ResponseEntity<Object>> get(final String uri,
+                                           @Nullable final Long userId,
+                                           final Function<String, Mono<ResponseEntity<Object>>> fetch) {
+        if (!enabled) {
+            return fetch.apply(null);
+        }
+
+        final var key = new Key(resource(uri), uri, userId);
+        final var cached = cache.getIfPresent(key);
+        if (cached != null && System.nanoTime() - cached.getStored() < ttlNanos) {
+            return Mono.just(cached.toResponse());
+        }
+
+        final var expected = generation.get();
+        return fetch.apply(cached != null ? cached.getEtag() : null)
+                .map(response -> {
+                    if (cached != null && response.getStatusCodeValue() == HttpStatus.NOT_MODIFIED.value()) {
+                        notModified.increment();
+                        store(key, new Entry(cached.getEtag(), cached.getHeaders(), cached.getBody(),
+                                System.nanoTime()), expected);
+                        return cached.toResponse();
+                    }
+
+                    if (cached != null) {
+                        modified.increment();
+                    }
+                    final var etag = response.getHeaders().getETag();
+                    if (response.getStatusCodeValue() == HttpStatus.OK.value() && etag != null
+                            && response.getBody() instanceof byte[]) {
+                        store(key, new Entry(etag, HttpHeaders.readOnlyHttpHeaders(response.getHeaders()),
+                                (byte[]) response.getBody(), System.nanoTime()), expected);
+                    } else {
+                        cache.invalidate(key);
+                    }
+                    return response;
+                });
+    }
+
+    /**
+     * Drops every cached variant of a resource path such as {@code /items/1}.
+     */
+    public void invalidate(final String resource) {
+        invalidate(resource::equals);
+    }
+
+    public void invalidatePrefix(final String prefix) {
+        invalidate(resource -> resource.startsWith(prefix));
+    }
+
+    public void invalidateAll() {
+        invalidate(resource -> true);
+    }
+
+    private void invalidate(final Predicate<String> stale) {
+        lock.writeLock().lock();
+        try {
+            // reads already on their way to the server must not store what this write changed
+            generation.incrementAndGet();
+            cache.asMap().keySet().removeIf(key -> stale.test(key.getResource()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // nor answer reads sent after it
+        coalescer.forget(uri -> stale.test(resource(uri)));
+    }
+
+    private void store(final Key key, final Entry entry, final long expected) {
+        lock.readLock().lock();
+        try {
+            if (generation.get() == expected) {
+                cache.put(key, entry);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String resource(final String uri) {
+        final var query = uri.indexOf('?');
+        return query < 0 ? uri : uri.substring(0, query);
+    }
+
+    private static Counter revalidations(final MeterRegistry meterRegistry, final String result) {
+        return Counter.builder("gateway.responses.revalidations")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Data
+    private static class Key {
+        private final String resource;
+        private final String uri;
+        private final Long userId;
+    }
+
+    @Data
+    private static class Entry {
+        private final String etag;
+        private final HttpHeaders headers;
+        private final byte[] body;
+        private final long stored;
+
+        ResponseEntity<Object> toResponse() {
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .body(body);
+        }
+    }
+}
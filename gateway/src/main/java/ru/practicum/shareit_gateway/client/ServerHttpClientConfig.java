@@ -0,0 +1,105 @@
+package ru.practicum.shareit_gateway.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keep-alive connection pools to the server shared by all clients, so they compete for connections under
+ * the same limits instead of each opening its own. Idle and expired connections are closed in the background.
+ * Proxied calls go through the non-blocking pool; the blocking one only serves the streaming relays.
+ */
+@Configuration
+public class ServerHttpClientConfig {
+
+    public static final String POOL_NAME = "shareit-server";
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient serverHttpClient(
+            @Value("${shareit-server.http.max-total:200}") final int maxTotal,
+            @Value("${shareit-server.http.max-per-route:100}") final int maxPerRoute,
+            @Value("${shareit-server.http.connect-timeout:2000}") final int connectTimeoutMillis,
+            @Value("${shareit-server.http.read-timeout:60000}") final int readTimeoutMillis,
+            @Value("${shareit-server.http.lease-timeout:1000}") final int leaseTimeoutMillis,
+            @Value("${shareit-server.http.keep-alive:60000}") final long keepAliveMillis,
+            @Value("${shareit-server.http.idle-timeout:30000}") final long idleTimeoutMillis,
+            @Value("${shareit-server.http.validate-after-inactivity:2000}") final int validateAfterInactivityMillis,
+            final MeterRegistry meterRegistry) {
+        final var connectionManager = new TimedConnectionManager(keepAliveMillis, POOL_NAME, meterRegistry);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(validateAfterInactivityMillis);
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME).bindTo(meterRegistry);
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(connectTimeoutMillis)
+                        .setSocketTimeout(readTimeoutMillis)
+                        .setConnectionRequestTimeout(leaseTimeoutMillis)
+                        .build())
+                .setKeepAliveStrategy((response, context) -> {
+                    // the server's Keep-Alive header wins; without one a connection is kept for keepAliveMillis
+                    final var keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return keepAlive > 0 ? keepAlive : keepAliveMillis;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeoutMillis, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory serverRequestFactory(final HttpClient serverHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(serverHttpClient);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider serverConnectionProvider(
+            @Value("${shareit-server.http.max-total:200}") final int maxTotal,
+            @Value("${shareit-server.http.max-pending:1000}") final int maxPending,
+            @Value("${shareit-server.http.lease-timeout:1000}") final long leaseTimeoutMillis,
+            @Value("${shareit-server.http.keep-alive:60000}") final long keepAliveMillis,
+            @Value("${shareit-server.http.idle-timeout:30000}") final long idleTimeoutMillis) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(maxTotal)
+                .pendingAcquireMaxCount(maxPending)
+                .pendingAcquireTimeout(Duration.ofMillis(leaseTimeoutMillis))
+                .maxLifeTime(Duration.ofMillis(keepAliveMillis))
+                .maxIdleTime(Duration.ofMillis(idleTimeoutMillis))
+                .evictInBackground(Duration.ofMillis(idleTimeoutMillis))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient serverWebClient(
+            @Value("${shareit-server.http.connect-timeout:2000}") final int connectTimeoutMillis,
+            @Value("${shareit-server.http.read-timeout:60000}") final long readTimeoutMillis,
+            final ConnectionProvider serverConnectionProvider,
+            final WebClient.Builder builder) {
+        final var httpClient = reactor.netty.http.client.HttpClient.create(serverConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .responseTimeout(Duration.ofMillis(readTimeoutMillis));
+
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
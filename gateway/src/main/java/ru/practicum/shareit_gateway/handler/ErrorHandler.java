@@ -1,5 +1,6 @@
 package ru.practicum.shareit_gateway.handler;
 
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -26,4 +27,15 @@ public class ErrorHandler {
     public ErrorResponse handleBadRequestException(final RuntimeException e) {
         return new ErrorResponse(e.getMessage());
     }
+
+    /**
+     * The server response did not fit into {@code spring.codec.max-in-memory-size}, the cap on bodies the gateway
+     * buffers.
+     */
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_GATEWAY)
+    public ErrorResponse handleDataBufferLimitException(final DataBufferLimitException e) {
+        return new ErrorResponse("Server response is too large for the gateway, narrow the request down: "
+                + e.getMessage());
+    }
 }
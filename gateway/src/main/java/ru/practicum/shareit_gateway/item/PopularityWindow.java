@@ -0,0 +1,6 @@
+package ru.practicum.shareit_gateway.item;
+
+public enum PopularityWindow {
+    DAY,
+    WEEK
+}
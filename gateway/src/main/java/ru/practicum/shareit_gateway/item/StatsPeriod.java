@@ -0,0 +1,7 @@
+package ru.practicum.shareit_gateway.item;
+
+public enum StatsPeriod {
+    DAY,
+    WEEK,
+    MONTH
+}
@@ -1,16 +1,31 @@
 package ru.practicum.shareit_gateway.item.client;
 
+import org.apache.http.client.HttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit_gateway.client.BaseClient;
+import ru.practicum.shareit_gateway.client.RequestCoalescer;
+import ru.practicum.shareit_gateway.client.ResponseCache;
+import ru.practicum.shareit_gateway.item.PopularityWindow;
+import ru.practicum.shareit_gateway.item.StatsPeriod;
 import ru.practicum.shareit_gateway.item.dto.CommentCreationDto;
+import ru.practicum.shareit_gateway.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit_gateway.item.dto.ItemCreationDto;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -18,29 +33,105 @@ public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
 
+    private final ResponseCache responseCache;
+    private final String requestsPath;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      RestTemplateBuilder builder,
+                      HttpClient serverHttpClient,
+                      WebClient serverWebClient,
+                      ResponseCache responseCache,
+                      RequestCoalescer requestCoalescer) {
+        super(builder, serverUrl + API_PREFIX, streamingRequestFactory(serverHttpClient), serverWebClient,
+                requestCoalescer);
+        this.responseCache = responseCache;
+        this.requestsPath = rootPath(serverUrl + "/requests");
+    }
+
+    public Mono<ResponseEntity<Object>> findById(final Long userId, final Long itemId, final String fields) {
+        if (fields == null) {
+            return get(responseCache, "/" + itemId, userId, true, null);
+        }
+
+        Map<String, Object> parameters = Map.of(
+                "fields", fields
         );
+        return get(responseCache, "/" + itemId + "?fields={fields}", userId, true, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> findByIds(final Long userId, final List<Long> ids) {
+        return get("/batch?ids={ids}", userId, Map.of("ids", joinIds(ids)));
+    }
+
+    public Mono<ResponseEntity<Object>> findPopular(final PopularityWindow window) {
+        return get("/popular?window={window}", null, Map.of("window", window.name()));
+    }
+
+    public Mono<ResponseEntity<Object>> findMatchingRequests(final Long userId, final Long itemId, final Integer size) {
+        return get("/" + itemId + "/matching-requests?size={size}", userId, Map.of("size", size));
+    }
+
+    public Mono<ResponseEntity<Object>> findStats(final Long userId, final Long itemId, final StatsPeriod period) {
+        return get("/" + itemId + "/stats?period={period}", userId, Map.of("period", period.name()));
     }
 
-    public ResponseEntity<Object> findById(final Long userId, final Long itemId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> findOwnerStats(final Long ownerId, final StatsPeriod period) {
+        return get("/stats?period={period}", ownerId, Map.of("period", period.name()));
     }
 
-    public ResponseEntity<Object> findAllOwnerItems(final Long ownerId, final Integer from, final Integer size) {
+    public Mono<ResponseEntity<Object>> findAllOwnerItems(final Long ownerId,
+                                                          final Integer from,
+                                                          final Integer size,
+                                                          final String fields) {
+        if (fields == null) {
+            Map<String, Object> parameters = Map.of(
+                    "from", from,
+                    "size", size
+            );
+            return get("?from={from}&size={size}", ownerId, parameters);
+        }
+
         Map<String, Object> parameters = Map.of(
                 "from", from,
+                "size", size,
+                "fields", fields
+        );
+        return get("?from={from}&size={size}&fields={fields}", ownerId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> findComments(final Long userId,
+                                                     final Long itemId,
+                                                     final String cursor,
+                                                     final Integer size) {
+        if (cursor == null) {
+            Map<String, Object> parameters = Map.of(
+                    "size", size
+            );
+            return get("/" + itemId + "/comments?size={size}", userId, parameters);
+        }
+
+        Map<String, Object> parameters = Map.of(
+                "cursor", cursor,
                 "size", size
         );
-        return get("?from={from}&size={size}", ownerId, parameters);
+        return get("/" + itemId + "/comments?cursor={cursor}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> search(final String text, final Integer from, final Integer size) {
+    public void importItems(final Long userId,
+                            final String contentType,
+                            final InputStream body,
+                            final HttpServletResponse response) throws IOException {
+        relay(HttpMethod.POST, "/import", request -> {
+            request.getHeaders().set(HttpHeaders.CONTENT_TYPE, contentType);
+            request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+            ((StreamingHttpOutputMessage) request).setBody(body::transferTo);
+        }, response);
+        // imported items may answer requests
+        responseCache.invalidatePrefix(requestsPath + "/");
+    }
+
+    public Mono<ResponseEntity<Object>> search(final String text, final Integer from, final Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -49,15 +140,47 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", null, parameters);
     }
 
-    public ResponseEntity<Object> save(final Long userId, final ItemCreationDto item) {
-        return post("", userId, item);
+    public Mono<ResponseEntity<Object>> save(final Long userId, final ItemCreationDto item) {
+        return post("", userId, item)
+                .doOnTerminate(() -> {
+                    if (item.getRequestId() != null) {
+                        responseCache.invalidate(requestsPath + "/" + item.getRequestId());
+                    }
+                });
+    }
+
+    public Mono<ResponseEntity<Object>> addComment(final Long userId, final Long itemId, final CommentCreationDto comment) {
+        return post("/" + itemId + "/comment", userId, comment)
+                .doOnTerminate(() -> responseCache.invalidate(resource("/" + itemId)));
+    }
+
+    public Mono<ResponseEntity<Object>> update(final Long itemId, final Long ownerId, final ItemCreationDto item) {
+        // the request answered by the item shows it too
+        return patch("/" + itemId, ownerId, item)
+                .doOnNext(response -> readLong(response, "/requestId")
+                        .ifPresent(requestId -> responseCache.invalidate(requestsPath + "/" + requestId)))
+                .doOnError(e -> responseCache.invalidatePrefix(requestsPath + "/"))
+                .doOnTerminate(() -> responseCache.invalidate(resource("/" + itemId)));
     }
 
-    public ResponseEntity<Object> addComment(final Long userId, final Long itemId, final CommentCreationDto comment) {
-        return post("/" + itemId + "/comment", userId, comment);
+    public Mono<ResponseEntity<Object>> updateAvailability(final Long ownerId, final ItemAvailabilityDto itemAvailabilityDto) {
+        return patch("/availability", ownerId, itemAvailabilityDto)
+                .doOnTerminate(() -> {
+                    if (itemAvailabilityDto.getItemIds() == null) {
+                        responseCache.invalidatePrefix(resource("/"));
+                    } else {
+                        itemAvailabilityDto.getItemIds()
+                                .forEach(itemId -> responseCache.invalidate(resource("/" + itemId)));
+                    }
+                    // neither the request nor the response names the requests these items answer
+                    responseCache.invalidatePrefix(requestsPath + "/");
+                });
     }
 
-    public ResponseEntity<Object> update(final Long itemId, final Long ownerId, final ItemCreationDto item) {
-        return patch("/" + itemId, ownerId, item);
+    private static ClientHttpRequestFactory streamingRequestFactory(final HttpClient serverHttpClient) {
+        final var requestFactory = new HttpComponentsClientHttpRequestFactory(serverHttpClient);
+        // import bodies are relayed as they arrive instead of being buffered in memory
+        requestFactory.setBufferRequestBody(false);
+        return requestFactory;
     }
 }
@@ -5,14 +5,21 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit_gateway.exception.ValidationException;
+import ru.practicum.shareit_gateway.item.PopularityWindow;
+import ru.practicum.shareit_gateway.item.StatsPeriod;
 import ru.practicum.shareit_gateway.item.client.ItemClient;
 import ru.practicum.shareit_gateway.item.dto.CommentCreationDto;
+import ru.practicum.shareit_gateway.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit_gateway.item.dto.ItemCreationDto;
+import ru.practicum.shareit_gateway.validate.BatchIds;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
 
 @RestController
 @RequestMapping("/items")
@@ -21,43 +28,100 @@ import javax.validation.constraints.PositiveOrZero;
 @Slf4j
 public class ItemController {
 
+    private static final String FIELDS_PATTERN = "\\w+(,\\w+)*";
+
     private final ItemClient itemClient;
 
+    @GetMapping("/batch")
+    public Mono<ResponseEntity<Object>> findByIds(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                  @RequestParam final List<Long> ids) {
+        log.info(">>> FIND ITEMS BY IDS: " + ids + " >> USER ID: [" + userId + "]");
+        BatchIds.validate(ids);
+        return itemClient.findByIds(userId, ids);
+    }
+
+    @GetMapping("/popular")
+    public Mono<ResponseEntity<Object>> findPopular(@RequestParam(defaultValue = "WEEK") final String window) {
+        log.info(">>> FIND POPULAR ITEMS: [" + window + "]");
+
+        try {
+            return itemClient.findPopular(PopularityWindow.valueOf(window));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unknown window: " + window);
+        }
+    }
+
+    @GetMapping("/stats")
+    public Mono<ResponseEntity<Object>> findOwnerStats(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
+                                                       @RequestParam(defaultValue = "WEEK") final String period) {
+        log.info(">>> FIND OWNER STATS: [" + period + "] >> OWNER ID: [" + ownerId + "]");
+        return itemClient.findOwnerStats(ownerId, parsePeriod(period));
+    }
+
+    @GetMapping("/{itemId}/matching-requests")
+    public Mono<ResponseEntity<Object>> findMatchingRequests(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                             @PathVariable final Long itemId,
+                                                             @RequestParam(defaultValue = "10") @Positive @Max(100) final Integer size) {
+        log.info(">>> FIND MATCHING REQUESTS FOR ITEM: [" + itemId + "] >> USER ID: [" + userId + "]");
+        return itemClient.findMatchingRequests(userId, itemId, size);
+    }
+
+    @GetMapping("/{itemId}/stats")
+    public Mono<ResponseEntity<Object>> findStats(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                  @PathVariable final Long itemId,
+                                                  @RequestParam(defaultValue = "WEEK") final String period) {
+        log.info(">>> FIND ITEM STATS: [" + itemId + "] [" + period + "] >> USER ID: [" + userId + "]");
+        return itemClient.findStats(userId, itemId, parsePeriod(period));
+    }
+
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> findById(@RequestHeader("X-Sharer-User-Id") final Long userId,
-                                           @PathVariable final Long itemId) {
+    public Mono<ResponseEntity<Object>> findById(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                 @PathVariable final Long itemId,
+                                                 @RequestParam(required = false) final String fields) {
         log.info(">>> FIND ITEM BY ID: [" + itemId + "] >> USER ID: [" + userId + "]");
-        return itemClient.findById(userId, itemId);
+        validateFields(fields);
+        return itemClient.findById(userId, itemId, fields);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllOwnerItems(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
-                                                    @RequestParam(defaultValue = "0") @PositiveOrZero final Integer from,
-                                                    @RequestParam(defaultValue = "20") @Positive final Integer size) {
+    public Mono<ResponseEntity<Object>> findAllOwnerItems(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
+                                                          @RequestParam(defaultValue = "0") @PositiveOrZero final Integer from,
+                                                          @RequestParam(defaultValue = "20") @Positive final Integer size,
+                                                          @RequestParam(required = false) final String fields) {
         log.info(">>> FIND ALL ITEMS BY USER ID: [" + ownerId + "]");
-        return itemClient.findAllOwnerItems(ownerId, from, size);
+        validateFields(fields);
+        return itemClient.findAllOwnerItems(ownerId, from, size, fields);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public Mono<ResponseEntity<Object>> findComments(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                     @PathVariable final Long itemId,
+                                                     @RequestParam(required = false) final String cursor,
+                                                     @RequestParam(defaultValue = "20") @Positive final Integer size) {
+        log.info(">>> FIND COMMENTS OF ITEM ID: [" + itemId + "] >>> CURSOR: [" + cursor + "]");
+        return itemClient.findComments(userId, itemId, cursor, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestParam final String text,
-                                         @RequestParam(defaultValue = "0") @PositiveOrZero final Integer from,
-                                         @RequestParam(defaultValue = "20") @Positive final Integer size) {
+    public Mono<ResponseEntity<Object>> search(@RequestParam final String text,
+                                               @RequestParam(defaultValue = "0") @PositiveOrZero final Integer from,
+                                               @RequestParam(defaultValue = "20") @Positive final Integer size) {
         log.info(">>> SEARCH ITEM BY TEXT: [" + text + "]");
 
         return itemClient.search(text, from, size);
     }
 
     @PostMapping
-    public ResponseEntity<Object> save(@RequestHeader("X-Sharer-User-Id") final Long userId,
-                                       @Valid @RequestBody final ItemCreationDto itemCreationDto) {
+    public Mono<ResponseEntity<Object>> save(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                             @Valid @RequestBody final ItemCreationDto itemCreationDto) {
         log.info(">>> SAVE ITEM: [" + itemCreationDto + "] >>> BY USER ID: [" + userId + "]");
         return itemClient.save(userId, itemCreationDto);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestHeader("X-Sharer-User-Id") final Long userId,
-                                             @PathVariable final Long itemId,
-                                             @RequestBody final CommentCreationDto commentCreationDto) {
+    public Mono<ResponseEntity<Object>> addComment(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                   @PathVariable final Long itemId,
+                                                   @RequestBody final CommentCreationDto commentCreationDto) {
         log.info(">>> ADD COMMENT: [" + commentCreationDto + "]" +
                 " >>> TO ITEM ID: [" + itemId + "] >>> BY USER ID: [" + userId + "]");
 
@@ -68,12 +132,39 @@ public class ItemController {
         return itemClient.addComment(userId, itemId, commentCreationDto);
     }
 
+    @PatchMapping("/availability")
+    public Mono<ResponseEntity<Object>> updateAvailability(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
+                                                           @Valid @RequestBody final ItemAvailabilityDto itemAvailabilityDto) {
+        log.info(">>> UPDATE AVAILABILITY: [" + itemAvailabilityDto + "] >>> BY USER ID: [" + ownerId + "]");
+
+        final var hasItemIds = itemAvailabilityDto.getItemIds() != null && !itemAvailabilityDto.getItemIds().isEmpty();
+        if (hasItemIds == Boolean.TRUE.equals(itemAvailabilityDto.getAll())) {
+            throw new ValidationException("Either itemIds or all must be set");
+        }
+
+        return itemClient.updateAvailability(ownerId, itemAvailabilityDto);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@PathVariable final Long itemId,
-                                         @RequestHeader("X-Sharer-User-Id") final Long ownerId,
-                                         @RequestBody final ItemCreationDto itemCreationDto) {
+    public Mono<ResponseEntity<Object>> update(@PathVariable final Long itemId,
+                                               @RequestHeader("X-Sharer-User-Id") final Long ownerId,
+                                               @RequestBody final ItemCreationDto itemCreationDto) {
         log.info(">>> UPDATE ITEM: [" + itemCreationDto + "] >>> ID: [" + itemId + "]" +
                 " >>> BY USER ID: [" + ownerId + "]");
         return itemClient.update(itemId, ownerId, itemCreationDto);
     }
+
+    private static StatsPeriod parsePeriod(final String period) {
+        try {
+            return StatsPeriod.valueOf(period);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unknown period: " + period);
+        }
+    }
+
+    private static void validateFields(final String fields) {
+        if (fields != null && !fields.matches(FIELDS_PATTERN)) {
+            throw new ValidationException("Invalid fields: [" + fields + "]");
+        }
+    }
 }
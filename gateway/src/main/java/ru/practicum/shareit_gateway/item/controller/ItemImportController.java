@@ -0,0 +1,38 @@
+package ru.practicum.shareit_gateway.item.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit_gateway.item.client.ItemClient;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/items")
+@RequiredArgsConstructor
+@Slf4j
+public class ItemImportController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final ItemClient itemClient;
+
+    /**
+     * Rows are validated by the server while they stream through, so the body is relayed untouched.
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public void importItems(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                            @RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType,
+                            final InputStream body,
+                            final HttpServletResponse response) throws IOException {
+        log.info(">>> IMPORT ITEMS: [" + contentType + "] >>> BY USER ID: [" + userId + "]");
+        itemClient.importItems(userId, contentType, body, response);
+    }
+}
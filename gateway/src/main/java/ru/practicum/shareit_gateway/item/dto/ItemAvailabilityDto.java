@@ -0,0 +1,21 @@
+package ru.practicum.shareit_gateway.item.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@Builder
+public class ItemAvailabilityDto {
+
+    @Size(max = 1000)
+    private List<Long> itemIds;
+
+    private Boolean all;
+
+    @NotNull
+    private Boolean available;
+}
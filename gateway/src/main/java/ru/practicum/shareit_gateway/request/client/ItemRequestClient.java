@@ -4,10 +4,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit_gateway.client.BaseClient;
+import ru.practicum.shareit_gateway.client.RequestCoalescer;
+import ru.practicum.shareit_gateway.client.ResponseCache;
 import ru.practicum.shareit_gateway.request.dto.ItemRequestCreationDto;
 
 import java.util.Map;
@@ -17,21 +20,24 @@ public class ItemRequestClient extends BaseClient {
 
     private static final String API_PREFIX = "/requests";
 
+    private final ResponseCache responseCache;
+
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
+                             RestTemplateBuilder builder,
+                             ClientHttpRequestFactory serverRequestFactory,
+                             WebClient serverWebClient,
+                             ResponseCache responseCache,
+                             RequestCoalescer requestCoalescer) {
+        super(builder, serverUrl + API_PREFIX, serverRequestFactory, serverWebClient, requestCoalescer);
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> findAllByUserId(final Long userId) {
+    public Mono<ResponseEntity<Object>> findAllByUserId(final Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> findAll(final Long userId, final Integer from, final Integer size) {
+    public Mono<ResponseEntity<Object>> findAll(final Long userId, final Integer from, final Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -39,11 +45,27 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findByRequestId(final Long userId, final Long requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Object>> findFeed(final Long userId, final String cursor, final Integer size) {
+        if (cursor == null) {
+            return get("/feed?size={size}", userId, Map.of("size", size));
+        }
+
+        Map<String, Object> parameters = Map.of(
+                "cursor", cursor,
+                "size", size
+        );
+        return get("/feed?cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> findByRequestId(final Long userId, final Long requestId) {
+        return get(responseCache, "/" + requestId, userId, true, null);
+    }
+
+    public Mono<ResponseEntity<Object>> findSuggestions(final Long userId, final Long requestId, final Integer size) {
+        return get("/" + requestId + "/suggestions?size={size}", userId, Map.of("size", size));
     }
 
-    public ResponseEntity<Object> save(final Long userId, final ItemRequestCreationDto request) {
+    public Mono<ResponseEntity<Object>> save(final Long userId, final ItemRequestCreationDto request) {
         return post("", userId, request);
     }
 }
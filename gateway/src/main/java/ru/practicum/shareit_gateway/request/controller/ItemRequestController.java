@@ -5,10 +5,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit_gateway.request.client.ItemRequestClient;
 import ru.practicum.shareit_gateway.request.dto.ItemRequestCreationDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
@@ -22,31 +24,47 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @GetMapping
-    public ResponseEntity<Object> findAllByUserId(@RequestHeader("X-Sharer-User-Id") final Long userId) {
+    public Mono<ResponseEntity<Object>> findAllByUserId(@RequestHeader("X-Sharer-User-Id") final Long userId) {
         log.info(">>> FIND REQUEST BY USER ID: [" + "]");
         return itemRequestClient.findAllByUserId(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> findAll(@RequestHeader("X-Sharer-User-Id") final Long userId,
-                                          @RequestParam(defaultValue = "0") @PositiveOrZero final Integer from,
-                                          @RequestParam(defaultValue = "20") @Positive final Integer size) {
+    public Mono<ResponseEntity<Object>> findAll(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                @RequestParam(defaultValue = "0") @PositiveOrZero final Integer from,
+                                                @RequestParam(defaultValue = "20") @Positive final Integer size) {
         log.info(">>> FIND ALL REQUESTS BY USER ID: [" + userId + "]" +
                 " >>> WITH PAGINATION FROM: [" + from + "] SIZE: [" + size + "]");
 
         return itemRequestClient.findAll(userId, from, size);
     }
 
+    @GetMapping("/feed")
+    public Mono<ResponseEntity<Object>> findFeed(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                 @RequestParam(required = false) final String cursor,
+                                                 @RequestParam(defaultValue = "20") @Positive final Integer size) {
+        log.info(">>> FIND REQUEST FEED BY USER ID: [" + userId + "] >>> CURSOR: [" + cursor + "]");
+        return itemRequestClient.findFeed(userId, cursor, size);
+    }
+
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> findById(@RequestHeader("X-Sharer-User-Id") final Long userId,
-                                           @PathVariable final Long requestId) {
+    public Mono<ResponseEntity<Object>> findById(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                 @PathVariable final Long requestId) {
         log.info(">>> FIND REQUEST BY ID: [" + requestId + "]");
         return itemRequestClient.findByRequestId(userId, requestId);
     }
 
+    @GetMapping("/{requestId}/suggestions")
+    public Mono<ResponseEntity<Object>> findSuggestions(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                        @PathVariable final Long requestId,
+                                                        @RequestParam(defaultValue = "10") @Positive @Max(100) final Integer size) {
+        log.info(">>> FIND SUGGESTIONS FOR REQUEST: [" + requestId + "] >> USER ID: [" + userId + "]");
+        return itemRequestClient.findSuggestions(userId, requestId, size);
+    }
+
     @PostMapping
-    public ResponseEntity<Object> save(@RequestHeader("X-Sharer-User-Id") final Long userId,
-                                       @Valid @RequestBody ItemRequestCreationDto request) {
+    public Mono<ResponseEntity<Object>> save(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                             @Valid @RequestBody ItemRequestCreationDto request) {
         log.info(">>> SAVE REQUEST: [" + request + "] >>> BY USER ID: [" + userId + "]");
         return itemRequestClient.save(userId, request);
     }
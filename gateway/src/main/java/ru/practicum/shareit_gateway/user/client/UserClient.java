@@ -3,45 +3,81 @@ package ru.practicum.shareit_gateway.user.client;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit_gateway.client.BaseClient;
+import ru.practicum.shareit_gateway.client.RequestCoalescer;
+import ru.practicum.shareit_gateway.client.ResponseCache;
 import ru.practicum.shareit_gateway.user.dto.UserDto;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class UserClient extends BaseClient {
 
     private static final String API_PREFIX = "/users";
 
+    private final ResponseCache responseCache;
+
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(@Value("${shareit-server.url}") String serverUrl,
+                      RestTemplateBuilder builder,
+                      ClientHttpRequestFactory serverRequestFactory,
+                      WebClient serverWebClient,
+                      ResponseCache responseCache,
+                      RequestCoalescer requestCoalescer) {
+        super(builder, serverUrl + API_PREFIX, serverRequestFactory, serverWebClient, requestCoalescer);
+        this.responseCache = responseCache;
+    }
+
+    public Mono<ResponseEntity<Object>> findById(final Long userId) {
+        return get(responseCache, "/" + userId, null, false, null);
     }
 
-    public ResponseEntity<Object> findById(final Long userId) {
-        return get("/" + userId);
+    public Mono<ResponseEntity<Object>> findByIds(final List<Long> ids) {
+        return get("/batch?ids={ids}", null, Map.of("ids", joinIds(ids)));
     }
 
-    public ResponseEntity<Object> findAll() {
-        return get("");
+    public Mono<ResponseEntity<Object>> findPage(final Long afterId, final Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "afterId", afterId,
+                "size", size
+        );
+        return get("?afterId={afterId}&size={size}", null, parameters);
+    }
+
+    public void findAll(final String accept, final HttpServletResponse response) throws IOException {
+        relay(HttpMethod.GET, "", request -> {
+            if (accept != null) {
+                request.getHeaders().set(HttpHeaders.ACCEPT, accept);
+            }
+        }, response);
     }
 
-    public ResponseEntity<Object> save(final UserDto userDto) {
+    public Mono<ResponseEntity<Object>> save(final UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> update(final Long userId, final UserDto userDto) {
-        return patch("/" + userId, userDto);
+    public Mono<ResponseEntity<Object>> update(final Long userId, final UserDto userDto) {
+        return patch("/" + userId, userDto)
+                .doOnTerminate(() -> responseCache.invalidate(resource("/" + userId)));
+    }
+
+    public Mono<ResponseEntity<Object>> delete(final Long userId) {
+        // everything the user owned or could see goes with them
+        return delete("/" + userId)
+                .doOnTerminate(responseCache::invalidateAll);
     }
 
-    public void delete(final Long userId) {
-        delete("/" + userId);
+    public Mono<ResponseEntity<Object>> findDeletion(final Long userId) {
+        return get("/" + userId + "/deletion");
     }
 }
@@ -2,50 +2,81 @@ package ru.practicum.shareit_gateway.user.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit_gateway.user.client.UserClient;
 import ru.practicum.shareit_gateway.user.dto.UserDto;
+import ru.practicum.shareit_gateway.validate.BatchIds;
 import ru.practicum.shareit_gateway.validate.OnCreate;
 import ru.practicum.shareit_gateway.validate.OnUpdate;
 
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.util.List;
+
 @RestController
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
+@Validated
 @Slf4j
 public class UserController {
 
     private final UserClient userClient;
 
+    @GetMapping("/batch")
+    public Mono<ResponseEntity<Object>> findByIds(@RequestParam final List<Long> ids) {
+        log.info(">>FIND USERS BY IDS: " + ids);
+        BatchIds.validate(ids);
+        return userClient.findByIds(ids);
+    }
+
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> findById(@PathVariable final Long userId) {
+    public Mono<ResponseEntity<Object>> findById(@PathVariable final Long userId) {
         log.info(">>FIND USER BY ID: [" + userId + "]");
         return userClient.findById(userId);
     }
 
+    @GetMapping(params = "size")
+    public Mono<ResponseEntity<Object>> findPage(@RequestParam(defaultValue = "0") @PositiveOrZero final Long afterId,
+                                                 @RequestParam @Positive final Integer size) {
+        log.info(">>FIND USERS AFTER ID: [" + afterId + "] SIZE: [" + size + "]");
+        return userClient.findPage(afterId, size);
+    }
+
     @GetMapping
-    public ResponseEntity<Object> findAll() {
+    public void findAll(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept,
+                        final HttpServletResponse response) throws IOException {
         log.info(">>FIND ALL USERS");
-        return userClient.findAll();
+        userClient.findAll(accept, response);
     }
 
     @PostMapping
-    public ResponseEntity<Object> save(@Validated(OnCreate.class) @RequestBody final UserDto userDto) {
+    public Mono<ResponseEntity<Object>> save(@Validated(OnCreate.class) @RequestBody final UserDto userDto) {
         log.info(">>SAVE USER: [" + userDto + "]");
         return userClient.save(userDto);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> update(@PathVariable final Long id,
-                                         @Validated(OnUpdate.class) @RequestBody final UserDto userDto) {
+    public Mono<ResponseEntity<Object>> update(@PathVariable final Long id,
+                                               @Validated(OnUpdate.class) @RequestBody final UserDto userDto) {
         log.info(">>UPDATE USER, ID: [" + id + "]");
         return userClient.update(id, userDto);
     }
 
     @DeleteMapping("/{userId}")
-    public void delete(@PathVariable final Long userId) {
+    public Mono<ResponseEntity<Object>> delete(@PathVariable final Long userId) {
         log.info(">>DELETE USER BY ID: [" + userId + "]");
-        userClient.delete(userId);
+        return userClient.delete(userId);
+    }
+
+    @GetMapping("/{userId}/deletion")
+    public Mono<ResponseEntity<Object>> findDeletion(@PathVariable final Long userId) {
+        log.info(">>FIND USER DELETION BY ID: [" + userId + "]");
+        return userClient.findDeletion(userId);
     }
 }
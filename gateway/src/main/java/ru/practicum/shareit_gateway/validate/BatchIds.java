@@ -0,0 +1,19 @@
+package ru.practicum.shareit_gateway.validate;
+
+import ru.practicum.shareit_gateway.exception.ValidationException;
+
+import java.util.List;
+
+public final class BatchIds {
+
+    public static final int MAX_SIZE = 100;
+
+    private BatchIds() {
+    }
+
+    public static void validate(final List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_SIZE) {
+            throw new ValidationException("From 1 to " + MAX_SIZE + " ids are allowed");
+        }
+    }
+}
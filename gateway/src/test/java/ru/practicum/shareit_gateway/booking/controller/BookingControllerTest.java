@@ -9,6 +9,9 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit_gateway.booking.BookingState;
 import ru.practicum.shareit_gateway.booking.client.BookingClient;
 import ru.practicum.shareit_gateway.booking.dto.BookingCreationDto;
@@ -38,9 +41,9 @@ public class BookingControllerTest {
     @Test
     void findBookingById_thenResponseIsOk() {
         final var booking = getBookingDto();
-        when(bookingClient.findById(1L, 2L)).thenReturn(ResponseEntity.ok().body(booking));
+        when(bookingClient.findById(1L, 2L)).thenReturn(Mono.just(ResponseEntity.ok().body(booking)));
 
-        final var result = mockMvc.perform(get("/bookings/{bookingId}", 2L)
+        final var result = perform(get("/bookings/{bookingId}", 2L)
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk())
                 .andReturn()
@@ -53,14 +56,28 @@ public class BookingControllerTest {
         );
     }
 
+    @SneakyThrows
+    @Test
+    void findBookingsByIds_thenResponseIsOk() {
+        when(bookingClient.findByIds(1L, List.of(3L, 2L)))
+                .thenReturn(Mono.just(ResponseEntity.ok().body(List.of(getBookingDto()))));
+
+        perform(get("/bookings/batch?ids={ids}", "3,2")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(bookingClient).findByIds(1L, List.of(3L, 2L));
+    }
+
     @SneakyThrows
     @Test
     void findAllBookingsByState_thenResponseIsOk() {
         final var bookings = List.of(getBookingDto());
         when(bookingClient.findAllByState(1L, BookingState.ALL, 0, 10))
-                .thenReturn(ResponseEntity.ok().body(bookings));
+                .thenReturn(Mono.just(ResponseEntity.ok().body(bookings)));
 
-        mockMvc.perform(get("/bookings?state={state}&from={from}&size={size}", "ALL", 0, 10)
+        perform(get("/bookings?state={state}&from={from}&size={size}", "ALL", 0, 10)
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
@@ -73,9 +90,9 @@ public class BookingControllerTest {
     void findAllBookingsByState_withDefaultValue_thenResponseIsOk() {
         final var bookings = List.of(getBookingDto());
         when(bookingClient.findAllByState(1L, BookingState.ALL, 0, 20))
-                .thenReturn(ResponseEntity.ok().body(bookings));
+                .thenReturn(Mono.just(ResponseEntity.ok().body(bookings)));
 
-        mockMvc.perform(get("/bookings")
+        perform(get("/bookings")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
@@ -86,7 +103,7 @@ public class BookingControllerTest {
     @SneakyThrows
     @Test
     void findAllBookingsByState_withoutHeaderUserId_thenResponseIsBadRequest() {
-        mockMvc.perform(get("/bookings?state={state}&from={from}&size={size}", "ALL", 0, 10))
+        perform(get("/bookings?state={state}&from={from}&size={size}", "ALL", 0, 10))
                 .andExpect(status().isBadRequest());
 
         verify(bookingClient, never()).findAllByState(anyLong(), any(), anyInt(), anyInt());
@@ -95,7 +112,7 @@ public class BookingControllerTest {
     @SneakyThrows
     @Test
     void findAllBookingsByNotValidState_thenResponseIsBadRequest() {
-        mockMvc.perform(get("/bookings?state={state}", "whatever")
+        perform(get("/bookings?state={state}", "whatever")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isBadRequest());
 
@@ -107,9 +124,9 @@ public class BookingControllerTest {
     void findAllByStateForOwner() {
         final var bookings = List.of(getBookingDto());
         when(bookingClient.findAllByStateForOwner(1L, BookingState.ALL, 0, 10))
-                .thenReturn(ResponseEntity.ok().body(bookings));
+                .thenReturn(Mono.just(ResponseEntity.ok().body(bookings)));
 
-        mockMvc.perform(get("/bookings/owner?state={state}&from={from}&size={size}", "ALL", 0, 10)
+        perform(get("/bookings/owner?state={state}&from={from}&size={size}", "ALL", 0, 10)
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
@@ -122,9 +139,9 @@ public class BookingControllerTest {
     void findAllByStateForOwner_withDefaultValue_thenResponseIsOk() {
         final var bookings = List.of(getBookingDto());
         when(bookingClient.findAllByStateForOwner(1L, BookingState.ALL, 0, 20))
-                .thenReturn(ResponseEntity.ok().body(bookings));
+                .thenReturn(Mono.just(ResponseEntity.ok().body(bookings)));
 
-        mockMvc.perform(get("/bookings/owner")
+        perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
@@ -135,7 +152,7 @@ public class BookingControllerTest {
     @SneakyThrows
     @Test
     void findAllByStateForOwner_withoutHeaderUserId_thenResponseIsBadRequest() {
-        mockMvc.perform(get("/bookings/owner?state={state}&from={from}&size={size}", "ALL", 0, 10))
+        perform(get("/bookings/owner?state={state}&from={from}&size={size}", "ALL", 0, 10))
                 .andExpect(status().isBadRequest());
 
         verify(bookingClient, never()).findAllByStateForOwner(anyLong(), any(), anyInt(), anyInt());
@@ -144,7 +161,7 @@ public class BookingControllerTest {
     @SneakyThrows
     @Test
     void findAllByNotValidStateForOwner_thenResponseIsBadRequest() {
-        mockMvc.perform(get("/bookings/owner?state={state}", "whatever")
+        perform(get("/bookings/owner?state={state}", "whatever")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isBadRequest());
 
@@ -164,9 +181,9 @@ public class BookingControllerTest {
         booking.setStart(start);
         booking.setEnd(end);
 
-        when(bookingClient.save(1L, createdBooking)).thenReturn(ResponseEntity.ok().body(booking));
+        when(bookingClient.save(1L, createdBooking)).thenReturn(Mono.just(ResponseEntity.ok().body(booking)));
 
-        final var result = mockMvc.perform(post("/bookings")
+        final var result = perform(post("/bookings")
                         .contentType("application/json")
                         .header("X-Sharer-User-Id", 1L)
                         .content(objectMapper.writeValueAsString(createdBooking)))
@@ -190,7 +207,7 @@ public class BookingControllerTest {
         createdBooking.setStart(start);
         createdBooking.setEnd(end);
 
-        mockMvc.perform(post("/bookings")
+        perform(post("/bookings")
                         .contentType("application/json")
                         .header("X-Sharer-User-Id", 1L)
                         .content(objectMapper.writeValueAsString(createdBooking)))
@@ -209,7 +226,7 @@ public class BookingControllerTest {
         createdBooking.setStart(start);
         createdBooking.setEnd(end);
 
-        mockMvc.perform(post("/bookings")
+        perform(post("/bookings")
                         .contentType("application/json")
                         .header("X-Sharer-User-Id", 1L)
                         .content(objectMapper.writeValueAsString(createdBooking)))
@@ -228,7 +245,7 @@ public class BookingControllerTest {
         createdBooking.setStart(start);
         createdBooking.setEnd(end);
 
-        mockMvc.perform(post("/bookings")
+        perform(post("/bookings")
                         .contentType("application/json")
                         .header("X-Sharer-User-Id", 1L)
                         .content(objectMapper.writeValueAsString(createdBooking)))
@@ -241,9 +258,9 @@ public class BookingControllerTest {
     @Test
     void approve_thenResponseIsOk() {
         final var booking = getBookingDto();
-        when(bookingClient.approve(1L, 1L, true)).thenReturn(ResponseEntity.ok().body(booking));
+        when(bookingClient.approve(1L, 1L, true)).thenReturn(Mono.just(ResponseEntity.ok().body(booking)));
 
-        final var result = mockMvc.perform(patch("/bookings/{bookingId}?approved={isApprove}",
+        final var result = perform(patch("/bookings/{bookingId}?approved={isApprove}",
                         1L, true)
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk())
@@ -257,6 +274,17 @@ public class BookingControllerTest {
         );
     }
 
+    private ResultActions perform(final RequestBuilder request) throws Exception {
+        final var actions = mockMvc.perform(request);
+        final var result = actions.andReturn();
+        if (!result.getRequest().isAsyncStarted()) {
+            return actions;
+        }
+
+        result.getAsyncResult();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
     private BookingDto getBookingDto() {
         return BookingDto.builder().build();
     }
@@ -0,0 +1,116 @@
+package ru.practicum.shareit_gateway.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares passing a large booking list through as bytes with parsing it into {@code Object} and serializing it
+ * again, as the gateway did before. Run with {@code mvn test -Dbenchmark=true -Dtest=BaseClientBenchmarkTest}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class BaseClientBenchmarkTest {
+
+    private static final int BOOKINGS = 1000;
+    private static final int WARMUP = 300;
+    private static final int REQUESTS = 1000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private DisposableServer server;
+    private WebClient web;
+    private BaseClient client;
+
+    @BeforeEach
+    void init() {
+        final var body = IntStream.range(0, BOOKINGS)
+                .mapToObj(i -> "{\"id\":" + i + ",\"start\":\"2026-10-19T10:00:00\",\"end\":\"2026-10-20T10:00:00\","
+                        + "\"status\":\"APPROVED\",\"booker\":{\"id\":2,\"name\":\"booker\"},"
+                        + "\"item\":{\"id\":" + i + ",\"name\":\"Drill\",\"description\":\"Cordless drill\"}}")
+                .collect(Collectors.joining(",", "[", "]"))
+                .getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/bookings/owner", (request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .sendByteArray(Mono.just(body))))
+                .bindNow();
+        final var url = "http://localhost:" + server.port();
+        web = WebClient.builder()
+                .baseUrl(url)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(-1))
+                .build();
+        client = new BaseClient(new RestTemplateBuilder(), url, new SimpleClientHttpRequestFactory(), web,
+                new RequestCoalescer(false, 0, new SimpleMeterRegistry()));
+        log.info(">>> BENCHMARK payload: {} bookings, {} KB", BOOKINGS, body.length >> 10);
+    }
+
+    @AfterEach
+    void close() {
+        server.disposeNow();
+    }
+
+    @Test
+    void passThroughVersusParse() {
+        measure("parse", () -> web.get()
+                .uri("/bookings/owner")
+                .exchangeToMono(response -> response.toEntity(Object.class))
+                .map(this::serialize)
+                .block());
+        measure("pass-through", () -> client.get("/bookings/owner", 1L)
+                .map(response -> (byte[]) response.getBody())
+                .block());
+    }
+
+    private void measure(final String path, final Supplier<byte[]> request) {
+        for (int i = 0; i < WARMUP; i++) {
+            request.get();
+        }
+
+        final var allocatedBefore = allocatedBytes();
+        final var started = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            request.get();
+        }
+        final var elapsed = System.nanoTime() - started;
+        final var allocated = allocatedBytes() - allocatedBefore;
+
+        log.info(">>> BENCHMARK {}: {} us per request, {} KB allocated per request",
+                path, elapsed / REQUESTS / 1000, allocated / REQUESTS >> 10);
+    }
+
+    private byte[] serialize(final ResponseEntity<Object> response) {
+        try {
+            return objectMapper.writeValueAsBytes(response.getBody());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long allocatedBytes() {
+        return Arrays.stream(threads.getThreadAllocatedBytes(threads.getAllThreadIds()))
+                .filter(bytes -> bytes > 0)
+                .sum();
+    }
+}
@@ -0,0 +1,157 @@
+package ru.practicum.shareit_gateway.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BaseClientTest {
+
+    private static final String BOOKINGS = "[ {\"id\" : 1, \"price\" : 1.50, \"big\" : 123456789012345678901234567890} ]";
+    private static final String NOT_FOUND = "{\"error\":\"Booking does not exist\"}";
+    private static final String USER = "{\"id\":1,\"name\":\"user\"}";
+    private static final int LARGE_BODY_SIZE = 512 * 1024;
+
+    private final List<String> ifNoneMatch = new ArrayList<>();
+    private HttpServer server;
+    private RequestCoalescer coalescer;
+    private BaseClient client;
+
+    @BeforeEach
+    void init() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/bookings", exchange -> {
+            final var found = exchange.getRequestURI().getPath().equals("/bookings");
+            final var body = (found ? BOOKINGS : NOT_FOUND).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("X-Total-Count", "1");
+            exchange.sendResponseHeaders(found ? 200 : 404, found ? 0 : body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/requests/all", exchange -> {
+            final var body = new byte[LARGE_BODY_SIZE];
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/users", exchange -> {
+            final var etag = exchange.getRequestHeaders().getFirst("If-None-Match");
+            ifNoneMatch.add(etag);
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            if ("\"v1\"".equals(etag)) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            final var body = USER.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        coalescer = new RequestCoalescer(true, 1000, new SimpleMeterRegistry());
+        client = new BaseClient(new RestTemplateBuilder(), "http://localhost:" + server.getAddress().getPort(),
+                new SimpleClientHttpRequestFactory(), WebClient.create(), coalescer);
+    }
+
+    @AfterEach
+    void close() {
+        server.stop(0);
+    }
+
+    @Test
+    void get_thenServerBytesStatusAndHeadersPassedThrough() {
+        final var response = client.get("/bookings", 1L).block();
+
+        assertNotNull(response);
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, response.getStatusCode()),
+                () -> assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType()),
+                () -> assertEquals("1", response.getHeaders().getFirst("X-Total-Count")),
+                () -> assertNull(response.getHeaders().getFirst("Transfer-Encoding")),
+                () -> assertArrayEquals(BOOKINGS.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody())
+        );
+    }
+
+    @Test
+    void get_whenServerFails_thenErrorBytesPassedThrough() {
+        final var response = client.get("/bookings/99", 1L).block();
+
+        assertNotNull(response);
+        assertAll(
+                () -> assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode()),
+                () -> assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType()),
+                () -> assertArrayEquals(NOT_FOUND.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody())
+        );
+    }
+
+    @Test
+    void readLong_whenSuccessful_thenNumberReadAndOtherwiseEmpty() {
+        final var found = client.get("/bookings", 1L).block();
+        final var notFound = client.get("/bookings/99", 1L).block();
+
+        assertAll(
+                () -> assertEquals(Optional.of(1L), BaseClient.readLong(found, "/0/id")),
+                () -> assertEquals(Optional.empty(), BaseClient.readLong(found, "/0/price")),
+                () -> assertEquals(Optional.empty(), BaseClient.readLong(found, "/1/id")),
+                () -> assertEquals(Optional.empty(), BaseClient.readLong(notFound, "/error"))
+        );
+    }
+
+    @Test
+    void get_whenServerResponseOverInMemoryLimit_thenDataBufferLimitException() {
+        assertThrows(DataBufferLimitException.class, () -> client.get("/requests/all", 1L).block());
+    }
+
+    @Test
+    void resource_whenServerUrlHasPath_thenInvalidationDropsCachedResponse() {
+        final var cache = new ResponseCache(true, 100, 600_000, 600_000, new SimpleMeterRegistry(), coalescer);
+        final var users = new BaseClient(new RestTemplateBuilder(),
+                "http://localhost:" + server.getAddress().getPort() + "/users", new SimpleClientHttpRequestFactory(),
+                WebClient.create(), coalescer);
+
+        users.get(cache, "/1", null, false, null).block();
+        users.get(cache, "/1", null, false, null).block();
+        cache.invalidate(users.resource("/1"));
+        users.get(cache, "/1", null, false, null).block();
+
+        assertEquals(Arrays.asList(null, null), ifNoneMatch);
+    }
+
+    @Test
+    void get_whenCachedResponseStale_thenRevalidatedAndServedFromCache() {
+        final var cache = new ResponseCache(true, 100, 0, 600_000, new SimpleMeterRegistry(), coalescer);
+
+        client.get(cache, "/users/1", null, false, null).block();
+        final var response = client.get(cache, "/users/1", null, false, null).block();
+
+        assertNotNull(response);
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, response.getStatusCode()),
+                () -> assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType()),
+                () -> assertArrayEquals(USER.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody()),
+                () -> assertEquals("\"v1\"", ifNoneMatch.get(1)),
+                () -> assertNull(ifNoneMatch.get(0))
+        );
+    }
+}
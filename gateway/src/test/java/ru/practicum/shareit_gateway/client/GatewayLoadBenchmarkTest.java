@@ -0,0 +1,121 @@
+package ru.practicum.shareit_gateway.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Holds {@code -Dconnections} requests (10k by default) open against the gateway at once while a stub server
+ * answers each after {@link #UPSTREAM_DELAY}; needs about four file descriptors per connection. The requests are
+ * identical, so with {@code -Dcoalescing=true} they share server calls.
+ * Run with {@code mvn test -Dbenchmark=true -Dtest=GatewayLoadBenchmarkTest}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class GatewayLoadBenchmarkTest {
+
+    private static final int CONNECTIONS = Integer.getInteger("connections", 10_000);
+    private static final int TOMCAT_THREADS = 200;
+    private static final boolean COALESCING = Boolean.getBoolean("coalescing");
+    private static final Duration UPSTREAM_DELAY = Duration.ofMillis(500);
+    private static final AtomicInteger UPSTREAM_CALLS = new AtomicInteger();
+    private static final DisposableServer UPSTREAM = HttpServer.create()
+            .host("localhost")
+            .port(0)
+            .route(routes -> routes.get("/users/{id}", (request, response) -> Mono.delay(UPSTREAM_DELAY)
+                    .doOnSubscribe(subscription -> UPSTREAM_CALLS.incrementAndGet())
+                    .then(response.header("Content-Type", "application/json")
+                            .sendString(Mono.just("{\"id\":1,\"name\":\"user\",\"email\":\"user@email.com\"}"))
+                            .then())))
+            .bindNow();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void properties(final DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + UPSTREAM.port());
+        registry.add("shareit-server.http.max-total", () -> CONNECTIONS);
+        registry.add("shareit-server.http.max-pending", () -> CONNECTIONS);
+        registry.add("shareit-server.http.lease-timeout", () -> 60_000);
+        registry.add("shareit-server.coalescing.enabled", () -> COALESCING);
+        registry.add("server.tomcat.threads.max", () -> TOMCAT_THREADS);
+        registry.add("server.tomcat.max-connections", () -> CONNECTIONS + 1000);
+        registry.add("server.tomcat.accept-count", () -> CONNECTIONS);
+        registry.add("logging.level.org.springframework.web.client.RestTemplate", () -> "INFO");
+        registry.add("logging.level.ru.practicum.shareit_gateway", () -> "WARN");
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        UPSTREAM.disposeNow();
+    }
+
+    @Test
+    void concurrentRequests() {
+        final var connectionProvider = ConnectionProvider.builder("load")
+                .maxConnections(CONNECTIONS)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        final var client = HttpClient.create(connectionProvider)
+                .baseUrl("http://localhost:" + port);
+        final var threads = ManagementFactory.getThreadMXBean();
+        final var memory = ManagementFactory.getMemoryMXBean();
+        final var peakHeap = new AtomicLong();
+        final var sampler = Executors.newSingleThreadScheduledExecutor();
+
+        fetch(client, 1).blockLast();
+        System.gc();
+        final var heapBefore = memory.getHeapMemoryUsage().getUsed();
+        threads.resetPeakThreadCount();
+        sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 50, TimeUnit.MILLISECONDS);
+
+        UPSTREAM_CALLS.set(0);
+        final var started = System.nanoTime();
+        final var ok = fetch(client, CONNECTIONS)
+                .filter(status -> status == 200)
+                .count()
+                .block(Duration.ofMinutes(5));
+        final var elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        sampler.shutdownNow();
+        connectionProvider.disposeLater().block();
+
+        assertEquals(CONNECTIONS, ok);
+        log.info(">>> BENCHMARK gateway: {} concurrent requests, coalescing {}, {} upstream calls, "
+                        + "upstream delay {} ms, {} ms total (a gateway blocking {} threads needs at least {} ms), "
+                        + "peak threads {}, heap {} MB before, peak {} MB",
+                CONNECTIONS, COALESCING, UPSTREAM_CALLS.get(), UPSTREAM_DELAY.toMillis(), elapsedMillis, TOMCAT_THREADS,
+                (long) Math.ceil((double) CONNECTIONS / TOMCAT_THREADS) * UPSTREAM_DELAY.toMillis(),
+                threads.getPeakThreadCount(), heapBefore >> 20, peakHeap.get() >> 20);
+    }
+
+    private static Flux<Integer> fetch(final HttpClient client, final int requests) {
+        return Flux.range(0, requests)
+                .flatMap(i -> client.get()
+                        .uri("/users/1")
+                        .responseSingle((response, body) -> body.then(Mono.just(response.status().code()))),
+                        requests);
+    }
+}
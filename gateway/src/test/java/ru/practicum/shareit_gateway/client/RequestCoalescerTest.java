@@ -0,0 +1,124 @@
+package ru.practicum.shareit_gateway.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestCoalescerTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final Sinks.One<ResponseEntity<Object>> server = Sinks.one();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void get_whenIdenticalRequestsInFlight_thenOneServerCallShared() {
+        final var coalescer = new RequestCoalescer(true, 60_000, meterRegistry);
+
+        final var first = coalescer.get("/items/search?text=drill", null, null, fetch()).toFuture();
+        final var second = coalescer.get("/items/search?text=drill", null, null, fetch()).toFuture();
+        final var third = coalescer.get("/items/search?text=drill", null, null, fetch()).toFuture();
+        server.tryEmitValue(ResponseEntity.ok("drills"));
+
+        assertAll(
+                () -> assertEquals(1, calls.get()),
+                () -> assertEquals("drills", first.join().getBody()),
+                () -> assertEquals("drills", second.join().getBody()),
+                () -> assertEquals("drills", third.join().getBody()),
+                () -> assertEquals(2.0 / 3, meterRegistry.get("gateway.coalescing.ratio").gauge().value(), 1e-9),
+                () -> assertEquals(0, meterRegistry.get("gateway.coalescing.in-flight").gauge().value())
+        );
+    }
+
+    @Test
+    void get_whenServerCallFinished_thenNextRequestCallsServerAgain() {
+        final var coalescer = new RequestCoalescer(true, 60_000, meterRegistry);
+        server.tryEmitValue(ResponseEntity.ok("drills"));
+
+        coalescer.get("/items/search?text=drill", null, null, fetch()).block();
+        coalescer.get("/items/search?text=drill", null, null, fetch()).block();
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void get_whenOtherUserOrEtag_thenSeparateServerCalls() {
+        final var coalescer = new RequestCoalescer(true, 60_000, meterRegistry);
+
+        coalescer.get("/requests/all", 1L, null, fetch()).subscribe();
+        coalescer.get("/requests/all", 2L, null, fetch()).subscribe();
+        coalescer.get("/requests/all", 1L, "\"v1\"", fetch()).subscribe();
+        coalescer.get("/requests/all", 1L, null, fetch()).subscribe();
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void forget_thenLaterRequestsCallServerAndOldCallDoesNotEndNewOne() {
+        final var coalescer = new RequestCoalescer(true, 60_000, meterRegistry);
+        final Sinks.One<ResponseEntity<Object>> old = Sinks.one();
+        final var first = coalescer.get("/items/1", 1L, null, () -> {
+            calls.incrementAndGet();
+            return old.asMono();
+        }).toFuture();
+
+        coalescer.forget(uri -> uri.startsWith("/items/1"));
+        final var second = coalescer.get("/items/1", 1L, null, fetch()).toFuture();
+        old.tryEmitValue(ResponseEntity.ok("old"));
+        final var third = coalescer.get("/items/1", 1L, null, fetch()).toFuture();
+        server.tryEmitValue(ResponseEntity.ok("new"));
+
+        assertAll(
+                () -> assertEquals("old", first.join().getBody()),
+                () -> assertEquals("new", second.join().getBody()),
+                () -> assertEquals("new", third.join().getBody()),
+                () -> assertEquals(2, calls.get())
+        );
+    }
+
+    @Test
+    void get_whenSharedCallTooSlow_thenWaiterCallsServerItself() {
+        final var coalescer = new RequestCoalescer(true, 50, meterRegistry);
+        coalescer.get("/requests/all", 1L, null, fetch()).subscribe();
+
+        final var response = coalescer.get("/requests/all", 1L, null, () -> {
+            calls.incrementAndGet();
+            return Mono.just(ResponseEntity.ok("own"));
+        }).block();
+
+        assertAll(
+                () -> assertEquals("own", response.getBody()),
+                () -> assertEquals(2, calls.get()),
+                () -> assertEquals(1, meterRegistry.get("gateway.coalescing.timeouts").counter().count())
+        );
+    }
+
+    @Test
+    void get_whenDisabled_thenEveryRequestCallsServer() {
+        final var coalescer = new RequestCoalescer(false, 60_000, meterRegistry);
+
+        coalescer.get("/requests/all", 1L, null, fetch()).subscribe();
+        coalescer.get("/requests/all", 1L, null, fetch()).subscribe();
+
+        assertEquals(2, calls.get());
+    }
+
+    private Supplier<Mono<ResponseEntity<Object>>> fetch() {
+        return () -> {
+            calls.incrementAndGet();
+            return server.asMono();
+        };
+    }
+}
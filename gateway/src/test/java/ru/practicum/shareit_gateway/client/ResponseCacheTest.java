@@ -0,0 +1,157 @@
+package ru.practicum.shareit_gateway.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCacheTest {
+
+    private static final byte[] ITEM = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+    private final List<String> sentEtags = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(true, 60_000, meterRegistry);
+    }
+
+    @Test
+    void get_whenFresh_thenServerNotCalledAgain() {
+        final var cache = new ResponseCache(true, 100, 60_000, 600_000, meterRegistry, coalescer);
+
+        for (int i = 0; i < 3; i++) {
+            assertArrayEquals(ITEM, (byte[]) cache.get("/items/1", 1L, server(ok("\"v1\""))).block().getBody());
+        }
+
+        assertEquals(1, sentEtags.size());
+    }
+
+    @Test
+    void get_whenStale_thenRevalidatedWithIfNoneMatch() {
+        final var cache = new ResponseCache(true, 100, 0, 600_000, meterRegistry, coalescer);
+        cache.get("/items/1", 1L, server(ok("\"v1\""))).block();
+
+        final var response = cache.get("/items/1", 1L, server(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build()))
+                .block();
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, response.getStatusCode()),
+                () -> assertArrayEquals(ITEM, (byte[]) response.getBody()),
+                () -> assertEquals("\"v1\"", response.getHeaders().getETag()),
+                () -> assertEquals("\"v1\"", sentEtags.get(1)),
+                () -> assertEquals(1, meterRegistry.get("gateway.responses.revalidations")
+                        .tag("result", "not_modified")
+                        .counter().count())
+        );
+    }
+
+    @Test
+    void get_whenOtherUser_thenServerCalledForThem() {
+        final var cache = new ResponseCache(true, 100, 60_000, 600_000, meterRegistry, coalescer);
+
+        cache.get("/items/1", 1L, server(ok("\"v1\""))).block();
+        cache.get("/items/1", 2L, server(ok("\"v1\""))).block();
+        cache.get("/items/1", 1L, server(ok("\"v1\""))).block();
+
+        assertEquals(2, sentEtags.size());
+    }
+
+    @Test
+    void invalidate_thenEveryVariantOfResourceFetchedAgain() {
+        final var cache = new ResponseCache(true, 100, 60_000, 600_000, meterRegistry, coalescer);
+        cache.get("/items/1", 1L, server(ok("\"v1\""))).block();
+        cache.get("/items/1?fields=name", 1L, server(ok("\"v1\""))).block();
+        cache.get("/items/10", 1L, server(ok("\"v1\""))).block();
+
+        cache.invalidate("/items/1");
+        cache.get("/items/1", 1L, server(ok("\"v2\""))).block();
+        cache.get("/items/1?fields=name", 1L, server(ok("\"v2\""))).block();
+        cache.get("/items/10", 1L, server(ok("\"v2\""))).block();
+
+        assertEquals(5, sentEtags.size());
+    }
+
+    @Test
+    void get_whenInvalidatedWhileFetching_thenResponseNotStored() {
+        final var cache = new ResponseCache(true, 100, 60_000, 600_000, meterRegistry, coalescer);
+        final Sinks.One<ResponseEntity<Object>> inFlight = Sinks.one();
+
+        final var response = cache.get("/items/1", 1L, etag -> inFlight.asMono()).toFuture();
+        cache.invalidate("/items/1");
+        inFlight.tryEmitValue(ok("\"v1\""));
+        response.join();
+        cache.get("/items/1", 1L, server(ok("\"v2\""))).block();
+
+        assertEquals(1, sentEtags.size());
+    }
+
+    @Test
+    void invalidate_whenReadInFlight_thenReadAfterWriteDoesNotJoinIt() {
+        final var cache = new ResponseCache(true, 100, 60_000, 600_000, meterRegistry, coalescer);
+        final Sinks.One<ResponseEntity<Object>> beforeWrite = Sinks.one();
+        cache.get("/items/1?fields=name", 1L, etag -> coalescer.get("/items/1?fields=name", 1L, etag, () -> {
+            sentEtags.add(etag);
+            return beforeWrite.asMono();
+        })).subscribe();
+
+        cache.invalidate("/items/1");
+        final var response = cache.get("/items/1?fields=name", 1L,
+                etag -> coalescer.get("/items/1?fields=name", 1L, etag, () -> server(ok("\"v2\"")).apply(etag)))
+                .block(Duration.ofSeconds(5));
+
+        assertAll(
+                () -> assertEquals(2, sentEtags.size()),
+                () -> assertEquals("\"v2\"", response.getHeaders().getETag())
+        );
+    }
+
+    @Test
+    void get_whenNoEtagOrNotOk_thenNotStored() {
+        final var cache = new ResponseCache(true, 100, 60_000, 600_000, meterRegistry, coalescer);
+
+        cache.get("/items/1", 1L, server(ResponseEntity.ok(ITEM))).block();
+        cache.get("/items/1", 1L, server(ResponseEntity.status(HttpStatus.NOT_FOUND).eTag("\"v1\"").body(ITEM)))
+                .block();
+        cache.get("/items/1", 1L, server(ok("\"v1\""))).block();
+
+        assertEquals(3, sentEtags.size());
+    }
+
+    @Test
+    void get_whenDisabled_thenEveryCallGoesToServer() {
+        final var cache = new ResponseCache(false, 100, 60_000, 600_000, meterRegistry, coalescer);
+
+        cache.get("/items/1", 1L, server(ok("\"v1\""))).block();
+        cache.get("/items/1", 1L, server(ok("\"v1\""))).block();
+
+        assertEquals(2, sentEtags.size());
+    }
+
+    private Function<String, Mono<ResponseEntity<Object>>> server(final ResponseEntity<Object> response) {
+        return etag -> {
+            sentEtags.add(etag);
+            return Mono.just(response);
+        };
+    }
+
+    private static ResponseEntity<Object> ok(final String etag) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .body(ITEM);
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit_gateway.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ServerHttpClientConfigTest {
+
+    private final ServerHttpClientConfig config = new ServerHttpClientConfig();
+    private final Set<InetSocketAddress> clientAddresses = ConcurrentHashMap.newKeySet();
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void init() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            clientAddresses.add(exchange.getRemoteAddress());
+            final var body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+        httpClient = config.serverHttpClient(10, 5, 1000, 1000, 1000, 60_000, 30_000, 2000, meterRegistry);
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void serverHttpClient_whenCalledRepeatedly_thenConnectionReusedAndLeasesTimed() {
+        final var rest = new RestTemplate(config.serverRequestFactory(httpClient));
+        final var url = "http://localhost:" + server.getAddress().getPort() + "/users";
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("ok", rest.getForObject(url, String.class));
+        }
+
+        assertAll(
+                () -> assertEquals(1, clientAddresses.size()),
+                () -> assertEquals(5, meterRegistry.get("httpcomponents.httpclient.pool.lease")
+                        .tag("httpclient", ServerHttpClientConfig.POOL_NAME)
+                        .timer().count()),
+                () -> assertEquals(0, meterRegistry.get("httpcomponents.httpclient.pool.total.pending")
+                        .gauge().value()),
+                () -> assertEquals(1, meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                        .tag("state", "available")
+                        .gauge().value()),
+                () -> assertEquals(10, meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                        .gauge().value())
+        );
+    }
+}
@@ -9,9 +9,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit_gateway.item.PopularityWindow;
+import ru.practicum.shareit_gateway.item.StatsPeriod;
 import ru.practicum.shareit_gateway.item.client.ItemClient;
 import ru.practicum.shareit_gateway.item.dto.CommentCreationDto;
 import ru.practicum.shareit_gateway.item.dto.CommentInfoDto;
+import ru.practicum.shareit_gateway.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit_gateway.item.dto.ItemCreationDto;
 import ru.practicum.shareit_gateway.item.dto.ItemInfoDto;
 
@@ -20,6 +26,8 @@ import java.util.List;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -38,9 +46,9 @@ public class ItemControllerTest {
     @Test
     void findItemById_thenResponseIsOk() {
         final var item = getItemInfoDto();
-        when(itemClient.findById(1L, 1L)).thenReturn(ResponseEntity.ok().body(item));
+        when(itemClient.findById(1L, 1L, null)).thenReturn(Mono.just(ResponseEntity.ok().body(item)));
 
-        final var result = mockMvc.perform(get("/items/{id}", 1L)
+        final var result = perform(get("/items/{id}", 1L)
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk())
                 .andReturn()
@@ -49,31 +57,120 @@ public class ItemControllerTest {
 
         assertAll(
                 () -> assertEquals(objectMapper.writeValueAsString(item), result),
-                () -> verify(itemClient).findById(1L, 1L)
+                () -> verify(itemClient).findById(1L, 1L, null)
         );
     }
 
+    @SneakyThrows
+    @Test
+    void findItemByIdWithFields_thenFieldsPassedThrough() {
+        final var item = getItemInfoDto();
+        when(itemClient.findById(1L, 1L, "id,name")).thenReturn(Mono.just(ResponseEntity.ok().body(item)));
+
+        perform(get("/items/{id}?fields={fields}", 1L, "id,name")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+
+        verify(itemClient).findById(1L, 1L, "id,name");
+    }
+
+    @SneakyThrows
+    @Test
+    void findItemByIdWithInvalidFields_thenResponseIsBadRequest() {
+        perform(get("/items/{id}?fields={fields}", 1L, "id;name")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).findById(anyLong(), anyLong(), any());
+    }
+
+    @SneakyThrows
+    @Test
+    void findPopular_thenResponseIsOk() {
+        when(itemClient.findPopular(PopularityWindow.DAY)).thenReturn(Mono.just(ResponseEntity.ok().body(List.of())));
+
+        perform(get("/items/popular?window={window}", "DAY"))
+                .andExpect(status().isOk());
+
+        verify(itemClient).findPopular(PopularityWindow.DAY);
+    }
+
+    @SneakyThrows
+    @Test
+    void findPopularWithUnknownWindow_thenResponseIsBadRequest() {
+        perform(get("/items/popular?window={window}", "MONTH"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).findPopular(any());
+    }
+
+    @SneakyThrows
+    @Test
+    void findMatchingRequests_thenResponseIsOk() {
+        when(itemClient.findMatchingRequests(1L, 2L, 5)).thenReturn(Mono.just(ResponseEntity.ok().body(List.of())));
+
+        perform(get("/items/{id}/matching-requests?size={size}", 2L, 5)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+
+        verify(itemClient).findMatchingRequests(1L, 2L, 5);
+    }
+
+    @SneakyThrows
+    @Test
+    void findStats_thenResponseIsOk() {
+        when(itemClient.findStats(1L, 2L, StatsPeriod.DAY)).thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        perform(get("/items/{id}/stats?period={period}", 2L, "DAY")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+
+        verify(itemClient).findStats(1L, 2L, StatsPeriod.DAY);
+    }
+
+    @SneakyThrows
+    @Test
+    void findOwnerStatsWithUnknownPeriod_thenResponseIsBadRequest() {
+        perform(get("/items/stats?period={period}", "YEAR")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).findOwnerStats(anyLong(), any());
+    }
+
     @SneakyThrows
     @Test
     void findAllOwnerItems_thenResponseIsOk() {
         final var items = List.of(getItemInfoDto());
-        when(itemClient.findAllOwnerItems(1L, 0, 10)).thenReturn(ResponseEntity.ok().body(items));
+        when(itemClient.findAllOwnerItems(1L, 0, 10, null)).thenReturn(Mono.just(ResponseEntity.ok().body(items)));
 
-        mockMvc.perform(get("/items?from={from}&size={size}", 0, 10)
+        perform(get("/items?from={from}&size={size}", 0, 10)
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
 
-        verify(itemClient).findAllOwnerItems(1L, 0, 10);
+        verify(itemClient).findAllOwnerItems(1L, 0, 10, null);
+    }
+
+    @SneakyThrows
+    @Test
+    void findComments_thenResponseIsOk() {
+        when(itemClient.findComments(1L, 1L, "cursor", 20)).thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        perform(get("/items/{id}/comments?cursor={cursor}", 1L, "cursor")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+
+        verify(itemClient).findComments(1L, 1L, "cursor", 20);
     }
 
     @SneakyThrows
     @Test
     void search_thenResponseIsOk() {
         final var items = List.of(getItemCreationDto());
-        when(itemClient.search("text", 0, 10)).thenReturn(ResponseEntity.ok().body(items));
+        when(itemClient.search("text", 0, 10)).thenReturn(Mono.just(ResponseEntity.ok().body(items)));
 
-        mockMvc.perform(get("/items/search?text={text}&from={from}&size={size}", "text", 0, 10))
+        perform(get("/items/search?text={text}&from={from}&size={size}", "text", 0, 10))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
 
@@ -87,9 +184,9 @@ public class ItemControllerTest {
         item.setName("name");
         item.setDescription("description");
         item.setAvailable(true);
-        when(itemClient.save(1L, item)).thenReturn(ResponseEntity.ok().body(item));
+        when(itemClient.save(1L, item)).thenReturn(Mono.just(ResponseEntity.ok().body(item)));
 
-        final var result = mockMvc.perform(post("/items")
+        final var result = perform(post("/items")
                         .contentType("application/json")
                         .header("X-Sharer-User-Id", 1L)
                         .content(objectMapper.writeValueAsString(item)))
@@ -112,7 +209,7 @@ public class ItemControllerTest {
         item.setDescription("description");
         item.setAvailable(true);
 
-        mockMvc.perform(post("/items")
+        perform(post("/items")
                         .contentType("application/json")
                         .header("X-Sharer-User-Id", 1L)
                         .content(objectMapper.writeValueAsString(item)))
@@ -129,7 +226,7 @@ public class ItemControllerTest {
         item.setDescription("");
         item.setAvailable(true);
 
-        mockMvc.perform(post("/items")
+        perform(post("/items")
                         .contentType("application/json")
                         .header("X-Sharer-User-Id", 1L)
                         .content(objectMapper.writeValueAsString(item)))
@@ -146,7 +243,7 @@ public class ItemControllerTest {
         item.setDescription("description");
         item.setAvailable(null);
 
-        mockMvc.perform(post("/items")
+        perform(post("/items")
                         .contentType("application/json")
                         .header("X-Sharer-User-Id", 1L)
                         .content(objectMapper.writeValueAsString(item)))
@@ -161,9 +258,9 @@ public class ItemControllerTest {
         final var createdComment = getCommentCreationDto();
         createdComment.setText("text");
         final var comment = getCommentInfoDto();
-        when(itemClient.addComment(1L, 1L, createdComment)).thenReturn(ResponseEntity.ok().body(comment));
+        when(itemClient.addComment(1L, 1L, createdComment)).thenReturn(Mono.just(ResponseEntity.ok().body(comment)));
 
-        final var result = mockMvc.perform(post("/items/{itemId}/comment", 1L)
+        final var result = perform(post("/items/{itemId}/comment", 1L)
                         .contentType("application/json")
                         .header("X-Sharer-User-Id", 1L)
                         .content(objectMapper.writeValueAsString(createdComment)))
@@ -184,7 +281,7 @@ public class ItemControllerTest {
         final var createdComment = getCommentCreationDto();
         createdComment.setText("");
 
-        mockMvc.perform(post("/items/{itemId}/comment", 1L)
+        perform(post("/items/{itemId}/comment", 1L)
                         .contentType("application/json")
                         .header("X-Sharer-User-Id", 1L)
                         .content(objectMapper.writeValueAsString(createdComment)))
@@ -201,9 +298,9 @@ public class ItemControllerTest {
         itemToUpdate.setDescription("new desc");
         itemToUpdate.setAvailable(true);
 
-        when(itemClient.update(1L, 1L, itemToUpdate)).thenReturn(ResponseEntity.ok().body(itemToUpdate));
+        when(itemClient.update(1L, 1L, itemToUpdate)).thenReturn(Mono.just(ResponseEntity.ok().body(itemToUpdate)));
 
-        final var result = mockMvc.perform(patch("/items/{id}", 1L)
+        final var result = perform(patch("/items/{id}", 1L)
                         .contentType("application/json")
                         .header("X-Sharer-User-Id", 1L)
                         .content(objectMapper.writeValueAsString(itemToUpdate)))
@@ -218,6 +315,84 @@ public class ItemControllerTest {
         );
     }
 
+    @SneakyThrows
+    @Test
+    void findItemsByIds_thenResponseIsOk() {
+        when(itemClient.findByIds(1L, List.of(2L, 1L)))
+                .thenReturn(Mono.just(ResponseEntity.ok().body(List.of(getItemInfoDto()))));
+
+        perform(get("/items/batch?ids={ids}", "2,1")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(itemClient).findByIds(1L, List.of(2L, 1L));
+    }
+
+    @SneakyThrows
+    @Test
+    void updateAvailability_whenAll_thenResponseIsOk() {
+        final var itemAvailabilityDto = ItemAvailabilityDto.builder()
+                .all(true)
+                .available(false)
+                .build();
+
+        when(itemClient.updateAvailability(1L, itemAvailabilityDto)).thenReturn(Mono.just(ResponseEntity.ok().body(List.of(1L))));
+
+        perform(patch("/items/availability")
+                        .contentType("application/json")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(objectMapper.writeValueAsString(itemAvailabilityDto)))
+                .andExpect(status().isOk());
+
+        verify(itemClient).updateAvailability(1L, itemAvailabilityDto);
+    }
+
+    @SneakyThrows
+    @Test
+    void updateAvailability_whenBothItemIdsAndAll_thenResponseIsBadRequest() {
+        final var itemAvailabilityDto = ItemAvailabilityDto.builder()
+                .itemIds(List.of(1L))
+                .all(true)
+                .available(false)
+                .build();
+
+        perform(patch("/items/availability")
+                        .contentType("application/json")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(objectMapper.writeValueAsString(itemAvailabilityDto)))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).updateAvailability(anyLong(), any());
+    }
+
+    @SneakyThrows
+    @Test
+    void updateAvailability_whenAvailableNull_thenResponseIsBadRequest() {
+        final var itemAvailabilityDto = ItemAvailabilityDto.builder()
+                .itemIds(List.of(1L))
+                .build();
+
+        perform(patch("/items/availability")
+                        .contentType("application/json")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(objectMapper.writeValueAsString(itemAvailabilityDto)))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).updateAvailability(anyLong(), any());
+    }
+
+    private ResultActions perform(final RequestBuilder request) throws Exception {
+        final var actions = mockMvc.perform(request);
+        final var result = actions.andReturn();
+        if (!result.getRequest().isAsyncStarted()) {
+            return actions;
+        }
+
+        result.getAsyncResult();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
     private ItemInfoDto getItemInfoDto() {
         return ItemInfoDto.builder().build();
     }
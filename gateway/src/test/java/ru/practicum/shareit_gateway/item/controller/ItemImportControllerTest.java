@@ -0,0 +1,52 @@
+package ru.practicum.shareit_gateway.item.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit_gateway.item.client.ItemClient;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ItemImportController.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemImportControllerTest {
+
+    private final MockMvc mockMvc;
+    @MockBean
+    private ItemClient itemClient;
+
+    @SneakyThrows
+    @Test
+    void importItems_thenBodyRelayed() {
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType("text/csv")
+                        .content("name,description,available\ndrill,drill,true\n"))
+                .andExpect(status().isOk());
+
+        verify(itemClient).importItems(eq(1L), anyString(), any(), any());
+    }
+
+    @SneakyThrows
+    @Test
+    void importItems_whenUnsupportedFormat_thenResponseIsUnsupportedMediaType() {
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType("application/json")
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verify(itemClient, never()).importItems(anyLong(), anyString(), any(), any());
+    }
+}
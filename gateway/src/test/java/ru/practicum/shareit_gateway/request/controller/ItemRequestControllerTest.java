@@ -9,6 +9,9 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit_gateway.request.client.ItemRequestClient;
 import ru.practicum.shareit_gateway.request.dto.ItemRequestCreationDto;
 import ru.practicum.shareit_gateway.request.dto.ItemRequestDto;
@@ -20,6 +23,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -38,9 +42,9 @@ public class ItemRequestControllerTest {
     @Test
     void findAllRequestsByUserId_thenResponseIsOk() {
         final var requests = List.of(getItemRequestInfoDto());
-        when(itemRequestClient.findAllByUserId(anyLong())).thenReturn(ResponseEntity.ok().body(requests));
+        when(itemRequestClient.findAllByUserId(anyLong())).thenReturn(Mono.just(ResponseEntity.ok().body(requests)));
 
-        mockMvc.perform(get("/requests")
+        perform(get("/requests")
                         .header("X-Sharer-User-Id", anyLong()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
@@ -52,9 +56,9 @@ public class ItemRequestControllerTest {
     @Test
     void findAllRequests_thenResponseIsOk() {
         final var requests = List.of(getItemRequestInfoDto());
-        when(itemRequestClient.findAll(1L, 0, 10)).thenReturn(ResponseEntity.ok().body(requests));
+        when(itemRequestClient.findAll(1L, 0, 10)).thenReturn(Mono.just(ResponseEntity.ok().body(requests)));
 
-        mockMvc.perform(get("/requests/all?from={from}&size={size}", 0, 10)
+        perform(get("/requests/all?from={from}&size={size}", 0, 10)
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
@@ -66,9 +70,9 @@ public class ItemRequestControllerTest {
     @Test
     void findRequestById_thenResponseIsOk() {
         final var request = getItemRequestInfoDto();
-        when(itemRequestClient.findByRequestId(1L, 2L)).thenReturn(ResponseEntity.ok().body(request));
+        when(itemRequestClient.findByRequestId(1L, 2L)).thenReturn(Mono.just(ResponseEntity.ok().body(request)));
 
-        final var result = mockMvc.perform(get("/requests/{requestId}", 2L)
+        final var result = perform(get("/requests/{requestId}", 2L)
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk())
                 .andReturn()
@@ -88,9 +92,9 @@ public class ItemRequestControllerTest {
         createdRequest.setDescription("description");
         final var request = getItemRequestDto();
         request.setDescription("description");
-        when(itemRequestClient.save(1L, createdRequest)).thenReturn(ResponseEntity.ok().body(request));
+        when(itemRequestClient.save(1L, createdRequest)).thenReturn(Mono.just(ResponseEntity.ok().body(request)));
 
-        final var result = mockMvc.perform(post("/requests")
+        final var result = perform(post("/requests")
                         .contentType("application/json")
                         .header("X-Sharer-User-Id", 1L)
                         .content(objectMapper.writeValueAsString(createdRequest)))
@@ -105,6 +109,41 @@ public class ItemRequestControllerTest {
         );
     }
 
+    @SneakyThrows
+    @Test
+    void findFeed_whenNoCursor_thenResponseIsOk() {
+        when(itemRequestClient.findFeed(1L, null, 20)).thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        perform(get("/requests/feed")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+
+        verify(itemRequestClient).findFeed(1L, null, 20);
+    }
+
+    @SneakyThrows
+    @Test
+    void findSuggestions_thenResponseIsOk() {
+        when(itemRequestClient.findSuggestions(1L, 2L, 10)).thenReturn(Mono.just(ResponseEntity.ok().body(List.of())));
+
+        perform(get("/requests/{requestId}/suggestions", 2L)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+
+        verify(itemRequestClient).findSuggestions(1L, 2L, 10);
+    }
+
+    private ResultActions perform(final RequestBuilder request) throws Exception {
+        final var actions = mockMvc.perform(request);
+        final var result = actions.andReturn();
+        if (!result.getRequest().isAsyncStarted()) {
+            return actions;
+        }
+
+        result.getAsyncResult();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
     private ItemRequestInfoDto getItemRequestInfoDto() {
         return ItemRequestInfoDto.builder().build();
     }
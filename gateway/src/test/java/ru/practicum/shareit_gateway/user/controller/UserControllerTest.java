@@ -7,12 +7,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit_gateway.user.client.UserClient;
 import ru.practicum.shareit_gateway.user.dto.UserDto;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertAll;
@@ -35,9 +42,9 @@ public class UserControllerTest {
     @Test
     void findUserById_thenResponseIsOk() {
         final var user = getUserDto();
-        when(userClient.findById(anyLong())).thenReturn(ResponseEntity.ok().body(user));
+        when(userClient.findById(anyLong())).thenReturn(Mono.just(ResponseEntity.ok().body(user)));
 
-        final var result = mockMvc.perform(get("/users/{id}", anyLong()))
+        final var result = perform(get("/users/{id}", anyLong()))
                 .andExpect(status().isOk())
                 .andReturn()
                 .getResponse()
@@ -51,24 +58,68 @@ public class UserControllerTest {
 
     @SneakyThrows
     @Test
-    void findAllUsers_thenResponseIsOk() {
-        final List<UserDto> expectedUsers = List.of(getUserDto());
-        when(userClient.findAll()).thenReturn(ResponseEntity.ok().body(expectedUsers));
+    void findUserById_whenServerResponseTooLarge_thenResponseIsBadGateway() {
+        when(userClient.findById(1L)).thenReturn(Mono.error(new DataBufferLimitException("Exceeded limit")));
 
-        mockMvc.perform(get("/users"))
+        perform(get("/users/{id}", 1L))
+                .andExpect(status().isBadGateway())
+                .andExpect(jsonPath("$.error").isNotEmpty());
+    }
+
+    @SneakyThrows
+    @Test
+    void findUsersByIds_thenResponseIsOk() {
+        when(userClient.findByIds(List.of(2L, 1L))).thenReturn(Mono.just(ResponseEntity.ok().body(List.of(getUserDto()))));
+
+        perform(get("/users/batch?ids={ids}", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(userClient).findByIds(List.of(2L, 1L));
+    }
+
+    @SneakyThrows
+    @Test
+    void findUsersByIds_whenTooManyIds_thenResponseIsBadRequest() {
+        final var ids = LongStream.rangeClosed(1, 101)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        perform(get("/users/batch?ids={ids}", ids))
+                .andExpect(status().isBadRequest());
+
+        verify(userClient, never()).findByIds(any());
+    }
+
+    @SneakyThrows
+    @Test
+    void findAllUsers_thenStreamRelayed() {
+        perform(get("/users")
+                        .accept("application/x-ndjson"))
+                .andExpect(status().isOk());
+
+        verify(userClient).findAll(eq("application/x-ndjson"), any());
+    }
+
+    @SneakyThrows
+    @Test
+    void findUsersPage_thenResponseIsOk() {
+        when(userClient.findPage(0L, 10)).thenReturn(Mono.just(ResponseEntity.ok().body(List.of(getUserDto()))));
+
+        perform(get("/users?size={size}", 10))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
 
-        verify(userClient).findAll();
+        verify(userClient).findPage(0L, 10);
     }
 
     @SneakyThrows
     @Test
     void saveValidUser_thenResponseIsOk() {
         final var user = getUserDto();
-        when(userClient.save(any())).thenReturn(ResponseEntity.ok().body(user));
+        when(userClient.save(any())).thenReturn(Mono.just(ResponseEntity.ok().body(user)));
 
-        final var result = mockMvc.perform(post("/users")
+        final var result = perform(post("/users")
                         .contentType("application/json")
                         .content(objectMapper.writeValueAsString(user)))
                 .andExpect(status().isOk())
@@ -88,7 +139,7 @@ public class UserControllerTest {
         final var userToCreate = getUserDto();
         userToCreate.setEmail("emailmail");
 
-        mockMvc.perform(post("/users")
+        perform(post("/users")
                         .contentType("application/json")
                         .content(objectMapper.writeValueAsString(userToCreate)))
                 .andExpect(status().isBadRequest());
@@ -102,7 +153,7 @@ public class UserControllerTest {
         final var userToCreate = getUserDto();
         userToCreate.setEmail("");
 
-        mockMvc.perform(post("/users")
+        perform(post("/users")
                         .contentType("application/json")
                         .content(objectMapper.writeValueAsString(userToCreate)))
                 .andExpect(status().isBadRequest());
@@ -116,7 +167,7 @@ public class UserControllerTest {
         final var userToCreate = getUserDto();
         userToCreate.setName("");
 
-        mockMvc.perform(post("/users")
+        perform(post("/users")
                         .contentType("application/json")
                         .content(objectMapper.writeValueAsString(userToCreate)))
                 .andExpect(status().isBadRequest());
@@ -132,9 +183,9 @@ public class UserControllerTest {
         userToUpdate.setEmail("new_email@m.com");
 
         when(userClient.update(userToUpdate.getId(), userToUpdate))
-                .thenReturn(ResponseEntity.ok().body(userToUpdate));
+                .thenReturn(Mono.just(ResponseEntity.ok().body(userToUpdate)));
 
-        final var result = mockMvc.perform(patch("/users/{id}", userToUpdate.getId())
+        final var result = perform(patch("/users/{id}", userToUpdate.getId())
                         .contentType("application/json")
                         .content(objectMapper.writeValueAsString(userToUpdate)))
                 .andExpect(status().isOk())
@@ -155,7 +206,7 @@ public class UserControllerTest {
         userToUpdate.setName("new_name");
         userToUpdate.setEmail("new_email");
 
-        mockMvc.perform(patch("/users/{id}", userToUpdate.getId())
+        perform(patch("/users/{id}", userToUpdate.getId())
                         .contentType("application/json")
                         .content(objectMapper.writeValueAsString(userToUpdate)))
                 .andExpect(status().isBadRequest());
@@ -166,12 +217,35 @@ public class UserControllerTest {
     @SneakyThrows
     @Test
     void deleteUser_thenResponseIsOk() {
-        mockMvc.perform(delete("/users/{id}", anyLong()))
+        perform(delete("/users/{id}", anyLong()))
                 .andExpect(status().isOk());
 
         verify(userClient).delete(anyLong());
     }
 
+    @SneakyThrows
+    @Test
+    void findDeletion_thenResponseIsOk() {
+        when(userClient.findDeletion(1L)).thenReturn(Mono.just(ResponseEntity.ok().body(Map.of("status", "DONE"))));
+
+        perform(get("/users/{id}/deletion", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DONE"));
+
+        verify(userClient).findDeletion(1L);
+    }
+
+    private ResultActions perform(final RequestBuilder request) throws Exception {
+        final var actions = mockMvc.perform(request);
+        final var result = actions.andReturn();
+        if (!result.getRequest().isAsyncStarted()) {
+            return actions;
+        }
+
+        result.getAsyncResult();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
     private UserDto getUserDto() {
         return UserDto.builder()
                 .id(1L)
@@ -18,6 +18,13 @@ public class BookingController {
 
     private final BookingService bookingService;
 
+    @GetMapping("/batch")
+    public List<BookingDto> findByIds(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                      @RequestParam final List<Long> ids) {
+        log.info(">>> FIND BY IDS: " + ids);
+        return bookingService.findByIds(userId, ids);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto findById(@RequestHeader("X-Sharer-User-Id") final Long userId,
                                @PathVariable final Long bookingId) {
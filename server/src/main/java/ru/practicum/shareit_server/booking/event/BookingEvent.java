@@ -0,0 +1,48 @@
+package ru.practicum.shareit_server.booking.event;
+
+import lombok.Builder;
+import lombok.Value;
+import ru.practicum.shareit_server.booking.model.Booking;
+import ru.practicum.shareit_server.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class BookingEvent {
+
+    Type type;
+    Long bookingId;
+    Long itemId;
+    Long ownerId;
+    Long bookerId;
+    BookingStatus status;
+    LocalDateTime start;
+    LocalDateTime end;
+    LocalDateTime created;
+    BookingStatus previousStatus;
+
+    public static BookingEvent of(final Type type, final Booking booking) {
+        return of(type, booking, null);
+    }
+
+    public static BookingEvent of(final Type type, final Booking booking, final BookingStatus previousStatus) {
+        return BookingEvent.builder()
+                .type(type)
+                .bookingId(booking.getId())
+                .itemId(booking.getItem().getId())
+                .ownerId(booking.getItem().getOwnerId())
+                .bookerId(booking.getBooker().getId())
+                .status(booking.getStatus())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .created(booking.getCreated())
+                .previousStatus(previousStatus)
+                .build();
+    }
+
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED
+    }
+}
@@ -5,6 +5,7 @@ import ru.practicum.shareit_server.booking.dto.BookingDto;
 import ru.practicum.shareit_server.booking.dto.BookingShortDto;
 import ru.practicum.shareit_server.booking.model.Booking;
 import ru.practicum.shareit_server.booking.model.BookingStatus;
+import ru.practicum.shareit_server.booking.repository.ItemBookingView;
 import ru.practicum.shareit_server.item.mapper.ItemMapper;
 import ru.practicum.shareit_server.item.model.Item;
 import ru.practicum.shareit_server.user.mapper.UserMapper;
@@ -30,6 +31,13 @@ public class BookingMapper {
                 .build();
     }
 
+    public static BookingShortDto mapToBookingShortDto(final ItemBookingView booking) {
+        return BookingShortDto.builder()
+                .id(booking.getId())
+                .bookerId(booking.getBookerId())
+                .build();
+    }
+
     public static Booking mapToBooking(final BookingCreationDto bookingCreationDto,
                                        final User user,
                                        final Item item) {
@@ -0,0 +1,10 @@
+package ru.practicum.shareit_server.booking.repository;
+
+import java.time.LocalDateTime;
+
+public interface BookingCreationView {
+
+    Long getItemId();
+
+    LocalDateTime getCreated();
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit_server.booking.repository;
+
+import java.time.LocalDateTime;
+
+public interface BookingEndView {
+
+    Long getItemId();
+
+    Long getOwnerId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+}
@@ -2,13 +2,14 @@ package ru.practicum.shareit_server.booking.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit_server.booking.model.Booking;
 import ru.practicum.shareit_server.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,8 +33,6 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     Page<Booking> findAllByItemIdIn(List<Long> itemIds, Pageable pageable);
 
-    List<Booking> findAllByItemIdIn(List<Long> itemIds, Sort sort);
-
     @Query(" SELECT b " +
             "FROM Booking AS b " +
             "WHERE b.start <= :time " +
@@ -48,10 +47,83 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     Page<Booking> findByStartAfterAndItemIdIn(LocalDateTime time, List<Long> itemIds, Pageable pageable);
 
-    List<Booking> findAllByItemId(Long itemId, Sort sort);
+    @Query(value = " SELECT b.booking_id AS id, b.item_id AS itemId, b.booker_id AS bookerId, " +
+            "b.start_date AS start, b.end_date AS \"end\" " +
+            "FROM item AS i " +
+            "JOIN booking AS b ON b.booking_id = (SELECT l.booking_id " +
+            "                                     FROM booking AS l " +
+            "                                     WHERE l.item_id = i.item_id " +
+            "                                     AND l.start_date < :time " +
+            "                                     ORDER BY l.start_date DESC, l.booking_id DESC " +
+            "                                     LIMIT 1) " +
+            "WHERE i.item_id IN (:itemIds)", nativeQuery = true)
+    List<ItemBookingView> findLastBookings(List<Long> itemIds, LocalDateTime time);
+
+    @Query(value = " SELECT b.booking_id AS id, b.item_id AS itemId, b.booker_id AS bookerId, " +
+            "b.start_date AS start, b.end_date AS \"end\" " +
+            "FROM item AS i " +
+            "JOIN booking AS b ON b.booking_id = (SELECT n.booking_id " +
+            "                                     FROM booking AS n " +
+            "                                     WHERE n.item_id = i.item_id " +
+            "                                     AND n.end_date > :time " +
+            "                                     ORDER BY n.start_date DESC, n.booking_id DESC " +
+            "                                     LIMIT 1) " +
+            "WHERE i.item_id IN (:itemIds)", nativeQuery = true)
+    List<ItemBookingView> findNextBookings(List<Long> itemIds, LocalDateTime time);
+
+    @Query(" SELECT b.item.id AS itemId, MIN(b.start) AS start " +
+            "FROM Booking AS b " +
+            "WHERE b.item.id IN (:itemIds) " +
+            "AND b.start > :time " +
+            "GROUP BY b.item.id")
+    List<ItemBookingView> findUpcomingStarts(List<Long> itemIds, LocalDateTime time);
+
+    @Query(" SELECT b " +
+            "FROM Booking AS b " +
+            "JOIN FETCH b.booker " +
+            "JOIN FETCH b.item AS i " +
+            "LEFT JOIN FETCH i.request AS r " +
+            "LEFT JOIN FETCH r.requestor " +
+            "WHERE b.id IN :ids")
+    List<Booking> findAllByIdIn(Collection<Long> ids);
+
+    @Query(" SELECT b.item.id AS itemId, b.created AS created " +
+            "FROM Booking AS b " +
+            "WHERE b.created >= :since " +
+            "AND b.status <> :status")
+    List<BookingCreationView> findCreatedSince(LocalDateTime since, BookingStatus status);
+
+    @Query(" SELECT b.item.id AS itemId, b.item.ownerId AS ownerId, b.start AS start, b.end AS end " +
+            "FROM Booking AS b " +
+            "WHERE b.end > :from " +
+            "AND b.end <= :to " +
+            "AND b.status = :status")
+    List<BookingEndView> findEndedBetween(LocalDateTime from, LocalDateTime to, BookingStatus status);
 
     Optional<Booking> findFirstByBookerIdAndItemIdAndStatusAndEndBefore(Long userId,
                                                                         Long itemId,
                                                                         BookingStatus status,
                                                                         LocalDateTime end);
+
+    /**
+     * Bookings that go away with the user: made by them or of items that go away with them.
+     */
+    @Query(" SELECT b.id " +
+            "FROM Booking AS b " +
+            "JOIN b.item AS i " +
+            "LEFT JOIN i.request AS r " +
+            "WHERE b.booker.id = :userId " +
+            "OR i.ownerId = :userId " +
+            "OR r.requestor.id = :userId")
+    List<Long> findIdsDeletedWithUser(Long userId, Pageable pageable);
+
+    @Query(" SELECT DISTINCT b.item.id " +
+            "FROM Booking AS b " +
+            "WHERE b.id IN :ids")
+    List<Long> findItemIdsByIds(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(" DELETE FROM Booking AS b " +
+            "WHERE b.id IN :ids")
+    void deleteByIds(Collection<Long> ids);
 }
@@ -0,0 +1,16 @@
+package ru.practicum.shareit_server.booking.repository;
+
+import java.time.LocalDateTime;
+
+public interface ItemBookingView {
+
+    Long getId();
+
+    Long getItemId();
+
+    Long getBookerId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+}
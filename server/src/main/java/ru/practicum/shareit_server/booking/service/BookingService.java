@@ -10,6 +10,8 @@ public interface BookingService {
 
     BookingDto findById(Long userId, Long bookingId);
 
+    List<BookingDto> findByIds(Long userId, List<Long> bookingIds);
+
     List<BookingDto> findAllByState(Long userId, BookingState state, Integer from, Integer size);
 
     List<BookingDto> findAllByStateForOwner(Long userId, BookingState state, Integer from, Integer size);
@@ -1,6 +1,7 @@
 package ru.practicum.shareit_server.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -8,6 +9,7 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit_server.booking.BookingState;
 import ru.practicum.shareit_server.booking.dto.BookingCreationDto;
 import ru.practicum.shareit_server.booking.dto.BookingDto;
+import ru.practicum.shareit_server.booking.event.BookingEvent;
 import ru.practicum.shareit_server.booking.mapper.BookingMapper;
 import ru.practicum.shareit_server.booking.model.Booking;
 import ru.practicum.shareit_server.booking.model.BookingStatus;
@@ -18,12 +20,15 @@ import ru.practicum.shareit_server.exception.StatusAlreadySetException;
 import ru.practicum.shareit_server.exception.UnavailableException;
 import ru.practicum.shareit_server.item.model.Item;
 import ru.practicum.shareit_server.item.repository.ItemRepository;
+import ru.practicum.shareit_server.item.service.ItemBookingsRefresher;
+import ru.practicum.shareit_server.user.cache.UserDirectory;
 import ru.practicum.shareit_server.user.mapper.UserMapper;
-import ru.practicum.shareit_server.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,12 +37,14 @@ import java.util.stream.Collectors;
 public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
-    private final UserService userService;
+    private final UserDirectory userDirectory;
     private final ItemRepository itemRepository;
+    private final ItemBookingsRefresher itemBookingsRefresher;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public BookingDto findById(final Long userId, final Long bookingId) {
-        userService.findById(userId);
+        userDirectory.get(userId);
         final var booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Booking not found"));
         itemRepository.findById(booking.getItem().getId())
@@ -50,13 +57,33 @@ public class BookingServiceImpl implements BookingService {
         throw new NotFoundException("Booking not found");
     }
 
+    /**
+     * Bookings the user could not read with {@link #findById} are skipped, as are unknown ids.
+     */
+    @Override
+    public List<BookingDto> findByIds(final Long userId, final List<Long> bookingIds) {
+        userDirectory.get(userId);
+
+        final var bookingsById = bookingRepository.findAllByIdIn(bookingIds).stream()
+                .filter(booking -> booking.getBooker().getId().equals(userId)
+                        || booking.getItem().getOwnerId().equals(userId))
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        return bookingIds.stream()
+                .distinct()
+                .map(bookingsById::get)
+                .filter(Objects::nonNull)
+                .map(BookingMapper::mapToBookingDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<BookingDto> findAllByStateForOwner(final Long userId,
                                                    final BookingState state,
                                                    final Integer from,
                                                    final Integer size) {
         final var currentTime = LocalDateTime.now();
-        userService.findById(userId);
+        userDirectory.get(userId);
 
         final List<Long> itemsId = itemRepository.findByOwnerId(userId).stream()
                 .map(Item::getId)
@@ -105,7 +132,7 @@ public class BookingServiceImpl implements BookingService {
                                            final Integer from,
                                            final Integer size) {
         final var currentTime = LocalDateTime.now();
-        userService.findById(userId);
+        userDirectory.get(userId);
 
         final var pageable = PageRequest.of(from / size, size, Sort.by("start").descending());
         final List<Booking> bookings = new ArrayList<>();
@@ -143,7 +170,7 @@ public class BookingServiceImpl implements BookingService {
     @Transactional
     @Override
     public BookingDto save(final Long userId, final BookingCreationDto bookingCreationDto) {
-        final var user = UserMapper.mapToUser(userService.findById(userId));
+        final var user = UserMapper.mapToUser(userDirectory.get(userId));
         final var item = itemRepository.findById(bookingCreationDto.getItemId())
                 .orElseThrow(() -> new NotFoundException("Item not found"));
 
@@ -163,14 +190,17 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException("The owner cannot book his item");
         }
 
-        final var booking = BookingMapper.mapToBooking(bookingCreationDto, user, item);
-        return BookingMapper.mapToBookingDto(bookingRepository.save(booking));
+        final var booking = bookingRepository.save(BookingMapper.mapToBooking(bookingCreationDto, user, item));
+        itemBookingsRefresher.refresh(List.of(item), LocalDateTime.now());
+        eventPublisher.publishEvent(BookingEvent.of(BookingEvent.Type.CREATED, booking));
+
+        return BookingMapper.mapToBookingDto(booking);
     }
 
     @Transactional
     @Override
     public BookingDto approve(final Long ownerId, final Long bookingId, final Boolean isApprove) {
-        userService.findById(ownerId);
+        userDirectory.get(ownerId);
         final var booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Booking not found"));
         final var item = booking.getItem();
@@ -183,8 +213,14 @@ public class BookingServiceImpl implements BookingService {
                 || !isApprove && booking.getStatus().equals(BookingStatus.REJECTED)) {
             throw new StatusAlreadySetException("Status of booking is already " + booking.getStatus());
         }
+        final var previousStatus = booking.getStatus();
         booking.setStatus(Boolean.TRUE.equals(isApprove) ? BookingStatus.APPROVED : BookingStatus.REJECTED);
 
-        return BookingMapper.mapToBookingDto(bookingRepository.save(booking));
+        final var approvedBooking = bookingRepository.save(booking);
+        itemBookingsRefresher.refresh(List.of(item), LocalDateTime.now());
+        eventPublisher.publishEvent(BookingEvent.of(BookingEvent.Type.STATUS_CHANGED, approvedBooking,
+                previousStatus));
+
+        return BookingMapper.mapToBookingDto(approvedBooking);
     }
 }
@@ -0,0 +1,16 @@
+package ru.practicum.shareit_server.exception;
+
+public class IncorrectCursorException extends RuntimeException {
+
+    public IncorrectCursorException(String msg) {
+        super(msg);
+    }
+
+    public IncorrectCursorException(String msg, Throwable cause) {
+        super(msg, cause);
+    }
+
+    public IncorrectCursorException(Throwable cause) {
+        super(cause);
+    }
+}
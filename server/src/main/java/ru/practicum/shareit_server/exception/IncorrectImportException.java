@@ -0,0 +1,16 @@
+package ru.practicum.shareit_server.exception;
+
+public class IncorrectImportException extends RuntimeException {
+
+    public IncorrectImportException(String msg) {
+        super(msg);
+    }
+
+    public IncorrectImportException(String msg, Throwable cause) {
+        super(msg, cause);
+    }
+
+    public IncorrectImportException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -30,6 +30,8 @@ public class ErrorHandler {
 
     @ExceptionHandler({
             IncorrectDateTimeException.class,
+            IncorrectCursorException.class,
+            IncorrectImportException.class,
             UnavailableException.class,
             StatusAlreadySetException.class
     })
@@ -0,0 +1,25 @@
+package ru.practicum.shareit_server.handler;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.regex.Pattern;
+
+/**
+ * Tags single item, request and user reads with an ETag of their body and answers a matching
+ * {@code If-None-Match} with 304, so the gateway revalidates its cached copies without a body transfer.
+ * Lists and streams are left alone, as the filter buffers the whole response.
+ */
+@Component
+public class EtagFilter extends ShallowEtagHeaderFilter {
+
+    private static final Pattern RESOURCE = Pattern.compile("/(items|requests|users)/\\d+");
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || !RESOURCE.matcher(request.getRequestURI()).matches();
+    }
+}
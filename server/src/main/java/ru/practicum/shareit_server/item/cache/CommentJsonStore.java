@@ -0,0 +1,113 @@
+package ru.practicum.shareit_server.item.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit_server.item.dto.CommentInfoDto;
+import ru.practicum.shareit_server.item.event.CommentAddedEvent;
+import ru.practicum.shareit_server.item.event.CommentsDeletedEvent;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Latest comments of every item as pre-serialized JSON kept off-heap. Comments never change once written,
+ * so entries are only ever extended by new comments and evicted when the memory cap is reached.
+ */
+@Component
+public class CommentJsonStore {
+
+    private final boolean enabled;
+    private final int latestSize;
+    private final Cache<Long, PreSerializedComments> cache;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final AtomicLong stamp = new AtomicLong();
+
+    public CommentJsonStore(@Value("${shareit.items.comment-store.enabled:true}") final boolean enabled,
+                            @Value("${shareit.items.comment-store.max-bytes:67108864}") final long maxBytes,
+                            @Value("${shareit.items.comments.latest-size:10}") final int latestSize,
+                            final ObjectMapper objectMapper,
+                            final MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.latestSize = latestSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long itemId, PreSerializedComments comments) -> comments.byteSize())
+                .recordStats()
+                .build();
+        this.writer = objectMapper.writerFor(CommentInfoDto.class);
+        this.reader = objectMapper.readerFor(CommentInfoDto.class);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "items.comments.json");
+        Gauge.builder("items.comments.json.bytes", cache, CommentJsonStore::weightedSize)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public List<CommentInfoDto> find(final Long itemId) {
+        return enabled ? cache.getIfPresent(itemId) : null;
+    }
+
+    public long stamp() {
+        return stamp.get();
+    }
+
+    public List<CommentInfoDto> put(final Long itemId, final List<CommentInfoDto> comments, final long stamp) {
+        if (!enabled) {
+            return comments;
+        }
+
+        final var serialized = PreSerializedComments.of(comments.stream()
+                .map(this::serialize)
+                .collect(Collectors.toList()), reader);
+        cache.put(itemId, serialized);
+        // a comment was added while these were loaded, so they may already be incomplete
+        if (this.stamp.get() != stamp) {
+            cache.invalidate(itemId);
+        }
+
+        return serialized;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentAdded(final CommentAddedEvent event) {
+        stamp.incrementAndGet();
+        final var comment = serialize(event.getComment());
+        cache.asMap().computeIfPresent(event.getItemId(),
+                (itemId, comments) -> comments.prepend(comment, latestSize));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentsDeleted(final CommentsDeletedEvent event) {
+        stamp.incrementAndGet();
+        cache.invalidateAll(event.getItemIds());
+    }
+
+    private ByteBuffer serialize(final CommentInfoDto comment) {
+        try {
+            return ByteBuffer.wrap(writer.writeValueAsBytes(comment));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static double weightedSize(final Cache<Long, PreSerializedComments> cache) {
+        // the weighted size is only updated by maintenance, which Caffeine otherwise runs later on the common pool
+        cache.cleanUp();
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+}
@@ -0,0 +1,193 @@
+package ru.practicum.shareit_server.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit_server.booking.dto.BookingShortDto;
+import ru.practicum.shareit_server.booking.event.BookingEvent;
+import ru.practicum.shareit_server.item.dto.CommentInfoDto;
+import ru.practicum.shareit_server.item.dto.ItemInfoDto;
+import ru.practicum.shareit_server.item.event.CommentAddedEvent;
+import ru.practicum.shareit_server.item.event.CommentsDeletedEvent;
+import ru.practicum.shareit_server.item.event.ItemUpdatedEvent;
+import ru.practicum.shareit_server.item.event.ItemsUpdatedEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cache of fully assembled {@link ItemInfoDto} views. Every item has two variants: the owner view
+ * with last/next bookings and the view for everyone else. Owner views carry the moment at which
+ * their bookings roll over and are never served after it. Views are copied on the way in and out, so callers never
+ * share the cached instances.
+ */
+@Component
+public class ItemViewCache {
+
+    private static final int STAMP_STRIPES = 4096;
+
+    private final boolean enabled;
+    private final Cache<Key, Entry> cache;
+    private final Timer ownerAssembly;
+    private final Timer guestAssembly;
+    // invalidation counters per stripe of item ids, so a write only fails puts of items in its own stripe
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+    public ItemViewCache(@Value("${shareit.items.view-cache.enabled:true}") final boolean enabled,
+                         @Value("${shareit.items.view-cache.max-size:10000}") final long maxSize,
+                         final MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        this.ownerAssembly = Timer.builder("items.view.assembly")
+                .tag("variant", "owner")
+                .register(meterRegistry);
+        this.guestAssembly = Timer.builder("items.view.assembly")
+                .tag("variant", "guest")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "items.view");
+    }
+
+    public ItemInfoDto find(final Long itemId, final Long userId, final LocalDateTime currentTime) {
+        if (!enabled) {
+            return null;
+        }
+
+        final var ownerEntry = cache.getIfPresent(new Key(itemId, true));
+        if (ownerEntry != null && ownerEntry.getView().getOwnerId().equals(userId)) {
+            if (ownerEntry.isValidAt(currentTime)) {
+                return copy(ownerEntry.getView());
+            }
+            cache.invalidate(new Key(itemId, true));
+            return null;
+        }
+
+        final var guestEntry = cache.getIfPresent(new Key(itemId, false));
+        if (guestEntry != null && !guestEntry.getView().getOwnerId().equals(userId)) {
+            return copy(guestEntry.getView());
+        }
+
+        return null;
+    }
+
+    public long stamp(final Long itemId) {
+        return stamps.get(stripe(itemId));
+    }
+
+    public ItemInfoDto assemble(final boolean owner, final Supplier<ItemInfoDto> assembler) {
+        return (owner ? ownerAssembly : guestAssembly).record(assembler);
+    }
+
+    public void put(final ItemInfoDto view, final boolean owner, final LocalDateTime validUntil, final long stamp) {
+        if (!enabled) {
+            return;
+        }
+
+        final var key = new Key(view.getId(), owner);
+        cache.put(key, new Entry(copy(view), validUntil));
+        // an invalidation raced with the assembly of this view, so it may already be stale
+        if (stamp(view.getId()) != stamp) {
+            cache.invalidate(key);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemUpdated(final ItemUpdatedEvent event) {
+        evict(event.getItemId(), true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsUpdated(final ItemsUpdatedEvent event) {
+        event.getItemIds().forEach(itemId -> stamps.incrementAndGet(stripe(itemId)));
+        cache.invalidateAll(event.getItemIds().stream()
+                .flatMap(itemId -> Stream.of(new Key(itemId, true), new Key(itemId, false)))
+                .collect(Collectors.toList()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentAdded(final CommentAddedEvent event) {
+        evict(event.getItemId(), true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentsDeleted(final CommentsDeletedEvent event) {
+        event.getItemIds().forEach(itemId -> evict(itemId, true));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(final BookingEvent event) {
+        evict(event.getItemId(), false);
+    }
+
+    private void evict(final Long itemId, final boolean guestView) {
+        stamps.incrementAndGet(stripe(itemId));
+        cache.invalidate(new Key(itemId, true));
+        if (guestView) {
+            cache.invalidate(new Key(itemId, false));
+        }
+    }
+
+    private static int stripe(final Long itemId) {
+        return Long.hashCode(itemId) & (STAMP_STRIPES - 1);
+    }
+
+    private static ItemInfoDto copy(final ItemInfoDto view) {
+        return view.toBuilder()
+                .lastBooking(copy(view.getLastBooking()))
+                .nextBooking(copy(view.getNextBooking()))
+                .comments(copy(view.getComments()))
+                .build();
+    }
+
+    private static BookingShortDto copy(final BookingShortDto booking) {
+        return booking == null ? null : BookingShortDto.builder()
+                .id(booking.getId())
+                .bookerId(booking.getBookerId())
+                .build();
+    }
+
+    private static List<CommentInfoDto> copy(final List<CommentInfoDto> comments) {
+        // pre-serialized comments cannot be modified and decode new instances on every access
+        if (comments == null || comments instanceof PreSerializedComments) {
+            return comments;
+        }
+
+        return comments.stream()
+                .map(comment -> CommentInfoDto.builder()
+                        .id(comment.getId())
+                        .text(comment.getText())
+                        .authorName(comment.getAuthorName())
+                        .created(comment.getCreated())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @lombok.Value
+    private static class Key {
+
+        Long itemId;
+        boolean owner;
+    }
+
+    @lombok.Value
+    private static class Entry {
+
+        ItemInfoDto view;
+        LocalDateTime validUntil;
+
+        boolean isValidAt(final LocalDateTime time) {
+            return validUntil == null || time.isBefore(validUntil);
+        }
+    }
+}
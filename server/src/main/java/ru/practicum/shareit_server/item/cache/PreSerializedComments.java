@@ -0,0 +1,134 @@
+package ru.practicum.shareit_server.item.cache;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import ru.practicum.shareit_server.item.dto.CommentInfoDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Comments of an item held as a ready-made UTF-8 JSON array in direct memory. Serializing it to a byte stream copies
+ * the array straight to the stream without building any {@link CommentInfoDto} or string; elements are decoded only
+ * when accessed from code.
+ */
+public class PreSerializedComments extends AbstractList<CommentInfoDto> implements JsonSerializable {
+
+    private static final ThreadLocal<byte[]> CHUNK = ThreadLocal.withInitial(() -> new byte[8192]);
+
+    private final ByteBuffer json;
+    // start and end offset of every element: [start0, end0, start1, end1, ...]
+    private final int[] bounds;
+    private final ObjectReader reader;
+
+    private PreSerializedComments(final ByteBuffer json, final int[] bounds, final ObjectReader reader) {
+        this.json = json;
+        this.bounds = bounds;
+        this.reader = reader;
+    }
+
+    static PreSerializedComments of(final List<ByteBuffer> elements, final ObjectReader reader) {
+        final var size = elements.stream().mapToInt(ByteBuffer::remaining).sum() + elements.size() + 1;
+        final var json = ByteBuffer.allocateDirect(Math.max(size, 2));
+        final var bounds = new int[elements.size() * 2];
+
+        json.put((byte) '[');
+        for (int i = 0; i < elements.size(); i++) {
+            if (i > 0) {
+                json.put((byte) ',');
+            }
+            bounds[i * 2] = json.position();
+            json.put(elements.get(i).duplicate());
+            bounds[i * 2 + 1] = json.position();
+        }
+        json.put((byte) ']');
+        json.flip();
+
+        return new PreSerializedComments(json.asReadOnlyBuffer(), bounds, reader);
+    }
+
+    /**
+     * Copy of these comments with {@code element} in front, keeping at most {@code limit} elements.
+     */
+    PreSerializedComments prepend(final ByteBuffer element, final int limit) {
+        final var elements = new ArrayList<ByteBuffer>(limit);
+        elements.add(element);
+        for (int i = 0; i < size() && elements.size() < limit; i++) {
+            elements.add(element(i));
+        }
+
+        return of(elements, reader);
+    }
+
+    int byteSize() {
+        return json.capacity();
+    }
+
+    @Override
+    public CommentInfoDto get(final int index) {
+        try {
+            return reader.readValue(new ByteBufferBackedInputStream(element(index)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public int size() {
+        return bounds.length / 2;
+    }
+
+    @Override
+    public void serialize(final JsonGenerator gen, final SerializerProvider serializers) throws IOException {
+        if (!(gen.getOutputTarget() instanceof OutputStream)) {
+            // character output or a token buffer, e.g. valueToTree, cannot take bytes
+            gen.writeRawValue(StandardCharsets.UTF_8.decode(json.duplicate()).toString());
+            return;
+        }
+
+        // lets the generator write the separator before the value, then hands the bytes past its buffer
+        gen.writeRawValue("");
+        final var flushPassedToStream = gen.isEnabled(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        gen.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        try {
+            gen.flush();
+        } finally {
+            gen.configure(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM, flushPassedToStream);
+        }
+
+        final var out = (OutputStream) gen.getOutputTarget();
+        final var chunk = CHUNK.get();
+        final var bytes = json.duplicate();
+        while (bytes.hasRemaining()) {
+            final var length = Math.min(chunk.length, bytes.remaining());
+            bytes.get(chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+    }
+
+    @Override
+    public void serializeWithType(final JsonGenerator gen,
+                                  final SerializerProvider serializers,
+                                  final TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+
+    private ByteBuffer element(final int index) {
+        Objects.checkIndex(index, size());
+        return json.duplicate()
+                .limit(bounds[index * 2 + 1])
+                .position(bounds[index * 2])
+                .slice();
+    }
+}
@@ -1,12 +1,21 @@
 package ru.practicum.shareit_server.item.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit_server.item.dto.CommentCreationDto;
 import ru.practicum.shareit_server.item.dto.CommentInfoDto;
+import ru.practicum.shareit_server.item.dto.CommentPageDto;
+import ru.practicum.shareit_server.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit_server.item.dto.ItemCreationDto;
+import ru.practicum.shareit_server.item.dto.ItemFields;
 import ru.practicum.shareit_server.item.dto.ItemInfoDto;
+import ru.practicum.shareit_server.item.dto.ItemStatsDto;
+import ru.practicum.shareit_server.item.dto.PopularItemDto;
+import ru.practicum.shareit_server.item.popular.PopularityWindow;
+import ru.practicum.shareit_server.item.stats.StatsPeriod;
+import ru.practicum.shareit_server.request.dto.ItemRequestDto;
 import ru.practicum.shareit_server.item.service.ItemService;
 
 import java.util.List;
@@ -18,20 +27,70 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/batch")
+    public List<ItemInfoDto> findByIds(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                       @RequestParam final List<Long> ids) {
+        log.info(">>> FIND ITEMS BY IDS: " + ids + " >>> USER ID: [" + userId + "]");
+        return itemService.findByIds(userId, ids);
+    }
+
+    @GetMapping("/popular")
+    public List<PopularItemDto> findPopular(@RequestParam(defaultValue = "WEEK") final PopularityWindow window) {
+        log.info(">>> FIND POPULAR ITEMS: [" + window + "]");
+        return itemService.findPopular(window);
+    }
+
+    @GetMapping("/stats")
+    public ItemStatsDto findOwnerStats(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
+                                       @RequestParam(defaultValue = "WEEK") final StatsPeriod period) {
+        log.info(">>> FIND OWNER STATS: [" + period + "] >> OWNER ID: [" + ownerId + "]");
+        return itemService.findOwnerStats(ownerId, period);
+    }
+
+    @GetMapping("/{id}/matching-requests")
+    public List<ItemRequestDto> findMatchingRequests(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                     @PathVariable final Long id,
+                                                     @RequestParam(defaultValue = "10") final Integer size) {
+        log.info(">>> FIND MATCHING REQUESTS FOR ITEM: [" + id + "] >> USER ID: [" + userId + "]");
+        return itemService.findMatchingRequests(userId, id, size);
+    }
+
+    @GetMapping("/{id}/stats")
+    public ItemStatsDto findStats(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                  @PathVariable final Long id,
+                                  @RequestParam(defaultValue = "WEEK") final StatsPeriod period) {
+        log.info(">>> FIND ITEM STATS: [" + id + "] [" + period + "] >> USER ID: [" + userId + "]");
+        return itemService.findStats(userId, id, period);
+    }
 
     @GetMapping("/{id}")
-    public ItemInfoDto findById(@RequestHeader("X-Sharer-User-Id") final Long userId,
-                                @PathVariable final Long id) {
+    public Object findById(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                           @PathVariable final Long id,
+                           @RequestParam(required = false) final String fields) {
         log.info(">>> FIND ITEM BY ID: [" + id + "] >> USER ID: [" + userId + "]");
-        return itemService.findById(userId, id);
+        final var itemFields = ItemFields.parse(fields);
+        return itemFields.select(objectMapper, itemService.findById(userId, id, itemFields));
     }
 
     @GetMapping
-    public List<ItemInfoDto> findAllOwnerItems(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
-                                               @RequestParam Integer from,
-                                               @RequestParam Integer size) {
+    public Object findAllOwnerItems(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
+                                    @RequestParam Integer from,
+                                    @RequestParam Integer size,
+                                    @RequestParam(required = false) final String fields) {
         log.info(">>> FIND ALL ITEMS BY USER ID: [" + ownerId + "]");
-        return itemService.findAllOwnerItems(ownerId, from, size);
+        final var itemFields = ItemFields.parse(fields);
+        return itemFields.select(objectMapper, itemService.findAllOwnerItems(ownerId, from, size, itemFields));
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public CommentPageDto findComments(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                       @PathVariable final Long itemId,
+                                       @RequestParam(required = false) final String cursor,
+                                       @RequestParam Integer size) {
+        log.info(">>> FIND COMMENTS OF ITEM ID: [" + itemId + "] >>> CURSOR: [" + cursor + "]");
+        return itemService.findComments(userId, itemId, cursor, size);
     }
 
     @GetMapping("/search")
@@ -59,6 +118,13 @@ public class ItemController {
         return itemService.addComment(userId, itemId, commentCreationDto);
     }
 
+    @PatchMapping("/availability")
+    public List<Long> updateAvailability(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
+                                         @RequestBody final ItemAvailabilityDto itemAvailabilityDto) {
+        log.info(">>> UPDATE AVAILABILITY: [" + itemAvailabilityDto + "] >>> BY USER ID: [" + ownerId + "]");
+        return itemService.updateAvailability(ownerId, itemAvailabilityDto);
+    }
+
     @PatchMapping("/{id}")
     public ItemCreationDto update(@PathVariable final Long id,
                                   @RequestHeader("X-Sharer-User-Id") final Long ownerId,
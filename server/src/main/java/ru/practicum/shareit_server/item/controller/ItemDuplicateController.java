@@ -0,0 +1,30 @@
+package ru.practicum.shareit_server.item.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit_server.item.dto.DuplicateClusterDto;
+import ru.practicum.shareit_server.item.service.ItemService;
+
+import java.util.List;
+
+/**
+ * Admin endpoints. They are not routed through the gateway.
+ */
+@RestController
+@RequestMapping("/admin/items")
+@RequiredArgsConstructor
+@Slf4j
+public class ItemDuplicateController {
+
+    private final ItemService itemService;
+
+    @GetMapping("/duplicates")
+    public List<DuplicateClusterDto> findDuplicateClusters(@RequestParam(defaultValue = "100") final Integer size) {
+        log.info(">>> FIND DUPLICATE ITEM CLUSTERS: [" + size + "]");
+        return itemService.findDuplicateClusters(size);
+    }
+}
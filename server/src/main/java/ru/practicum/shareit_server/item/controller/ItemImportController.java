@@ -0,0 +1,38 @@
+package ru.practicum.shareit_server.item.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit_server.item.importer.ItemImportFormat;
+import ru.practicum.shareit_server.item.service.ItemImportService;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/items")
+@RequiredArgsConstructor
+@Slf4j
+public class ItemImportController {
+
+    private final ItemImportService itemImportService;
+
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, ItemImportFormat.TEXT_CSV_VALUE})
+    public ResponseEntity<StreamingResponseBody> importItems(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
+                                                             @RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType,
+                                                             final InputStream body) throws IOException {
+        log.info(">>> IMPORT ITEMS: [" + contentType + "] >>> BY USER ID: [" + ownerId + "]");
+        final var reader = itemImportService.open(ownerId, contentType, body);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(report -> itemImportService.importItems(ownerId, reader, report));
+    }
+}
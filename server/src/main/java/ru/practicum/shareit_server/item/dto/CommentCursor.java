@@ -0,0 +1,36 @@
+package ru.practicum.shareit_server.item.dto;
+
+import lombok.Value;
+import ru.practicum.shareit_server.exception.IncorrectCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position of a comment: comments are paged by {@code (created, id)} descending.
+ */
+@Value
+public class CommentCursor {
+
+    LocalDateTime created;
+    Long id;
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((created + "_" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CommentCursor decode(final String cursor) {
+        try {
+            final var value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final var separator = value.lastIndexOf('_');
+
+            return new CommentCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IncorrectCursorException("Invalid cursor: [" + cursor + "]", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit_server.item.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class CommentPageDto {
+
+    private List<CommentInfoDto> comments;
+    private String nextCursor;
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit_server.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateClusterDto {
+
+    private List<Long> itemIds;
+}
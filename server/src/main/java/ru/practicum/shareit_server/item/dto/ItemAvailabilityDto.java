@@ -0,0 +1,15 @@
+package ru.practicum.shareit_server.item.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ItemAvailabilityDto {
+
+    private List<Long> itemIds;
+    private Boolean all;
+    private Boolean available;
+}
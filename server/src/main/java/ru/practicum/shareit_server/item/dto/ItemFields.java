@@ -0,0 +1,73 @@
+package ru.practicum.shareit_server.item.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldset requested with {@code fields=}. Relations that are not requested are not loaded at all.
+ */
+@EqualsAndHashCode
+@ToString
+public class ItemFields {
+
+    public static final String LAST_BOOKING = "lastBooking";
+    public static final String NEXT_BOOKING = "nextBooking";
+    public static final String COMMENTS = "comments";
+
+    public static final ItemFields ALL = new ItemFields(null);
+
+    private final Set<String> names;
+
+    private ItemFields(final Set<String> names) {
+        this.names = names;
+    }
+
+    public static ItemFields parse(final String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+
+        return new ItemFields(Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toSet()));
+    }
+
+    public boolean isAll() {
+        return names == null;
+    }
+
+    public boolean includes(final String name) {
+        return names == null || names.contains(name);
+    }
+
+    public boolean hasBookings() {
+        return includes(LAST_BOOKING) || includes(NEXT_BOOKING);
+    }
+
+    public boolean hasComments() {
+        return includes(COMMENTS);
+    }
+
+    public Object select(final ObjectMapper objectMapper, final Object view) {
+        if (isAll()) {
+            return view;
+        }
+
+        final JsonNode node = objectMapper.valueToTree(view);
+        if (node.isArray()) {
+            node.forEach(element -> ((ObjectNode) element).retain(names));
+        } else {
+            ((ObjectNode) node).retain(names);
+        }
+
+        return node;
+    }
+}
@@ -7,7 +7,7 @@ import ru.practicum.shareit_server.booking.dto.BookingShortDto;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class ItemInfoDto {
 
     private Long id;
@@ -17,5 +17,6 @@ public class ItemInfoDto {
     private Boolean available;
     private BookingShortDto lastBooking;
     private BookingShortDto nextBooking;
+    private Long commentCount;
     private List<CommentInfoDto> comments;
 }
@@ -0,0 +1,26 @@
+package ru.practicum.shareit_server.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit_server.item.stats.StatsPeriod;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemStatsDto {
+
+    private Long itemId;
+    private StatsPeriod period;
+    private LocalDate from;
+    private LocalDate to;
+    private Long bookings;
+    private Long rejected;
+    private Double rejectionRate;
+    private Long distinctRenters;
+    private Double bookedHours;
+}
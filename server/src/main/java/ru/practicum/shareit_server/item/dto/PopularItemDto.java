@@ -0,0 +1,16 @@
+package ru.practicum.shareit_server.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PopularItemDto {
+
+    private Long itemId;
+    private Long bookings;
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit_server.item.duplicate;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit_server.exception.AlreadyExistsException;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Checks a new item against the fingerprint index. A near-duplicate of the owner's own item is rejected when
+ * {@code shareit.items.duplicates.reject} is on; every other match is only reported.
+ */
+@Component
+@Slf4j
+public class ItemDuplicateChecker {
+
+    private final ItemFingerprintIndex itemFingerprintIndex;
+    private final boolean rejectDuplicates;
+
+    public ItemDuplicateChecker(final ItemFingerprintIndex itemFingerprintIndex,
+                                @Value("${shareit.items.duplicates.reject:false}") final boolean rejectDuplicates) {
+        this.itemFingerprintIndex = itemFingerprintIndex;
+        this.rejectDuplicates = rejectDuplicates;
+    }
+
+    /**
+     * Ids of the items similar to a new item of {@code ownerId}, empty when there are none.
+     */
+    public List<Long> check(final Long ownerId, final long fingerprint) {
+        final var similar = itemFingerprintIndex.findSimilar(fingerprint);
+        if (similar.isEmpty()) {
+            return List.of();
+        }
+
+        final var ownerDuplicate = similar.stream()
+                .filter(item -> item.getOwnerId().equals(ownerId))
+                .findFirst();
+        if (ownerDuplicate.isPresent() && rejectDuplicates) {
+            throw new AlreadyExistsException("Similar item already exists: [" + ownerDuplicate.get().getItemId() + "]");
+        }
+
+        final var similarIds = similar.stream()
+                .map(ItemFingerprint::getItemId)
+                .collect(Collectors.toList());
+        log.info(">>> NEAR-DUPLICATE ITEM >> OWNER ID: [" + ownerId + "] >> SIMILAR ITEMS: " + similarIds);
+
+        return similarIds;
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit_server.item.duplicate;
+
+import lombok.Value;
+
+@Value
+public class ItemFingerprint {
+
+    Long itemId;
+    Long ownerId;
+    long fingerprint;
+
+    public static ItemFingerprint of(final Long itemId,
+                                     final Long ownerId,
+                                     final String name,
+                                     final String description) {
+        return new ItemFingerprint(itemId, ownerId, SimHash.fingerprint(name, description));
+    }
+}
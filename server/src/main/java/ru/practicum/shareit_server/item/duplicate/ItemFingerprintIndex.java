@@ -0,0 +1,236 @@
+package ru.practicum.shareit_server.item.duplicate;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit_server.item.event.ItemsDeletedEvent;
+import ru.practicum.shareit_server.item.event.ItemsFingerprintedEvent;
+import ru.practicum.shareit_server.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory LSH index over item fingerprints. A fingerprint is split into four 16-bit bands, so any two
+ * fingerprints at most three bits apart share at least one band and are found with four map lookups.
+ */
+@Component
+@Slf4j
+public class ItemFingerprintIndex {
+
+    private static final int BANDS = 4;
+    private static final int BAND_BITS = Long.SIZE / BANDS;
+    private static final int BAND_MASK = (1 << BAND_BITS) - 1;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final int maxDistance;
+    private final Map<Long, ItemFingerprint> fingerprints = new HashMap<>();
+    private final Map<Integer, Bucket> buckets = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemFingerprintIndex(final ItemRepository itemRepository,
+                                @Value("${shareit.items.duplicates.max-distance:3}") final int maxDistance) {
+        this.itemRepository = itemRepository;
+        this.maxDistance = Math.min(maxDistance, BANDS - 1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        var afterId = 0L;
+        var indexed = 0;
+        List<ItemFingerprint> batch;
+
+        do {
+            batch = itemRepository.findTextsAfter(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE)).stream()
+                    .map(item -> ItemFingerprint.of(item.getId(), item.getOwnerId(), item.getName(),
+                            item.getDescription()))
+                    .collect(Collectors.toList());
+            putAll(batch);
+            indexed += batch.size();
+            afterId = batch.isEmpty() ? afterId : batch.get(batch.size() - 1).getItemId();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        log.info(">>> ITEM FINGERPRINTS INDEXED: [" + indexed + "]");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsFingerprinted(final ItemsFingerprintedEvent event) {
+        putAll(event.getFingerprints());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsDeleted(final ItemsDeletedEvent event) {
+        removeAll(event.getItemIds());
+    }
+
+    public List<ItemFingerprint> findSimilar(final long fingerprint) {
+        lock.readLock().lock();
+        try {
+            return similarIds(fingerprint).stream()
+                    .sorted()
+                    .map(fingerprints::get)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Groups transitively similar items, largest clusters first.
+     */
+    public List<List<Long>> findClusters() {
+        final Map<Long, Long> parents = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            fingerprints.values().forEach(item -> similarIds(item.getFingerprint()).stream()
+                    .filter(similarId -> similarId > item.getItemId())
+                    .forEach(similarId -> union(parents, item.getItemId(), similarId)));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return new ArrayList<>(parents.keySet()).stream()
+                .collect(Collectors.groupingBy(itemId -> root(parents, itemId), Collectors.toList()))
+                .values().stream()
+                .peek(cluster -> cluster.sort(Comparator.naturalOrder()))
+                .sorted(Comparator.<List<Long>>comparingInt(List::size).reversed()
+                        .thenComparing(cluster -> cluster.get(0)))
+                .collect(Collectors.toList());
+    }
+
+    public void removeAll(final Collection<Long> itemIds) {
+        lock.writeLock().lock();
+        try {
+            itemIds.forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putAll(final Collection<ItemFingerprint> items) {
+        lock.writeLock().lock();
+        try {
+            for (ItemFingerprint item : items) {
+                remove(item.getItemId());
+                fingerprints.put(item.getItemId(), item);
+                for (int band = 0; band < BANDS; band++) {
+                    buckets.computeIfAbsent(bucket(item.getFingerprint(), band), key -> new Bucket())
+                            .add(item.getItemId(), item.getFingerprint());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(final Long itemId) {
+        final var previous = fingerprints.remove(itemId);
+        if (previous == null) {
+            return;
+        }
+
+        for (int band = 0; band < BANDS; band++) {
+            final var key = bucket(previous.getFingerprint(), band);
+            final var bucket = buckets.get(key);
+            bucket.remove(itemId);
+            if (bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private Set<Long> similarIds(final long fingerprint) {
+        final Set<Long> similarIds = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            final var bucket = buckets.get(bucket(fingerprint, band));
+            if (bucket != null) {
+                bucket.collectSimilar(fingerprint, maxDistance, similarIds);
+            }
+        }
+
+        return similarIds;
+    }
+
+    private static int bucket(final long fingerprint, final int band) {
+        return band << BAND_BITS | (int) (fingerprint >>> (band * BAND_BITS)) & BAND_MASK;
+    }
+
+    private static void union(final Map<Long, Long> parents, final Long first, final Long second) {
+        final var firstRoot = root(parents, first);
+        final var secondRoot = root(parents, second);
+        if (!firstRoot.equals(secondRoot)) {
+            parents.put(Math.max(firstRoot, secondRoot), Math.min(firstRoot, secondRoot));
+        }
+    }
+
+    private static Long root(final Map<Long, Long> parents, final Long itemId) {
+        var root = itemId;
+        var parent = parents.putIfAbsent(root, root);
+        while (parent != null && !parent.equals(root)) {
+            root = parent;
+            parent = parents.get(root);
+        }
+        parents.put(itemId, root);
+
+        return root;
+    }
+
+    /**
+     * Parallel primitive arrays, so a scan over a crowded bucket costs one XOR and bit count per item.
+     */
+    private static class Bucket {
+
+        private long[] itemIds = new long[4];
+        private long[] fingerprints = new long[4];
+        private int size;
+
+        private void add(final long itemId, final long fingerprint) {
+            if (size == itemIds.length) {
+                itemIds = Arrays.copyOf(itemIds, size * 2);
+                fingerprints = Arrays.copyOf(fingerprints, size * 2);
+            }
+            itemIds[size] = itemId;
+            fingerprints[size] = fingerprint;
+            size++;
+        }
+
+        private void remove(final long itemId) {
+            for (int i = 0; i < size; i++) {
+                if (itemIds[i] == itemId) {
+                    size--;
+                    itemIds[i] = itemIds[size];
+                    fingerprints[i] = fingerprints[size];
+                    return;
+                }
+            }
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void collectSimilar(final long fingerprint, final int maxDistance, final Set<Long> similarIds) {
+            for (int i = 0; i < size; i++) {
+                if (SimHash.distance(fingerprint, fingerprints[i]) <= maxDistance) {
+                    similarIds.add(itemIds[i]);
+                }
+            }
+        }
+    }
+}
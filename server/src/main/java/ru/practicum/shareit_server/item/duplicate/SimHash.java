@@ -0,0 +1,69 @@
+package ru.practicum.shareit_server.item.duplicate;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 64-bit SimHash over the words and word pairs of a text. Texts that share most of their features get
+ * fingerprints a few bits apart.
+ */
+public final class SimHash {
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private SimHash() {
+    }
+
+    public static long fingerprint(final String... texts) {
+        final int[] weights = new int[Long.SIZE];
+
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+
+            final var words = WORD.matcher(text.toLowerCase(Locale.ROOT));
+            String previous = null;
+            while (words.find()) {
+                final var word = words.group();
+                add(weights, hash(word));
+                if (previous != null) {
+                    add(weights, hash(previous + ' ' + word));
+                }
+                previous = word;
+            }
+        }
+
+        long fingerprint = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+
+        return fingerprint;
+    }
+
+    public static int distance(final long first, final long second) {
+        return Long.bitCount(first ^ second);
+    }
+
+    private static void add(final int[] weights, final long hash) {
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            weights[bit] += (hash >>> bit & 1) == 1 ? 1 : -1;
+        }
+    }
+
+    private static long hash(final String feature) {
+        var hash = FNV_OFFSET;
+        for (int i = 0; i < feature.length(); i++) {
+            hash = (hash ^ feature.charAt(i)) * FNV_PRIME;
+        }
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit_server.item.event;
+
+import lombok.Value;
+import ru.practicum.shareit_server.item.dto.CommentInfoDto;
+
+@Value
+public class CommentAddedEvent {
+
+    Long itemId;
+    Long commentId;
+    CommentInfoDto comment;
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit_server.item.event;
+
+import lombok.Value;
+
+@Value
+public class ItemUpdatedEvent {
+
+    Long itemId;
+}
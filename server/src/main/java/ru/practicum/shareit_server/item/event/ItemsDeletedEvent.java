@@ -0,0 +1,11 @@
+package ru.practicum.shareit_server.item.event;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class ItemsDeletedEvent {
+
+    List<Long> itemIds;
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit_server.item.event;
+
+import lombok.Value;
+import ru.practicum.shareit_server.item.duplicate.ItemFingerprint;
+
+import java.util.List;
+
+@Value
+public class ItemsFingerprintedEvent {
+
+    List<ItemFingerprint> fingerprints;
+}
@@ -0,0 +1,145 @@
+package ru.practicum.shareit_server.item.importer;
+
+import ru.practicum.shareit_server.exception.IncorrectImportException;
+import ru.practicum.shareit_server.item.dto.ItemCreationDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV with a header row naming the {@code name}, {@code description}, {@code available} and optional
+ * {@code requestId} columns in any order. Quoted values may contain commas and doubled quotes,
+ * but not line breaks.
+ */
+public class CsvItemImportReader implements ItemImportReader {
+
+    private final BufferedReader reader;
+    private final int nameColumn;
+    private final int descriptionColumn;
+    private final int availableColumn;
+    private final int requestIdColumn;
+    private long lineNumber = 1;
+
+    public CsvItemImportReader(final BufferedReader reader) throws IOException {
+        this.reader = reader;
+
+        final var header = reader.readLine();
+        if (header == null) {
+            throw new IncorrectImportException("CSV header is missing");
+        }
+
+        final var columns = split(header);
+        this.nameColumn = requiredColumn(columns, "name");
+        this.descriptionColumn = requiredColumn(columns, "description");
+        this.availableColumn = requiredColumn(columns, "available");
+        this.requestIdColumn = indexOf(columns, "requestId");
+    }
+
+    @Override
+    public ItemImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+        } while (line != null && line.isBlank());
+
+        if (line == null) {
+            return null;
+        }
+
+        final List<String> values;
+        try {
+            values = split(line);
+        } catch (IllegalArgumentException e) {
+            return ItemImportRow.malformed(lineNumber, "Malformed row: " + e.getMessage());
+        }
+
+        final var available = value(values, availableColumn);
+        if (available != null && !available.equalsIgnoreCase("true") && !available.equalsIgnoreCase("false")) {
+            return ItemImportRow.malformed(lineNumber, "Malformed row: available must be true or false");
+        }
+
+        final var requestId = value(values, requestIdColumn);
+        final Long parsedRequestId;
+        try {
+            parsedRequestId = requestId != null ? Long.valueOf(requestId) : null;
+        } catch (NumberFormatException e) {
+            return ItemImportRow.malformed(lineNumber, "Malformed row: requestId must be a number");
+        }
+
+        return ItemImportRow.parsed(lineNumber, ItemCreationDto.builder()
+                .name(value(values, nameColumn))
+                .description(value(values, descriptionColumn))
+                .available(available != null ? Boolean.valueOf(available) : null)
+                .requestId(parsedRequestId)
+                .build());
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static String value(final List<String> values, final int column) {
+        if (column < 0 || column >= values.size() || values.get(column).isEmpty()) {
+            return null;
+        }
+
+        return values.get(column);
+    }
+
+    private static int requiredColumn(final List<String> columns, final String name) {
+        final var index = indexOf(columns, name);
+        if (index < 0) {
+            throw new IncorrectImportException("CSV header has no column [" + name + "]");
+        }
+
+        return index;
+    }
+
+    private static int indexOf(final List<String> columns, final String name) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).trim().equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static List<String> split(final String line) {
+        final List<String> values = new ArrayList<>();
+        final var value = new StringBuilder();
+        var quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            final var c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quote");
+        }
+        values.add(value.toString());
+
+        return values;
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit_server.item.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit_server.exception.IncorrectImportException;
+import ru.practicum.shareit_server.item.dto.ItemCreationDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+public enum ItemImportFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(new MediaType("text", "csv"));
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+
+    ItemImportFormat(final MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static ItemImportReader open(final String contentType,
+                                        final InputStream body,
+                                        final ObjectMapper objectMapper) throws IOException {
+        final MediaType mediaType;
+        try {
+            mediaType = MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            throw new IncorrectImportException("Unsupported import format: [" + contentType + "]", e);
+        }
+
+        final var charset = mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+        final var reader = new BufferedReader(new InputStreamReader(body, charset));
+
+        if (CSV.mediaType.isCompatibleWith(mediaType)) {
+            return new CsvItemImportReader(reader);
+        }
+        if (NDJSON.mediaType.isCompatibleWith(mediaType)) {
+            return new NdjsonItemImportReader(reader, objectMapper.readerFor(ItemCreationDto.class));
+        }
+
+        throw new IncorrectImportException("Unsupported import format: [" + contentType + "]");
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit_server.item.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Incremental reader of an import body: holds no more than the current row in memory.
+ */
+public interface ItemImportReader extends Closeable {
+
+    /**
+     * @return the next row, or {@code null} when the input is exhausted
+     */
+    ItemImportRow next() throws IOException;
+}
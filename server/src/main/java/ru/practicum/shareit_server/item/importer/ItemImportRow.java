@@ -0,0 +1,20 @@
+package ru.practicum.shareit_server.item.importer;
+
+import lombok.Value;
+import ru.practicum.shareit_server.item.dto.ItemCreationDto;
+
+@Value
+public class ItemImportRow {
+
+    long number;
+    ItemCreationDto item;
+    String error;
+
+    public static ItemImportRow parsed(final long number, final ItemCreationDto item) {
+        return new ItemImportRow(number, item, null);
+    }
+
+    public static ItemImportRow malformed(final long number, final String error) {
+        return new ItemImportRow(number, null, error);
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit_server.item.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import ru.practicum.shareit_server.item.dto.ItemCreationDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+public class NdjsonItemImportReader implements ItemImportReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader itemReader;
+    private long lineNumber;
+
+    public NdjsonItemImportReader(final BufferedReader reader, final ObjectReader itemReader) {
+        this.reader = reader;
+        this.itemReader = itemReader;
+    }
+
+    @Override
+    public ItemImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+        } while (line != null && line.isBlank());
+
+        if (line == null) {
+            return null;
+        }
+
+        try {
+            final ItemCreationDto item = itemReader.readValue(line);
+            if (item == null) {
+                return ItemImportRow.malformed(lineNumber, "Malformed row: item expected");
+            }
+            return ItemImportRow.parsed(lineNumber, item);
+        } catch (JsonProcessingException e) {
+            return ItemImportRow.malformed(lineNumber, "Malformed row: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit_server.item.mapper;
 
+import ru.practicum.shareit_server.booking.dto.BookingShortDto;
 import ru.practicum.shareit_server.item.dto.ItemCreationDto;
 import ru.practicum.shareit_server.item.dto.ItemInfoDto;
 import ru.practicum.shareit_server.item.dto.ItemShortDto;
@@ -29,9 +30,30 @@ public class ItemMapper {
                 .available(item.getAvailable())
                 .lastBooking(null)
                 .nextBooking(null)
+                .commentCount(item.getCommentCount())
                 .build();
     }
 
+    public static ItemInfoDto mapToOwnerItemBookingDto(final Item item) {
+        final var itemInfoDto = mapToItemBookingDto(item);
+
+        if (item.getLastBookingId() != null) {
+            itemInfoDto.setLastBooking(BookingShortDto.builder()
+                    .id(item.getLastBookingId())
+                    .bookerId(item.getLastBookerId())
+                    .build());
+        }
+
+        if (item.getNextBookingId() != null) {
+            itemInfoDto.setNextBooking(BookingShortDto.builder()
+                    .id(item.getNextBookingId())
+                    .bookerId(item.getNextBookerId())
+                    .build());
+        }
+
+        return itemInfoDto;
+    }
+
     public static ItemShortDto mapToItemShortDto(final Item item) {
         return ItemShortDto.builder()
                 .id(item.getId())
@@ -0,0 +1,58 @@
+package ru.practicum.shareit_server.item.popular;
+
+import java.util.Arrays;
+
+/**
+ * Count-min sketch over item ids. Estimates never undercount as long as no true count goes negative,
+ * so counts may be decremented and whole sketches subtracted from each other.
+ */
+public class CountMinSketch {
+
+    private static final long ROW_SEED = 0x9E3779B97F4A7C15L;
+
+    private final int width;
+    private final int[][] counts;
+
+    public CountMinSketch(final int width, final int depth) {
+        this.width = width;
+        this.counts = new int[depth][width];
+    }
+
+    public void add(final long key, final int delta) {
+        for (int row = 0; row < counts.length; row++) {
+            counts[row][index(key, row)] += delta;
+        }
+    }
+
+    public void add(final CountMinSketch other, final int sign) {
+        for (int row = 0; row < counts.length; row++) {
+            for (int column = 0; column < width; column++) {
+                counts[row][column] += sign * other.counts[row][column];
+            }
+        }
+    }
+
+    public int estimate(final long key) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < counts.length; row++) {
+            estimate = Math.min(estimate, counts[row][index(key, row)]);
+        }
+
+        return estimate;
+    }
+
+    public void clear() {
+        for (int[] row : counts) {
+            Arrays.fill(row, 0);
+        }
+    }
+
+    private int index(final long key, final int row) {
+        var hash = key + (row + 1) * ROW_SEED;
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        hash = hash ^ (hash >>> 33);
+
+        return (int) Long.remainderUnsigned(hash, width);
+    }
+}
@@ -0,0 +1,210 @@
+package ru.practicum.shareit_server.item.popular;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit_server.booking.event.BookingEvent;
+import ru.practicum.shareit_server.booking.model.BookingStatus;
+import ru.practicum.shareit_server.booking.repository.BookingRepository;
+import ru.practicum.shareit_server.item.dto.PopularItemDto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Most booked items of the last day and week. Bookings are counted per hour in a ring of count-min
+ * sketches. Every window keeps the sum of its hours and a bounded set of heavy-hitter candidates, and
+ * serves a top list that is recomputed on every change, so reads never touch the sketches.
+ */
+@Component
+@Slf4j
+public class PopularItems {
+
+    private static final int SECONDS_PER_HOUR = 3600;
+
+    private final BookingRepository bookingRepository;
+    private final int size;
+    private final int candidateLimit;
+    private final CountMinSketch[] hours;
+    private final Map<PopularityWindow, Window> windows = new EnumMap<>(PopularityWindow.class);
+    private long currentHour;
+
+    public PopularItems(final BookingRepository bookingRepository,
+                        @Value("${shareit.items.popular.size:10}") final int size,
+                        @Value("${shareit.items.popular.sketch-width:1024}") final int width,
+                        @Value("${shareit.items.popular.sketch-depth:4}") final int depth) {
+        this.bookingRepository = bookingRepository;
+        this.size = size;
+        this.candidateLimit = size * 4;
+        this.hours = new CountMinSketch[PopularityWindow.WEEK.getHours()];
+        for (int i = 0; i < hours.length; i++) {
+            hours[i] = new CountMinSketch(width, depth);
+        }
+        for (PopularityWindow window : PopularityWindow.values()) {
+            windows.put(window, new Window(new CountMinSketch(width, depth)));
+        }
+        this.currentHour = toHour(LocalDateTime.now());
+    }
+
+    public List<PopularItemDto> find(final PopularityWindow window) {
+        return windows.get(window).top;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        final var now = LocalDateTime.now();
+        final var bookings = bookingRepository.findCreatedSince(now.minusHours(hours.length),
+                BookingStatus.REJECTED);
+
+        synchronized (this) {
+            reset(toHour(now));
+            bookings.forEach(booking -> count(booking.getItemId(), toHour(booking.getCreated()), 1));
+            publish();
+        }
+
+        log.info(">>> POPULAR ITEMS REBUILT FROM: [" + bookings.size() + "] BOOKINGS");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(final BookingEvent event) {
+        onBookingChanged(event, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.items.popular.tick:60000}")
+    public void tick() {
+        tick(LocalDateTime.now());
+    }
+
+    void onBookingChanged(final BookingEvent event, final LocalDateTime now) {
+        final var delta = delta(event);
+        if (delta == 0) {
+            return;
+        }
+
+        final var created = event.getCreated() != null ? event.getCreated() : now;
+        synchronized (this) {
+            advance(toHour(now));
+            count(event.getItemId(), toHour(created), delta);
+            publish();
+        }
+    }
+
+    synchronized void tick(final LocalDateTime now) {
+        if (advance(toHour(now))) {
+            publish();
+        }
+    }
+
+    private boolean advance(final long hour) {
+        if (hour <= currentHour) {
+            return false;
+        }
+        if (hour - currentHour >= hours.length) {
+            reset(hour);
+            return true;
+        }
+
+        while (currentHour < hour) {
+            currentHour++;
+            windows.forEach((window, state) -> state.total.add(hours[slot(currentHour - window.getHours())], -1));
+            hours[slot(currentHour)].clear();
+        }
+
+        return true;
+    }
+
+    private void reset(final long hour) {
+        currentHour = hour;
+        for (CountMinSketch sketch : hours) {
+            sketch.clear();
+        }
+        windows.values().forEach(state -> {
+            state.total.clear();
+            state.candidates.clear();
+        });
+    }
+
+    private void count(final Long itemId, final long hour, final int delta) {
+        final var age = currentHour - Math.min(hour, currentHour);
+        if (age >= hours.length) {
+            return;
+        }
+
+        hours[slot(currentHour - age)].add(itemId, delta);
+        windows.forEach((window, state) -> {
+            if (age < window.getHours()) {
+                state.total.add(itemId, delta);
+                state.offer(itemId, candidateLimit);
+            }
+        });
+    }
+
+    private void publish() {
+        windows.values().forEach(state -> {
+            state.candidates.removeIf(itemId -> state.total.estimate(itemId) <= 0);
+            state.top = state.candidates.stream()
+                    .map(itemId -> new PopularItemDto(itemId, (long) state.total.estimate(itemId)))
+                    .sorted(Comparator.comparing(PopularItemDto::getBookings).reversed()
+                            .thenComparing(PopularItemDto::getItemId))
+                    .limit(size)
+                    .collect(Collectors.toUnmodifiableList());
+        });
+    }
+
+    private int slot(final long hour) {
+        return (int) Math.floorMod(hour, (long) hours.length);
+    }
+
+    private static long toHour(final LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / SECONDS_PER_HOUR;
+    }
+
+    private static int delta(final BookingEvent event) {
+        final var counted = event.getStatus() != BookingStatus.REJECTED;
+        if (event.getType() == BookingEvent.Type.CREATED) {
+            return counted ? 1 : 0;
+        }
+
+        return Boolean.compare(counted, event.getPreviousStatus() != BookingStatus.REJECTED);
+    }
+
+    private static class Window {
+
+        private final CountMinSketch total;
+        private final Set<Long> candidates = new HashSet<>();
+        private volatile List<PopularItemDto> top = List.of();
+
+        private Window(final CountMinSketch total) {
+            this.total = total;
+        }
+
+        private void offer(final Long itemId, final int limit) {
+            if (candidates.contains(itemId)) {
+                return;
+            }
+            if (candidates.size() < limit) {
+                candidates.add(itemId);
+                return;
+            }
+
+            final var weakest = candidates.stream()
+                    .min(Comparator.comparingInt(total::estimate))
+                    .orElseThrow();
+            if (total.estimate(itemId) > total.estimate(weakest)) {
+                candidates.remove(weakest);
+                candidates.add(itemId);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit_server.item.popular;
+
+public enum PopularityWindow {
+    DAY(24),
+    WEEK(24 * 7);
+
+    private final int hours;
+
+    PopularityWindow(final int hours) {
+        this.hours = hours;
+    }
+
+    public int getHours() {
+        return hours;
+    }
+}
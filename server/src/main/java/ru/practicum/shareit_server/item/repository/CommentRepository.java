@@ -1,13 +1,53 @@
 package ru.practicum.shareit_server.item.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit_server.item.model.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findAllByItemId(Long itemId);
+    List<Comment> findByItemId(Long itemId, Pageable pageable);
 
-    List<Comment> findAllByItemIdIn(List<Long> itemIds);
+    @Query(" SELECT c " +
+            "FROM Comment AS c " +
+            "WHERE c.item.id = :itemId " +
+            "AND (c.created < :created OR (c.created = :created AND c.id < :id))")
+    List<Comment> findByItemIdBefore(Long itemId, LocalDateTime created, Long id, Pageable pageable);
+
+    @Query(value = " SELECT c.comment_id, c.text, c.item_id, c.author, c.created " +
+            "FROM (SELECT l.*, ROW_NUMBER() OVER (PARTITION BY l.item_id " +
+            "ORDER BY l.created DESC, l.comment_id DESC) AS position " +
+            "FROM comment AS l " +
+            "WHERE l.item_id IN (:itemIds)) AS c " +
+            "WHERE c.position <= :limit " +
+            "ORDER BY c.item_id, c.created DESC, c.comment_id DESC", nativeQuery = true)
+    List<Comment> findLatestByItemIdIn(List<Long> itemIds, int limit);
+
+    /**
+     * Comments that go away with the user: written by them or left on items that go away with them.
+     */
+    @Query(" SELECT c.id " +
+            "FROM Comment AS c " +
+            "JOIN c.item AS i " +
+            "LEFT JOIN i.request AS r " +
+            "WHERE c.author.id = :userId " +
+            "OR i.ownerId = :userId " +
+            "OR r.requestor.id = :userId")
+    List<Long> findIdsDeletedWithUser(Long userId, Pageable pageable);
+
+    @Query(" SELECT DISTINCT c.item.id " +
+            "FROM Comment AS c " +
+            "WHERE c.id IN :ids")
+    List<Long> findItemIdsByIds(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(" DELETE FROM Comment AS c " +
+            "WHERE c.id IN :ids")
+    void deleteByIds(Collection<Long> ids);
 }
@@ -3,10 +3,13 @@ package ru.practicum.shareit_server.item.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit_server.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
@@ -15,13 +18,99 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findByOwnerId(Long ownerId);
 
+    @Query(" SELECT i " +
+            "FROM Item AS i " +
+            "LEFT JOIN FETCH i.request AS r " +
+            "LEFT JOIN FETCH r.requestor " +
+            "WHERE i.id IN :ids")
+    List<Item> findAllByIdIn(Collection<Long> ids);
+
+    @Query(" SELECT i.id AS id, i.ownerId AS ownerId, i.name AS name, i.description AS description, " +
+            "i.available AS available " +
+            "FROM Item AS i " +
+            "WHERE i.id > :afterId " +
+            "ORDER BY i.id")
+    List<ItemTextView> findTextsAfter(Long afterId, Pageable pageable);
+
+    @Query(" SELECT i.id AS id, i.ownerId AS ownerId, i.name AS name, i.description AS description, " +
+            "i.available AS available " +
+            "FROM Item AS i " +
+            "WHERE i.id IN :ids")
+    List<ItemTextView> findTextsByIdIn(Collection<Long> ids);
+
+    @Query(" SELECT i.id " +
+            "FROM Item AS i " +
+            "WHERE i.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
     List<Item> findByRequestId(Long requestId);
 
+    @Query(" SELECT i " +
+            "FROM Item AS i " +
+            "JOIN FETCH i.request AS r " +
+            "JOIN FETCH r.requestor " +
+            "WHERE r.id IN :requestIds")
     List<Item> findByRequestIdIn(List<Long> requestIds);
 
+    List<Item> findByBookingsRolloverLessThanEqual(LocalDateTime time, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(" UPDATE Item AS i " +
+            "SET i.commentCount = i.commentCount + 1 " +
+            "WHERE i.id = :itemId")
+    void incrementCommentCount(Long itemId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(" UPDATE Item AS i " +
+            "SET i.commentCount = (SELECT COUNT(c) FROM Comment AS c WHERE c.item.id = i.id) " +
+            "WHERE i.id IN :itemIds")
+    void recountComments(Collection<Long> itemIds);
+
+    @Query(" SELECT i.id " +
+            "FROM Item AS i " +
+            "WHERE i.ownerId = :ownerId " +
+            "AND i.available <> :available")
+    List<Long> findIdsToToggle(Long ownerId, Boolean available);
+
+    @Query(" SELECT i.id " +
+            "FROM Item AS i " +
+            "WHERE i.ownerId = :ownerId " +
+            "AND i.id IN :itemIds " +
+            "AND i.available <> :available")
+    List<Long> findIdsToToggle(Long ownerId, Collection<Long> itemIds, Boolean available);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(" UPDATE Item AS i " +
+            "SET i.available = :available " +
+            "WHERE i.ownerId = :ownerId " +
+            "AND i.id IN :itemIds")
+    void updateAvailability(Long ownerId, Collection<Long> itemIds, Boolean available);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(" UPDATE Item AS i " +
+            "SET i.available = :available " +
+            "WHERE i.ownerId = :ownerId " +
+            "AND i.available <> :available")
+    void updateAvailability(Long ownerId, Boolean available);
+
     @Query(" SELECT i " +
             "FROM Item AS i " +
             "WHERE i.available = true " +
             "AND (LOWER(i.name) LIKE %:text% OR LOWER(i.description) LIKE %:text%)")
     Page<Item> search(@Param("text") String text, Pageable pageable);
+
+    /**
+     * Items that go away with the user: owned by them or answering their requests.
+     */
+    @Query(" SELECT i.id " +
+            "FROM Item AS i " +
+            "LEFT JOIN i.request AS r " +
+            "WHERE i.ownerId = :userId " +
+            "OR r.requestor.id = :userId")
+    List<Long> findIdsDeletedWithUser(Long userId, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(" DELETE FROM Item AS i " +
+            "WHERE i.id IN :ids")
+    void deleteByIds(Collection<Long> ids);
 }
@@ -0,0 +1,14 @@
+package ru.practicum.shareit_server.item.repository;
+
+public interface ItemTextView {
+
+    Long getId();
+
+    Long getOwnerId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit_server.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit_server.booking.repository.BookingRepository;
+import ru.practicum.shareit_server.booking.repository.ItemBookingView;
+import ru.practicum.shareit_server.item.model.Item;
+import ru.practicum.shareit_server.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the last/next booking references stored with each item. {@code bookingsRollover} is the moment
+ * the stored references stop being accurate: either an upcoming booking starts or the next booking ends.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemBookingsRefresher {
+
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+
+    public void refresh(final Long itemId, final LocalDateTime currentTime) {
+        itemRepository.findById(itemId)
+                .ifPresent(item -> refresh(List.of(item), currentTime));
+    }
+
+    public void refresh(final Collection<Item> items, final LocalDateTime currentTime) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        final var itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        final var lastBookings = mapByItemId(bookingRepository.findLastBookings(itemIds, currentTime));
+        final var nextBookings = mapByItemId(bookingRepository.findNextBookings(itemIds, currentTime));
+        final var upcomingStarts = mapByItemId(bookingRepository.findUpcomingStarts(itemIds, currentTime));
+
+        for (Item item : items) {
+            final var lastBooking = lastBookings.get(item.getId());
+            final var nextBooking = nextBookings.get(item.getId());
+            final var upcomingStart = upcomingStarts.get(item.getId());
+
+            item.setLastBookingId(lastBooking != null ? lastBooking.getId() : null);
+            item.setLastBookerId(lastBooking != null ? lastBooking.getBookerId() : null);
+            item.setNextBookingId(nextBooking != null ? nextBooking.getId() : null);
+            item.setNextBookerId(nextBooking != null ? nextBooking.getBookerId() : null);
+            item.setBookingsRollover(earliest(upcomingStart != null ? upcomingStart.getStart() : null,
+                    nextBooking != null ? nextBooking.getEnd() : null));
+        }
+    }
+
+    public static boolean isRolledOver(final Item item, final LocalDateTime currentTime) {
+        return item.getBookingsRollover() != null && !currentTime.isBefore(item.getBookingsRollover());
+    }
+
+    private static Map<Long, ItemBookingView> mapByItemId(final List<ItemBookingView> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(ItemBookingView::getItemId, Function.identity()));
+    }
+
+    private static LocalDateTime earliest(final LocalDateTime first, final LocalDateTime second) {
+        if (first == null || second == null) {
+            return first != null ? first : second;
+        }
+
+        return first.isBefore(second) ? first : second;
+    }
+}
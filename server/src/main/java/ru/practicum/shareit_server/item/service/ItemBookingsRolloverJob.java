@@ -0,0 +1,53 @@
+package ru.practicum.shareit_server.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit_server.item.model.Item;
+import ru.practicum.shareit_server.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemBookingsRolloverJob {
+
+    private final ItemRepository itemRepository;
+    private final ItemBookingsRefresher itemBookingsRefresher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${shareit.items.bookings-rollover.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${shareit.items.bookings-rollover.interval:60000}")
+    public void rollover() {
+        final var currentTime = LocalDateTime.now();
+        int processed = 0;
+        int batch;
+
+        do {
+            batch = transactionTemplate.execute(status -> rolloverBatch(currentTime));
+            processed += batch;
+        } while (batch == batchSize);
+
+        if (processed > 0) {
+            log.info(">>> BOOKINGS ROLLOVER: [" + processed + "] ITEMS");
+        }
+    }
+
+    private int rolloverBatch(final LocalDateTime currentTime) {
+        final List<Item> items = itemRepository.findByBookingsRolloverLessThanEqual(currentTime,
+                PageRequest.of(0, batchSize, Sort.by("id")));
+
+        itemBookingsRefresher.refresh(items, currentTime);
+
+        return items.size();
+    }
+}
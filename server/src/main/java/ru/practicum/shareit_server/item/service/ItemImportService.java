@@ -0,0 +1,14 @@
+package ru.practicum.shareit_server.item.service;
+
+import ru.practicum.shareit_server.item.importer.ItemImportReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface ItemImportService {
+
+    ItemImportReader open(Long ownerId, String contentType, InputStream body) throws IOException;
+
+    void importItems(Long ownerId, ItemImportReader reader, OutputStream report) throws IOException;
+}
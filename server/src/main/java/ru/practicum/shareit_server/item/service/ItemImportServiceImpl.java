@@ -0,0 +1,186 @@
+package ru.practicum.shareit_server.item.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit_server.exception.AlreadyExistsException;
+import ru.practicum.shareit_server.item.dto.ItemCreationDto;
+import ru.practicum.shareit_server.item.dto.ItemImportResultDto;
+import ru.practicum.shareit_server.item.duplicate.ItemDuplicateChecker;
+import ru.practicum.shareit_server.item.duplicate.ItemFingerprint;
+import ru.practicum.shareit_server.item.duplicate.SimHash;
+import ru.practicum.shareit_server.item.event.ItemsFingerprintedEvent;
+import ru.practicum.shareit_server.item.importer.ItemImportFormat;
+import ru.practicum.shareit_server.item.importer.ItemImportReader;
+import ru.practicum.shareit_server.item.importer.ItemImportRow;
+import ru.practicum.shareit_server.item.mapper.ItemMapper;
+import ru.practicum.shareit_server.item.model.Item;
+import ru.practicum.shareit_server.item.repository.ItemRepository;
+import ru.practicum.shareit_server.request.model.ItemRequest;
+import ru.practicum.shareit_server.request.repository.ItemRequestRepository;
+import ru.practicum.shareit_server.user.cache.UserDirectory;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Imports rows chunk by chunk: every chunk is validated, has its request ids resolved with one query
+ * and is inserted with JDBC batches in its own transaction. Results are written as soon as a chunk
+ * is done, so memory use depends on the chunk size only. Rows are checked for near-duplicates like
+ * single saves; rows of one chunk are indexed when it commits, so they are not compared with each other.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemImportServiceImpl implements ItemImportService {
+
+    private final UserDirectory userDirectory;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ItemDuplicateChecker itemDuplicateChecker;
+
+    @Value("${shareit.items.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    public ItemImportReader open(final Long ownerId, final String contentType, final InputStream body)
+            throws IOException {
+        userDirectory.get(ownerId);
+
+        return ItemImportFormat.open(contentType, body, objectMapper);
+    }
+
+    @Override
+    public void importItems(final Long ownerId, final ItemImportReader reader, final OutputStream report)
+            throws IOException {
+        final var resultWriter = objectMapper.writerFor(ItemImportResultDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        final List<ItemImportRow> chunk = new ArrayList<>(chunkSize);
+        long imported = 0;
+        long failed = 0;
+
+        try (reader) {
+            var row = reader.next();
+            while (row != null) {
+                chunk.add(row);
+                row = reader.next();
+
+                if (chunk.size() == chunkSize || row == null) {
+                    final var results = transactionTemplate.execute(status -> importChunk(ownerId, chunk));
+                    for (ItemImportResultDto result : Objects.requireNonNull(results)) {
+                        resultWriter.writeValue(report, result);
+                        report.write('\n');
+                        if (result.getError() == null) {
+                            imported++;
+                        } else {
+                            failed++;
+                        }
+                    }
+                    report.flush();
+                    chunk.clear();
+                }
+            }
+        }
+
+        log.info(">>> IMPORTED ITEMS: [" + imported + "] >>> FAILED: [" + failed + "] >>> BY USER ID: [" + ownerId + "]");
+    }
+
+    private List<ItemImportResultDto> importChunk(final Long ownerId, final List<ItemImportRow> chunk) {
+        final var results = new ItemImportResultDto[chunk.size()];
+        final var requestIds = chunk.stream()
+                .map(ItemImportRow::getItem)
+                .filter(item -> item != null && item.getRequestId() != null)
+                .map(ItemCreationDto::getRequestId)
+                .collect(Collectors.toSet());
+        final Map<Long, ItemRequest> requests = requestIds.isEmpty() ? Map.of() :
+                itemRequestRepository.findAllById(requestIds).stream()
+                        .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+        final List<Integer> validRows = new ArrayList<>(chunk.size());
+        final List<Long> fingerprints = new ArrayList<>(chunk.size());
+        final List<List<Long>> similarItemIds = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            final var row = chunk.get(i);
+            final var error = row.getError() != null ? row.getError() : validate(row.getItem(), requests.keySet());
+            if (error != null) {
+                results[i] = ItemImportResultDto.builder().row(row.getNumber()).error(error).build();
+                continue;
+            }
+
+            final var fingerprint = SimHash.fingerprint(row.getItem().getName(), row.getItem().getDescription());
+            try {
+                final var similar = itemDuplicateChecker.check(ownerId, fingerprint);
+                validRows.add(i);
+                fingerprints.add(fingerprint);
+                similarItemIds.add(similar.isEmpty() ? null : similar);
+            } catch (AlreadyExistsException e) {
+                results[i] = ItemImportResultDto.builder().row(row.getNumber()).error(e.getMessage()).build();
+            }
+        }
+
+        final var items = itemRepository.saveAll(validRows.stream()
+                .map(i -> chunk.get(i).getItem())
+                .map(item -> newItem(item, ownerId,
+                        item.getRequestId() != null ? requests.get(item.getRequestId()) : null))
+                .collect(Collectors.toList()));
+        itemRepository.flush();
+        entityManager.clear();
+        eventPublisher.publishEvent(new ItemsFingerprintedEvent(IntStream.range(0, items.size())
+                .mapToObj(i -> new ItemFingerprint(items.get(i).getId(), ownerId, fingerprints.get(i)))
+                .collect(Collectors.toList())));
+        for (int i = 0; i < validRows.size(); i++) {
+            final var row = chunk.get(validRows.get(i));
+            results[validRows.get(i)] = ItemImportResultDto.builder()
+                    .row(row.getNumber())
+                    .id(items.get(i).getId())
+                    .similarItemIds(similarItemIds.get(i))
+                    .build();
+        }
+
+        return List.of(results);
+    }
+
+    private static Item newItem(final ItemCreationDto itemDto, final Long ownerId, final ItemRequest request) {
+        final var item = ItemMapper.mapToItem(itemDto, ownerId, request);
+        // an id in the imported row must never turn the insert into a merge over an existing item
+        item.setId(null);
+
+        return item;
+    }
+
+    private static String validate(final ItemCreationDto item, final Set<Long> existingRequestIds) {
+        if (item.getName() == null || item.getName().isBlank()) {
+            return "Name is blank";
+        }
+        if (item.getDescription() == null || item.getDescription().isBlank()) {
+            return "Description is blank";
+        }
+        if (item.getAvailable() == null) {
+            return "Available is null";
+        }
+        if (item.getRequestId() != null && !existingRequestIds.contains(item.getRequestId())) {
+            return "Request not found";
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit_server.item.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent reads of an item lookup concurrently, each in its own read-only transaction and
+ * so on its own connection. A read runs in the calling thread instead when the mode is off, when the
+ * executor is full or when the connection pool has no idle connection to spare.
+ */
+@Component
+public class ItemReadExecutor implements DisposableBean {
+
+    private final boolean enabled;
+    private final ThreadPoolExecutor executor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final HikariDataSource hikariDataSource;
+    private final Counter concurrentReads;
+    private final Counter sequentialReads;
+
+    public ItemReadExecutor(@Value("${shareit.items.fan-out.enabled:false}") final boolean enabled,
+                            @Value("${shareit.items.fan-out.threads:8}") final int threads,
+                            @Value("${shareit.items.fan-out.queue-size:64}") final int queueSize,
+                            final PlatformTransactionManager transactionManager,
+                            final DataSource dataSource,
+                            final MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), new CustomizableThreadFactory("item-read-"));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.hikariDataSource = unwrapHikari(dataSource);
+        this.concurrentReads = Counter.builder("items.fan-out.reads")
+                .tag("mode", "concurrent")
+                .register(meterRegistry);
+        this.sequentialReads = Counter.builder("items.fan-out.reads")
+                .tag("mode", "sequential")
+                .register(meterRegistry);
+        new ExecutorServiceMetrics(executor, "items.fan-out", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> submit(final Supplier<T> read) {
+        if (enabled && !isPoolSaturated()) {
+            try {
+                final var future = CompletableFuture.supplyAsync(
+                        () -> readOnlyTransaction.execute(status -> read.get()), executor);
+                concurrentReads.increment();
+                return future;
+            } catch (RejectedExecutionException e) {
+                // the executor is full, so the read is cheaper in the calling thread than in the queue
+            }
+        }
+
+        sequentialReads.increment();
+        try {
+            return CompletableFuture.completedFuture(read.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public static <T> T join(final CompletableFuture<T> read) {
+        try {
+            return read.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private boolean isPoolSaturated() {
+        final var pool = hikariDataSource != null ? hikariDataSource.getHikariPoolMXBean() : null;
+
+        return pool != null && (pool.getIdleConnections() == 0 || pool.getThreadsAwaitingConnection() > 0);
+    }
+
+    private static HikariDataSource unwrapHikari(final DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -2,16 +2,47 @@ package ru.practicum.shareit_server.item.service;
 
 import ru.practicum.shareit_server.item.dto.CommentCreationDto;
 import ru.practicum.shareit_server.item.dto.CommentInfoDto;
+import ru.practicum.shareit_server.item.dto.CommentPageDto;
+import ru.practicum.shareit_server.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit_server.item.dto.ItemCreationDto;
+import ru.practicum.shareit_server.item.dto.ItemFields;
+import ru.practicum.shareit_server.item.dto.DuplicateClusterDto;
 import ru.practicum.shareit_server.item.dto.ItemInfoDto;
+import ru.practicum.shareit_server.item.dto.ItemStatsDto;
+import ru.practicum.shareit_server.item.dto.PopularItemDto;
+import ru.practicum.shareit_server.item.popular.PopularityWindow;
+import ru.practicum.shareit_server.item.stats.StatsPeriod;
+import ru.practicum.shareit_server.request.dto.ItemRequestDto;
 
 import java.util.List;
 
 public interface ItemService {
 
-    ItemInfoDto findById(Long ownerId, Long id);
+    default ItemInfoDto findById(Long ownerId, Long id) {
+        return findById(ownerId, id, ItemFields.ALL);
+    }
 
-    List<ItemInfoDto> findAllOwnerItems(Long ownerId, Integer from, Integer size);
+    ItemInfoDto findById(Long ownerId, Long id, ItemFields fields);
+
+    List<ItemInfoDto> findByIds(Long userId, List<Long> ids);
+
+    List<PopularItemDto> findPopular(PopularityWindow window);
+
+    List<DuplicateClusterDto> findDuplicateClusters(Integer size);
+
+    List<ItemRequestDto> findMatchingRequests(Long userId, Long itemId, Integer size);
+
+    ItemStatsDto findStats(Long userId, Long itemId, StatsPeriod period);
+
+    ItemStatsDto findOwnerStats(Long ownerId, StatsPeriod period);
+
+    default List<ItemInfoDto> findAllOwnerItems(Long ownerId, Integer from, Integer size) {
+        return findAllOwnerItems(ownerId, from, size, ItemFields.ALL);
+    }
+
+    List<ItemInfoDto> findAllOwnerItems(Long ownerId, Integer from, Integer size, ItemFields fields);
+
+    CommentPageDto findComments(Long userId, Long itemId, String cursor, Integer size);
 
     List<ItemCreationDto> search(String text, Integer from, Integer size);
 
@@ -20,4 +51,6 @@ public interface ItemService {
     CommentInfoDto addComment(Long userId, Long itemId, CommentCreationDto commentCreationDto);
 
     ItemCreationDto update(Long id, Long ownerId, ItemCreationDto itemCreationDto);
+
+    List<Long> updateAvailability(Long ownerId, ItemAvailabilityDto itemAvailabilityDto);
 }
@@ -1,36 +1,68 @@
 package ru.practicum.shareit_server.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit_server.booking.mapper.BookingMapper;
-import ru.practicum.shareit_server.booking.model.Booking;
 import ru.practicum.shareit_server.booking.model.BookingStatus;
 import ru.practicum.shareit_server.booking.repository.BookingRepository;
 import ru.practicum.shareit_server.exception.AccessDeniedException;
 import ru.practicum.shareit_server.exception.NotFoundException;
 import ru.practicum.shareit_server.exception.UnavailableException;
+import ru.practicum.shareit_server.item.cache.CommentJsonStore;
+import ru.practicum.shareit_server.item.cache.ItemViewCache;
 import ru.practicum.shareit_server.item.dto.CommentCreationDto;
+import ru.practicum.shareit_server.item.dto.CommentCursor;
 import ru.practicum.shareit_server.item.dto.CommentInfoDto;
+import ru.practicum.shareit_server.item.dto.CommentPageDto;
+import ru.practicum.shareit_server.item.dto.DuplicateClusterDto;
+import ru.practicum.shareit_server.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit_server.item.dto.ItemCreationDto;
+import ru.practicum.shareit_server.item.dto.ItemFields;
 import ru.practicum.shareit_server.item.dto.ItemInfoDto;
+import ru.practicum.shareit_server.item.dto.ItemStatsDto;
+import ru.practicum.shareit_server.item.dto.PopularItemDto;
+import ru.practicum.shareit_server.item.duplicate.ItemDuplicateChecker;
+import ru.practicum.shareit_server.item.duplicate.ItemFingerprint;
+import ru.practicum.shareit_server.item.duplicate.ItemFingerprintIndex;
+import ru.practicum.shareit_server.item.duplicate.SimHash;
+import ru.practicum.shareit_server.item.event.CommentAddedEvent;
+import ru.practicum.shareit_server.item.event.ItemUpdatedEvent;
+import ru.practicum.shareit_server.item.event.ItemsFingerprintedEvent;
+import ru.practicum.shareit_server.item.event.ItemsUpdatedEvent;
 import ru.practicum.shareit_server.item.mapper.CommentMapper;
 import ru.practicum.shareit_server.item.mapper.ItemMapper;
 import ru.practicum.shareit_server.item.model.Comment;
 import ru.practicum.shareit_server.item.model.Item;
+import ru.practicum.shareit_server.item.popular.PopularItems;
+import ru.practicum.shareit_server.item.popular.PopularityWindow;
 import ru.practicum.shareit_server.item.repository.CommentRepository;
 import ru.practicum.shareit_server.item.repository.ItemRepository;
+import ru.practicum.shareit_server.item.stats.ItemStatsStore;
+import ru.practicum.shareit_server.item.stats.StatsPeriod;
+import ru.practicum.shareit_server.item.stats.StatsScope;
+import ru.practicum.shareit_server.request.dto.ItemRequestDto;
+import ru.practicum.shareit_server.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit_server.request.matching.RequestMatcher;
 import ru.practicum.shareit_server.request.model.ItemRequest;
 import ru.practicum.shareit_server.request.repository.ItemRequestRepository;
+import ru.practicum.shareit_server.user.cache.UserDirectory;
 import ru.practicum.shareit_server.user.mapper.UserMapper;
-import ru.practicum.shareit_server.user.service.UserService;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,50 +70,200 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
 
+    private static final Sort COMMENTS_ORDER = Sort.by(Sort.Order.desc("created"), Sort.Order.desc("id"));
+
     private final ItemRepository itemRepository;
-    private final UserService userService;
+    private final UserDirectory userDirectory;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
-
+    private final ItemViewCache itemViewCache;
+    private final CommentJsonStore commentJsonStore;
+    private final ItemBookingsRefresher itemBookingsRefresher;
+    private final ItemReadExecutor itemReadExecutor;
+    private final PopularItems popularItems;
+    private final ItemStatsStore itemStatsStore;
+    private final ItemFingerprintIndex itemFingerprintIndex;
+    private final ItemDuplicateChecker itemDuplicateChecker;
+    private final RequestMatcher requestMatcher;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${shareit.items.comments.latest-size:10}")
+    private int latestCommentsSize;
+
+    /**
+     * The user check and the comments do not depend on the item, so {@link ItemReadExecutor} may load them
+     * alongside it.
+     */
     @Override
-    public ItemInfoDto findById(final Long userId, final Long id) {
+    public ItemInfoDto findById(final Long userId, final Long id, final ItemFields fields) {
         final var currentTime = LocalDateTime.now();
-        userService.findById(userId);
-        final var itemInfoDto = ItemMapper.mapToItemBookingDto(itemRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Item not found")));
-        final var comments = CommentMapper.mapToCommentInfoDto(commentRepository.findAllByItemId(id));
-        itemInfoDto.setComments(comments);
+        final var user = itemReadExecutor.submit(() -> userDirectory.get(userId));
+
+        final var cachedView = itemViewCache.find(id, userId, currentTime);
+        if (cachedView != null) {
+            ItemReadExecutor.join(user);
+            return cachedView;
+        }
 
-        if (!itemInfoDto.getOwnerId().equals(userId)) {
+        final var stamp = itemViewCache.stamp(id);
+        final var comments = fields.hasComments() ? itemReadExecutor.submit(() -> findComments(id)) : null;
+        final var storedItem = itemRepository.findById(id);
+        ItemReadExecutor.join(user);
+        final var item = storedItem.orElseThrow(() -> new NotFoundException("Item not found"));
+        final var isOwner = item.getOwnerId().equals(userId);
+
+        if (!isOwner) {
+            final var itemInfoDto = itemViewCache.assemble(false,
+                    () -> withComments(ItemMapper.mapToItemBookingDto(item), comments));
+            if (fields.hasComments()) {
+                itemViewCache.put(itemInfoDto, false, null, stamp);
+            }
             return itemInfoDto;
         }
 
-        final var bookings = bookingRepository.findAllByItemId(id, Sort.by("start").descending());
+        final var itemInfoDto = itemViewCache.assemble(true, () -> {
+            if (fields.hasBookings() && ItemBookingsRefresher.isRolledOver(item, currentTime)) {
+                itemBookingsRefresher.refresh(List.of(item), currentTime);
+            }
+            return withComments(ItemMapper.mapToOwnerItemBookingDto(item), comments);
+        });
+        if (fields.hasComments() && fields.hasBookings()) {
+            itemViewCache.put(itemInfoDto, true, item.getBookingsRollover(), stamp);
+        }
+
+        return itemInfoDto;
+    }
+
+    /**
+     * Every item gets the view {@link #findById} would return to the user; unknown ids are skipped.
+     */
+    @Override
+    public List<ItemInfoDto> findByIds(final Long userId, final List<Long> ids) {
+        final var currentTime = LocalDateTime.now();
+        userDirectory.get(userId);
+
+        final var itemsById = itemRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        final var items = ids.stream()
+                .distinct()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        itemBookingsRefresher.refresh(items.stream()
+                .filter(item -> item.getOwnerId().equals(userId))
+                .filter(item -> ItemBookingsRefresher.isRolledOver(item, currentTime))
+                .collect(Collectors.toList()), currentTime);
+
+        final var comments = findLatestComments(items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList()));
+
+        return items.stream()
+                .map(item -> {
+                    final var itemInfoDto = item.getOwnerId().equals(userId)
+                            ? ItemMapper.mapToOwnerItemBookingDto(item)
+                            : ItemMapper.mapToItemBookingDto(item);
+                    itemInfoDto.setComments(comments.get(item.getId()));
+                    return itemInfoDto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<PopularItemDto> findPopular(final PopularityWindow window) {
+        return popularItems.find(window);
+    }
+
+    @Override
+    public ItemStatsDto findStats(final Long userId, final Long itemId, final StatsPeriod period) {
+        userDirectory.get(userId);
+
+        final var item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException("Item not found"));
+
+        if (!item.getOwnerId().equals(userId)) {
+            throw new AccessDeniedException("Access is denied");
+        }
+
+        return itemStatsStore.find(StatsScope.ITEM, itemId, period, LocalDate.now());
+    }
 
-        return setBooking(currentTime, itemInfoDto, bookings);
+    @Override
+    public ItemStatsDto findOwnerStats(final Long ownerId, final StatsPeriod period) {
+        userDirectory.get(ownerId);
+
+        return itemStatsStore.find(StatsScope.OWNER, ownerId, period, LocalDate.now());
     }
 
     @Override
-    public List<ItemInfoDto> findAllOwnerItems(final Long ownerId, final Integer from, final Integer size) {
+    public List<ItemInfoDto> findAllOwnerItems(final Long ownerId,
+                                               final Integer from,
+                                               final Integer size,
+                                               final ItemFields fields) {
         final var currentTime = LocalDateTime.now();
-        userService.findById(ownerId);
+        userDirectory.get(ownerId);
 
         final var pageable = PageRequest.of(from / size, size, Sort.unsorted());
-        final var itemsInfoDto = itemRepository.findByOwnerId(ownerId, pageable).stream()
+        final var items = itemRepository.findByOwnerId(ownerId, pageable).stream()
                 .sorted(Comparator.comparing(Item::getId))
-                .map(ItemMapper::mapToItemBookingDto)
                 .collect(Collectors.toList());
 
-        final var itemIds = itemsInfoDto.stream()
-                .map(ItemInfoDto::getId)
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        if (fields.hasBookings()) {
+            itemBookingsRefresher.refresh(items.stream()
+                    .filter(item -> ItemBookingsRefresher.isRolledOver(item, currentTime))
+                    .collect(Collectors.toList()), currentTime);
+        }
+
+        final var itemsInfoDto = items.stream()
+                .map(ItemMapper::mapToOwnerItemBookingDto)
                 .collect(Collectors.toList());
 
-        final var bookings = bookingRepository.findAllByItemIdIn(itemIds,
-                Sort.by("start").descending());
-        final var comments = commentRepository.findAllByItemIdIn(itemIds);
+        if (fields.hasComments()) {
+            final var comments = findLatestComments(items.stream()
+                    .map(Item::getId)
+                    .collect(Collectors.toList()));
+            itemsInfoDto.forEach(item -> item.setComments(comments.get(item.getId())));
+        }
+
+        return itemsInfoDto;
+    }
+
+    @Override
+    public CommentPageDto findComments(final Long userId, final Long itemId, final String cursor, final Integer size) {
+        userDirectory.get(userId);
+
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Item not found");
+        }
+
+        final var pageable = PageRequest.of(0, size + 1, COMMENTS_ORDER);
+        final List<Comment> comments;
 
-        return setCommentAndBooking(currentTime, bookings, itemsInfoDto, comments);
+        if (cursor == null) {
+            comments = commentRepository.findByItemId(itemId, pageable);
+        } else {
+            final var position = CommentCursor.decode(cursor);
+            comments = commentRepository.findByItemIdBefore(itemId, position.getCreated(), position.getId(), pageable);
+        }
+
+        final var hasNext = comments.size() > size;
+        final var page = hasNext ? comments.subList(0, size) : comments;
+        final var last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return CommentPageDto.builder()
+                .comments(CommentMapper.mapToCommentInfoDto(page))
+                .nextCursor(hasNext ? new CommentCursor(last.getCreated(), last.getId()).encode() : null)
+                .build();
     }
 
     @Override
@@ -102,7 +284,7 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     @Override
     public ItemCreationDto save(final Long ownerId, final ItemCreationDto itemCreationDto) {
-        userService.findById(ownerId);
+        userDirectory.get(ownerId);
         final var requestId = itemCreationDto.getRequestId();
         final ItemRequest request;
 
@@ -113,16 +295,59 @@ public class ItemServiceImpl implements ItemService {
             request = null;
         }
 
-        final var item = ItemMapper.mapToItem(itemCreationDto, ownerId, request);
+        final var fingerprint = SimHash.fingerprint(itemCreationDto.getName(), itemCreationDto.getDescription());
+        itemDuplicateChecker.check(ownerId, fingerprint);
 
-        return ItemMapper.mapToItemCreationDto(itemRepository.save(item));
+        final var item = itemRepository.save(ItemMapper.mapToItem(itemCreationDto, ownerId, request));
+        eventPublisher.publishEvent(new ItemsFingerprintedEvent(
+                List.of(new ItemFingerprint(item.getId(), ownerId, fingerprint))));
+
+        return ItemMapper.mapToItemCreationDto(item);
+    }
+
+    @Override
+    public List<ItemRequestDto> findMatchingRequests(final Long userId, final Long itemId, final Integer size) {
+        userDirectory.get(userId);
+
+        final var item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException("Item not found"));
+        final var requestIds = requestMatcher.findRequests(item.getOwnerId(), item.getName(), item.getDescription(),
+                size);
+        final var requests = itemRequestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+        return requestIds.stream()
+                .map(requests::get)
+                .filter(Objects::nonNull)
+                .map(ItemRequestMapper::mapToItemRequestDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<DuplicateClusterDto> findDuplicateClusters(final Integer size) {
+        final var clusters = itemFingerprintIndex.findClusters().stream()
+                .limit(size)
+                .collect(Collectors.toList());
+        final var itemIds = clusters.stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        // items deleted since they were clustered leave the index once their deletion commits
+        final var existingIds = new HashSet<>(itemIds.isEmpty() ? List.of() : itemRepository.findExistingIds(itemIds));
+
+        return clusters.stream()
+                .map(cluster -> cluster.stream()
+                        .filter(existingIds::contains)
+                        .collect(Collectors.toList()))
+                .filter(cluster -> cluster.size() > 1)
+                .map(DuplicateClusterDto::new)
+                .collect(Collectors.toList());
     }
 
     @Transactional
     @Override
     public CommentInfoDto addComment(Long userId, Long itemId, CommentCreationDto commentCreationDto) {
         final var created = LocalDateTime.now();
-        final var user = UserMapper.mapToUser(userService.findById(userId));
+        final var user = UserMapper.mapToUser(userDirectory.get(userId));
         final var item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item not found"));
 
@@ -134,13 +359,17 @@ public class ItemServiceImpl implements ItemService {
         commentCreationDto.setCreated(created);
         final var comment = CommentMapper.mapToComment(user, item, commentCreationDto);
 
-        return CommentMapper.mapToCommentInfoDto(commentRepository.save(comment));
+        final var savedComment = CommentMapper.mapToCommentInfoDto(commentRepository.save(comment));
+        itemRepository.incrementCommentCount(itemId);
+        eventPublisher.publishEvent(new CommentAddedEvent(itemId, savedComment.getId(), savedComment));
+
+        return savedComment;
     }
 
     @Transactional
     @Override
     public ItemCreationDto update(final Long id, final Long ownerId, final ItemCreationDto itemCreationDto) {
-        userService.findById(ownerId);
+        userDirectory.get(ownerId);
 
         final var item = itemRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Item not found"));
@@ -161,56 +390,88 @@ public class ItemServiceImpl implements ItemService {
             item.setAvailable(itemCreationDto.getAvailable());
         }
 
-        return ItemMapper.mapToItemCreationDto(itemRepository.save(item));
+        final var updatedItem = itemRepository.save(item);
+        eventPublisher.publishEvent(new ItemUpdatedEvent(id));
+        eventPublisher.publishEvent(new ItemsFingerprintedEvent(List.of(ItemFingerprint.of(id, ownerId,
+                updatedItem.getName(), updatedItem.getDescription()))));
+
+        return ItemMapper.mapToItemCreationDto(updatedItem);
     }
 
-    private ItemInfoDto setBooking(final LocalDateTime currentTime,
-                                   final ItemInfoDto itemInfoDto,
-                                   final List<Booking> bookings) {
-        final var lastBooking = bookings.stream()
-                .filter(booking -> booking.getStart().isBefore(currentTime))
-                .findFirst()
-                .map(BookingMapper::mapToBookingShortDto)
-                .orElse(null);
-        final var nextBooking = bookings.stream()
-                .filter(booking -> booking.getEnd().isAfter(currentTime))
-                .map(BookingMapper::mapToBookingShortDto)
-                .findFirst()
-                .orElse(null);
+    /**
+     * Only items that actually change are updated and returned, so their cached views are evicted in one go.
+     */
+    @Transactional
+    @Override
+    public List<Long> updateAvailability(final Long ownerId, final ItemAvailabilityDto itemAvailabilityDto) {
+        userDirectory.get(ownerId);
+        final var available = itemAvailabilityDto.getAvailable();
+
+        if (Boolean.TRUE.equals(itemAvailabilityDto.getAll())) {
+            final var itemIds = itemRepository.findIdsToToggle(ownerId, available);
+            if (!itemIds.isEmpty()) {
+                // set-based, so an owner with many items does not turn into one huge IN list
+                itemRepository.updateAvailability(ownerId, available);
+                eventPublisher.publishEvent(new ItemsUpdatedEvent(itemIds));
+            }
+            return itemIds;
+        }
 
-        itemInfoDto.setLastBooking(lastBooking);
-        itemInfoDto.setNextBooking(nextBooking);
+        final var itemIds = itemRepository.findIdsToToggle(ownerId, itemAvailabilityDto.getItemIds(), available);
+        if (!itemIds.isEmpty()) {
+            itemRepository.updateAvailability(ownerId, itemIds, available);
+            eventPublisher.publishEvent(new ItemsUpdatedEvent(itemIds));
+        }
+
+        return itemIds;
+    }
+
+    private static ItemInfoDto withComments(final ItemInfoDto itemInfoDto,
+                                            final CompletableFuture<List<CommentInfoDto>> comments) {
+        if (comments != null) {
+            itemInfoDto.setComments(ItemReadExecutor.join(comments));
+        }
 
         return itemInfoDto;
     }
 
-    private List<ItemInfoDto> setCommentAndBooking(final LocalDateTime currentTime,
-                                                   final List<Booking> bookings,
-                                                   final List<ItemInfoDto> itemsInfoDto,
-                                                   final List<Comment> comments) {
-        for (ItemInfoDto item : itemsInfoDto) {
-            final var lastBooking = bookings.stream()
-                    .filter(booking -> booking.getItem().getId().equals(item.getId()))
-                    .filter(booking -> booking.getStart().isBefore(currentTime))
-                    .map(BookingMapper::mapToBookingShortDto)
-                    .findFirst()
-                    .orElse(null);
-            final var nextBooking = bookings.stream()
-                    .filter(booking -> booking.getItem().getId().equals(item.getId()))
-                    .filter(booking -> booking.getEnd().isAfter(currentTime))
-                    .map(BookingMapper::mapToBookingShortDto)
-                    .findFirst()
-                    .orElse(null);
-            final var itemComments = comments.stream()
-                    .filter(comment -> comment.getItem().getId().equals(item.getId()))
-                    .map(CommentMapper::mapToCommentInfoDto)
-                    .collect(Collectors.toList());
-
-            item.setComments(itemComments);
-            item.setLastBooking(lastBooking);
-            item.setNextBooking(nextBooking);
+    private List<CommentInfoDto> findComments(final Long itemId) {
+        final var storedComments = commentJsonStore.find(itemId);
+        if (storedComments != null) {
+            return storedComments;
         }
 
-        return itemsInfoDto;
+        final var stamp = commentJsonStore.stamp();
+        final var comments = CommentMapper.mapToCommentInfoDto(commentRepository.findByItemId(itemId,
+                PageRequest.of(0, latestCommentsSize, COMMENTS_ORDER)));
+
+        return commentJsonStore.put(itemId, comments, stamp);
+    }
+
+    private Map<Long, List<CommentInfoDto>> findLatestComments(final List<Long> itemIds) {
+        final Map<Long, List<CommentInfoDto>> comments = new HashMap<>();
+        final List<Long> missingItemIds = new ArrayList<>();
+
+        for (Long itemId : itemIds) {
+            final var storedComments = commentJsonStore.find(itemId);
+            if (storedComments != null) {
+                comments.put(itemId, storedComments);
+            } else {
+                missingItemIds.add(itemId);
+            }
+        }
+
+        if (missingItemIds.isEmpty()) {
+            return comments;
+        }
+
+        final var stamp = commentJsonStore.stamp();
+        final var loadedComments = commentRepository.findLatestByItemIdIn(missingItemIds, latestCommentsSize).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::mapToCommentInfoDto, Collectors.toList())));
+        missingItemIds.forEach(itemId -> comments.put(itemId,
+                commentJsonStore.put(itemId, loadedComments.getOrDefault(itemId, new ArrayList<>()), stamp)));
+
+        return comments;
     }
 }
@@ -0,0 +1,123 @@
+package ru.practicum.shareit_server.item.stats;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit_server.booking.event.BookingEvent;
+import ru.practicum.shareit_server.booking.model.BookingStatus;
+import ru.practicum.shareit_server.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the rollups up to date. Booking changes are recorded in the transaction that makes them, and
+ * booked time is added by a scheduled pass over the bookings that ended since the last one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemStatsRollup {
+
+    private final ItemStatsStore itemStatsStore;
+    private final StatsWatermarkRepository statsWatermarkRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBookingChanged(final BookingEvent event) {
+        onBookingChanged(event, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.items.stats.rollup-interval:60000}")
+    public void rollupEndedBookings() {
+        final int bookings = transactionTemplate.execute(status -> rollupEndedBookings(LocalDateTime.now()));
+
+        if (bookings > 0) {
+            log.info(">>> STATS ROLLUP: [" + bookings + "] ENDED BOOKINGS");
+        }
+    }
+
+    void onBookingChanged(final BookingEvent event, final LocalDateTime currentTime) {
+        final var day = (event.getCreated() != null ? event.getCreated() : currentTime).toLocalDate();
+        final Map<StatsRollupId, Consumer<StatsRollup>> updates = new HashMap<>();
+
+        if (event.getType() == BookingEvent.Type.CREATED) {
+            ItemStatsStore.addUpdate(updates, event.getItemId(), event.getOwnerId(), day,
+                    addBooking(event.getBookerId()));
+        } else {
+            final var rejected = delta(event, BookingStatus.REJECTED);
+            if (rejected != 0) {
+                ItemStatsStore.addUpdate(updates, event.getItemId(), event.getOwnerId(), day,
+                        rollup -> rollup.setRejected(rollup.getRejected() + rejected));
+            }
+
+            final var approved = delta(event, BookingStatus.APPROVED);
+            if (approved != 0 && !event.getEnd().isAfter(currentTime) && isRolledUp(event.getEnd())) {
+                addBookedTime(updates, event.getItemId(), event.getOwnerId(), event.getStart(), event.getEnd(),
+                        approved);
+            }
+        }
+
+        itemStatsStore.update(updates);
+    }
+
+    int rollupEndedBookings(final LocalDateTime currentTime) {
+        final var watermark = statsWatermarkRepository.findForUpdate(StatsWatermark.BOOKING_END).orElseThrow();
+        if (!currentTime.isAfter(watermark.getWatermark())) {
+            return 0;
+        }
+
+        final var bookings = bookingRepository.findEndedBetween(watermark.getWatermark(), currentTime,
+                BookingStatus.APPROVED);
+        final Map<StatsRollupId, Consumer<StatsRollup>> updates = new HashMap<>();
+        bookings.forEach(booking -> addBookedTime(updates, booking.getItemId(), booking.getOwnerId(),
+                booking.getStart(), booking.getEnd(), 1));
+
+        itemStatsStore.update(updates);
+        watermark.setWatermark(currentTime);
+
+        return bookings.size();
+    }
+
+    /**
+     * Holds the watermark lock until commit, so the scheduled pass sees this status change if it has not
+     * reached the booking yet.
+     */
+    private boolean isRolledUp(final LocalDateTime end) {
+        return statsWatermarkRepository.findForUpdate(StatsWatermark.BOOKING_END)
+                .map(watermark -> !end.isAfter(watermark.getWatermark()))
+                .orElse(false);
+    }
+
+    private static void addBookedTime(final Map<StatsRollupId, Consumer<StatsRollup>> updates,
+                                      final Long itemId,
+                                      final Long ownerId,
+                                      final LocalDateTime start,
+                                      final LocalDateTime end,
+                                      final int sign) {
+        final var seconds = Duration.between(start, end).getSeconds() * sign;
+        ItemStatsStore.addUpdate(updates, itemId, ownerId, end.toLocalDate(),
+                rollup -> rollup.setBookedSeconds(rollup.getBookedSeconds() + seconds));
+    }
+
+    private static Consumer<StatsRollup> addBooking(final Long bookerId) {
+        return rollup -> {
+            final var renters = HyperLogLog.fromBytes(rollup.getRenters());
+            renters.add(bookerId);
+            rollup.setBookings(rollup.getBookings() + 1);
+            rollup.setRenters(renters.toBytes());
+        };
+    }
+
+    private static int delta(final BookingEvent event, final BookingStatus status) {
+        return (event.getStatus() == status ? 1 : 0) - (event.getPreviousStatus() == status ? 1 : 0);
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit_server.item.stats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit_server.item.dto.ItemStatsDto;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Reads and updates the daily rollups. Updates lock their rows in one global order, so concurrent
+ * bookings and the end-of-booking rollup cannot deadlock on each other.
+ */
+@Component
+@Slf4j
+public class ItemStatsStore {
+
+    private static final Comparator<StatsRollupId> LOCK_ORDER = Comparator.comparing(StatsRollupId::getScope)
+            .thenComparing(StatsRollupId::getScopeId)
+            .thenComparing(StatsRollupId::getDay);
+    private static final double SECONDS_PER_HOUR = 3600.0;
+
+    private final StatsRollupRepository statsRollupRepository;
+    private final TransactionTemplate newTransaction;
+
+    public ItemStatsStore(final StatsRollupRepository statsRollupRepository,
+                          final PlatformTransactionManager transactionManager) {
+        this.statsRollupRepository = statsRollupRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public ItemStatsDto find(final StatsScope scope,
+                             final Long scopeId,
+                             final StatsPeriod period,
+                             final LocalDate today) {
+        final var from = today.minusDays(period.getDays() - 1L);
+        final var renters = new HyperLogLog();
+        long bookings = 0;
+        long rejected = 0;
+        long bookedSeconds = 0;
+
+        for (StatsRollup bucket : statsRollupRepository.findBuckets(scope, scopeId, from, today)) {
+            bookings += bucket.getBookings();
+            rejected += bucket.getRejected();
+            bookedSeconds += bucket.getBookedSeconds();
+            if (bucket.getRenters() != null) {
+                renters.merge(HyperLogLog.fromBytes(bucket.getRenters()));
+            }
+        }
+
+        return ItemStatsDto.builder()
+                .itemId(scope == StatsScope.ITEM ? scopeId : null)
+                .period(period)
+                .from(from)
+                .to(today)
+                .bookings(bookings)
+                .rejected(rejected)
+                .rejectionRate(bookings > 0 ? (double) rejected / bookings : 0.0)
+                .distinctRenters(renters.estimate())
+                .bookedHours(bookedSeconds / SECONDS_PER_HOUR)
+                .build();
+    }
+
+    /**
+     * Applies the updates within the current transaction, creating missing buckets first.
+     */
+    public void update(final Map<StatsRollupId, Consumer<StatsRollup>> updates) {
+        final var ordered = new TreeMap<StatsRollupId, Consumer<StatsRollup>>(LOCK_ORDER);
+        ordered.putAll(updates);
+
+        ordered.forEach((id, update) -> update.accept(statsRollupRepository.findForUpdate(id)
+                .orElseGet(() -> {
+                    create(id);
+                    return statsRollupRepository.findForUpdate(id).orElseThrow();
+                })));
+    }
+
+    public static void addUpdate(final Map<StatsRollupId, Consumer<StatsRollup>> updates,
+                                 final Long itemId,
+                                 final Long ownerId,
+                                 final LocalDate day,
+                                 final Consumer<StatsRollup> update) {
+        updates.merge(new StatsRollupId(StatsScope.ITEM, itemId, day), update, Consumer::andThen);
+        updates.merge(new StatsRollupId(StatsScope.OWNER, ownerId, day), update, Consumer::andThen);
+    }
+
+    private void create(final StatsRollupId id) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (!statsRollupRepository.existsById(id)) {
+                    statsRollupRepository.saveAndFlush(new StatsRollup(id));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug(">>> STATS BUCKET CREATED CONCURRENTLY: [" + id + "]");
+        }
+    }
+}
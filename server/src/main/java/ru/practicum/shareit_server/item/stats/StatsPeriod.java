@@ -0,0 +1,17 @@
+package ru.practicum.shareit_server.item.stats;
+
+public enum StatsPeriod {
+    DAY(1),
+    WEEK(7),
+    MONTH(30);
+
+    private final int days;
+
+    StatsPeriod(final int days) {
+        this.days = days;
+    }
+
+    public int getDays() {
+        return days;
+    }
+}
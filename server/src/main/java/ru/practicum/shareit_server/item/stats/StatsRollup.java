@@ -0,0 +1,32 @@
+package ru.practicum.shareit_server.item.stats;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * One day of booking statistics for an item or for all items of an owner. Bookings, rejections and renters
+ * are counted on the day the booking was created, booked time on the day it ended.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "stats_rollup")
+public class StatsRollup {
+
+    @EmbeddedId
+    private StatsRollupId id;
+
+    private long bookings;
+    private long rejected;
+
+    @Column(name = "booked_seconds")
+    private long bookedSeconds;
+
+    private byte[] renters;
+
+    public StatsRollup(final StatsRollupId id) {
+        this.id = id;
+    }
+}
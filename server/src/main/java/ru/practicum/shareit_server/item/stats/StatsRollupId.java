@@ -0,0 +1,28 @@
+package ru.practicum.shareit_server.item.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class StatsRollupId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    private StatsScope scope;
+
+    @Column(name = "scope_id")
+    private Long scopeId;
+
+    @Column(name = "stats_day")
+    private LocalDate day;
+}
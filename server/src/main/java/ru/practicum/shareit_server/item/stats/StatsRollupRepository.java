@@ -0,0 +1,25 @@
+package ru.practicum.shareit_server.item.stats;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface StatsRollupRepository extends JpaRepository<StatsRollup, StatsRollupId> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StatsRollup r WHERE r.id = :id")
+    Optional<StatsRollup> findForUpdate(@Param("id") StatsRollupId id);
+
+    @Query("SELECT r FROM StatsRollup r " +
+            "WHERE r.id.scope = :scope AND r.id.scopeId = :scopeId AND r.id.day BETWEEN :from AND :to")
+    List<StatsRollup> findBuckets(@Param("scope") StatsScope scope,
+                                  @Param("scopeId") Long scopeId,
+                                  @Param("from") LocalDate from,
+                                  @Param("to") LocalDate to);
+}
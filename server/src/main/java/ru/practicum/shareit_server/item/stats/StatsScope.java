@@ -0,0 +1,6 @@
+package ru.practicum.shareit_server.item.stats;
+
+public enum StatsScope {
+    ITEM,
+    OWNER
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit_server.item.stats;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Bookings ending at or before the watermark have their booked time in the rollups.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "stats_watermark")
+public class StatsWatermark {
+
+    public static final String BOOKING_END = "booking_end";
+
+    @Id
+    private String name;
+
+    private LocalDateTime watermark;
+}
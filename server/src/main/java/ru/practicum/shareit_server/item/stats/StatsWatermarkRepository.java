@@ -0,0 +1,16 @@
+package ru.practicum.shareit_server.item.stats;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+public interface StatsWatermarkRepository extends JpaRepository<StatsWatermark, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM StatsWatermark w WHERE w.name = :name")
+    Optional<StatsWatermark> findForUpdate(@Param("name") String name);
+}
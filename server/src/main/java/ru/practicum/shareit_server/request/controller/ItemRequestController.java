@@ -3,9 +3,11 @@ package ru.practicum.shareit_server.request.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit_server.item.dto.ItemCreationDto;
 import ru.practicum.shareit_server.request.dto.ItemRequestCreationDto;
 import ru.practicum.shareit_server.request.dto.ItemRequestDto;
 import ru.practicum.shareit_server.request.dto.ItemRequestInfoDto;
+import ru.practicum.shareit_server.request.dto.ItemRequestPageDto;
 import ru.practicum.shareit_server.request.service.ItemRequestService;
 
 import java.util.List;
@@ -34,6 +36,14 @@ public class ItemRequestController {
         return itemRequestService.findAllWithPagination(userId, from, size);
     }
 
+    @GetMapping("/feed")
+    public ItemRequestPageDto findFeed(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                       @RequestParam(required = false) final String cursor,
+                                       @RequestParam final Integer size) {
+        log.info(">>> FIND REQUEST FEED BY USER ID: [" + userId + "] >>> CURSOR: [" + cursor + "]");
+        return itemRequestService.findFeed(userId, cursor, size);
+    }
+
     @GetMapping("/{requestId}")
     public ItemRequestInfoDto findById(@RequestHeader("X-Sharer-User-Id") final Long userId,
                                        @PathVariable final Long requestId) {
@@ -41,6 +51,14 @@ public class ItemRequestController {
         return itemRequestService.findByRequestId(userId, requestId);
     }
 
+    @GetMapping("/{requestId}/suggestions")
+    public List<ItemCreationDto> findSuggestions(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                 @PathVariable final Long requestId,
+                                                 @RequestParam(defaultValue = "10") final Integer size) {
+        log.info(">>> FIND SUGGESTIONS FOR REQUEST: [" + requestId + "] >> USER ID: [" + userId + "]");
+        return itemRequestService.findSuggestions(userId, requestId, size);
+    }
+
     @PostMapping
     public ItemRequestDto save(@RequestHeader("X-Sharer-User-Id") final Long userId,
                                @RequestBody ItemRequestCreationDto request) {
@@ -0,0 +1,36 @@
+package ru.practicum.shareit_server.request.dto;
+
+import lombok.Value;
+import ru.practicum.shareit_server.exception.IncorrectCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position in the request feed: requests are paged by {@code (created, id)} descending.
+ */
+@Value
+public class ItemRequestCursor {
+
+    LocalDateTime created;
+    Long id;
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((created + "_" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ItemRequestCursor decode(final String cursor) {
+        try {
+            final var value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final var separator = value.lastIndexOf('_');
+
+            return new ItemRequestCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IncorrectCursorException("Invalid cursor: [" + cursor + "]", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit_server.request.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ItemRequestPageDto {
+
+    private List<ItemRequestInfoDto> requests;
+    private String nextCursor;
+}
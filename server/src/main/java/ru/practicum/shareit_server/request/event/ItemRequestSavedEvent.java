@@ -0,0 +1,14 @@
+package ru.practicum.shareit_server.request.event;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class ItemRequestSavedEvent {
+
+    Long requestId;
+    Long requestorId;
+    String description;
+    LocalDateTime created;
+}
@@ -0,0 +1,288 @@
+package ru.practicum.shareit_server.request.feed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit_server.item.dto.ItemCreationDto;
+import ru.practicum.shareit_server.item.duplicate.ItemFingerprint;
+import ru.practicum.shareit_server.item.event.ItemsFingerprintedEvent;
+import ru.practicum.shareit_server.item.event.ItemsUpdatedEvent;
+import ru.practicum.shareit_server.item.mapper.ItemMapper;
+import ru.practicum.shareit_server.item.model.Item;
+import ru.practicum.shareit_server.item.repository.ItemRepository;
+import ru.practicum.shareit_server.request.dto.ItemRequestCursor;
+import ru.practicum.shareit_server.request.dto.ItemRequestInfoDto;
+import ru.practicum.shareit_server.request.event.ItemRequestSavedEvent;
+import ru.practicum.shareit_server.request.repository.ItemRequestRepository;
+import ru.practicum.shareit_server.request.repository.ItemRequestTextView;
+import ru.practicum.shareit_server.user.event.UserDeletedEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * All item requests with their items, newest first. The feed is the same for every user, so it is kept once
+ * and follows request, item and user changes; the caller's own requests are skipped while reading. Reads never
+ * touch the database.
+ */
+@Component
+@Slf4j
+public class ItemRequestFeed {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final Comparator<ItemRequestCursor> NEWEST_FIRST = Comparator
+            .comparing(ItemRequestCursor::getCreated)
+            .thenComparing(ItemRequestCursor::getId)
+            .reversed();
+
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ConcurrentNavigableMap<ItemRequestCursor, Entry> entries = new ConcurrentSkipListMap<>(NEWEST_FIRST);
+    private final Map<Long, ItemRequestCursor> positions = new ConcurrentHashMap<>();
+    private final Map<Long, Long> itemRequests = new ConcurrentHashMap<>();
+
+    public ItemRequestFeed(final ItemRepository itemRepository, final ItemRequestRepository itemRequestRepository) {
+        this.itemRepository = itemRepository;
+        this.itemRequestRepository = itemRequestRepository;
+    }
+
+    /**
+     * Requests of other users starting {@code from} entries into the feed.
+     */
+    public List<ItemRequestInfoDto> find(final Long userId, final int from, final int size) {
+        return othersRequests(entries, userId)
+                .skip(from)
+                .limit(size)
+                .map(Entry::toDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Requests of other users placed after {@code after} in the feed, or from its start.
+     */
+    public List<ItemRequestInfoDto> find(final Long userId, final ItemRequestCursor after, final int size) {
+        final var view = after == null ? entries : entries.tailMap(after, false);
+
+        return othersRequests(view, userId)
+                .limit(size)
+                .map(Entry::toDto)
+                .collect(Collectors.toList());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        entries.clear();
+        positions.clear();
+        itemRequests.clear();
+
+        var afterId = 0L;
+        List<ItemRequestTextView> batch;
+        do {
+            batch = itemRequestRepository.findTextsAfter(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            batch.forEach(request -> putRequest(request.getId(), request.getRequestorId(),
+                    request.getDescription(), request.getCreated()));
+            putItems(itemRepository.findByRequestIdIn(batch.stream()
+                    .map(ItemRequestTextView::getId)
+                    .collect(Collectors.toList())));
+            afterId = batch.isEmpty() ? afterId : batch.get(batch.size() - 1).getId();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        log.info(">>> REQUEST FEED LOADED: [" + entries.size() + "] REQUESTS >> [" + itemRequests.size() + "] ITEMS");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemRequestSaved(final ItemRequestSavedEvent event) {
+        putRequest(event.getRequestId(), event.getRequestorId(), event.getDescription(), event.getCreated());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsFingerprinted(final ItemsFingerprintedEvent event) {
+        reloadItems(event.getFingerprints().stream()
+                .map(ItemFingerprint::getItemId)
+                .collect(Collectors.toList()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsUpdated(final ItemsUpdatedEvent event) {
+        reloadItems(event.getItemIds());
+    }
+
+    /**
+     * Requests and items of a deleted user are removed by cascade, so they are dropped here as well.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(final UserDeletedEvent event) {
+        final var userId = event.getUserId();
+
+        entries.forEach((position, entry) -> {
+            if (entry.requestorId.equals(userId)) {
+                entries.remove(position);
+                positions.remove(position.getId());
+                entry.owners.keySet().forEach(itemRequests::remove);
+                return;
+            }
+
+            entry.owners.forEach((itemId, ownerId) -> {
+                if (ownerId.equals(userId)) {
+                    removeItem(itemId);
+                }
+            });
+        });
+    }
+
+    private static Stream<Entry> othersRequests(final Map<ItemRequestCursor, Entry> view, final Long userId) {
+        return view.values().stream()
+                .filter(entry -> !entry.requestorId.equals(userId));
+    }
+
+    private void putRequest(final Long requestId,
+                            final Long requestorId,
+                            final String description,
+                            final LocalDateTime created) {
+        // an item may have brought the request in before the request event arrived
+        positions.computeIfAbsent(requestId, id -> {
+            final var position = new ItemRequestCursor(created, requestId);
+            entries.put(position, new Entry(requestId, requestorId, description, created, List.of(), Map.of()));
+            return position;
+        });
+    }
+
+    private void reloadItems(final Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+
+        final var missing = new HashSet<>(itemIds);
+        final var items = itemRepository.findAllByIdIn(itemIds);
+        items.forEach(item -> missing.remove(item.getId()));
+        missing.forEach(this::removeItem);
+        putItems(items);
+    }
+
+    private void putItems(final Collection<Item> items) {
+        for (Item item : items) {
+            if (item.getRequest() == null) {
+                removeItem(item.getId());
+                continue;
+            }
+
+            final var request = item.getRequest();
+            final var previousRequestId = itemRequests.put(item.getId(), request.getId());
+            if (previousRequestId != null && !previousRequestId.equals(request.getId())) {
+                update(previousRequestId, entry -> entry.withoutItem(item.getId()));
+            }
+
+            putRequest(request.getId(), request.getRequestor().getId(), request.getDescription(), request.getCreated());
+            final var dto = ItemMapper.mapToItemCreationDto(item);
+            update(request.getId(), entry -> entry.withItem(dto, item.getOwnerId()));
+        }
+    }
+
+    private void removeItem(final Long itemId) {
+        final var requestId = itemRequests.remove(itemId);
+        if (requestId != null) {
+            update(requestId, entry -> entry.withoutItem(itemId));
+        }
+    }
+
+    private void update(final Long requestId, final UnaryOperator<Entry> update) {
+        final var position = positions.get(requestId);
+        if (position != null) {
+            entries.computeIfPresent(position, (key, entry) -> update.apply(entry));
+        }
+    }
+
+    /**
+     * Immutable feed entry; item changes replace the whole entry. Readers get copies of the items.
+     */
+    private static class Entry {
+
+        private final Long id;
+        private final Long requestorId;
+        private final String description;
+        private final LocalDateTime created;
+        private final List<ItemCreationDto> items;
+        private final Map<Long, Long> owners;
+
+        private Entry(final Long id,
+                      final Long requestorId,
+                      final String description,
+                      final LocalDateTime created,
+                      final List<ItemCreationDto> items,
+                      final Map<Long, Long> owners) {
+            this.id = id;
+            this.requestorId = requestorId;
+            this.description = description;
+            this.created = created;
+            this.items = items;
+            this.owners = owners;
+        }
+
+        private Entry withItem(final ItemCreationDto item, final Long ownerId) {
+            final var updatedItems = new ArrayList<ItemCreationDto>(items.size() + 1);
+            items.stream()
+                    .filter(existing -> !existing.getId().equals(item.getId()))
+                    .forEach(updatedItems::add);
+            updatedItems.add(item);
+            updatedItems.sort(Comparator.comparing(ItemCreationDto::getId));
+
+            final var updatedOwners = new HashMap<>(owners);
+            updatedOwners.put(item.getId(), ownerId);
+
+            return new Entry(id, requestorId, description, created, List.copyOf(updatedItems), Map.copyOf(updatedOwners));
+        }
+
+        private Entry withoutItem(final Long itemId) {
+            if (!owners.containsKey(itemId)) {
+                return this;
+            }
+
+            final var updatedOwners = new HashMap<>(owners);
+            updatedOwners.remove(itemId);
+
+            return new Entry(id, requestorId, description, created, items.stream()
+                    .filter(item -> !item.getId().equals(itemId))
+                    .collect(Collectors.toUnmodifiableList()), Map.copyOf(updatedOwners));
+        }
+
+        private ItemRequestInfoDto toDto() {
+            return ItemRequestInfoDto.builder()
+                    .id(id)
+                    .description(description)
+                    .created(created)
+                    .items(items.stream()
+                            .map(Entry::copy)
+                            .collect(Collectors.toList()))
+                    .build();
+        }
+
+        private static ItemCreationDto copy(final ItemCreationDto item) {
+            return ItemCreationDto.builder()
+                    .id(item.getId())
+                    .name(item.getName())
+                    .description(item.getDescription())
+                    .available(item.getAvailable())
+                    .requestId(item.getRequestId())
+                    .build();
+        }
+    }
+}
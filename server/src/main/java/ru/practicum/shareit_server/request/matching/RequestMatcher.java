@@ -0,0 +1,178 @@
+package ru.practicum.shareit_server.request.matching;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit_server.item.duplicate.ItemFingerprint;
+import ru.practicum.shareit_server.item.event.ItemsFingerprintedEvent;
+import ru.practicum.shareit_server.item.event.ItemsUpdatedEvent;
+import ru.practicum.shareit_server.item.repository.ItemRepository;
+import ru.practicum.shareit_server.item.repository.ItemTextView;
+import ru.practicum.shareit_server.request.event.ItemRequestSavedEvent;
+import ru.practicum.shareit_server.request.repository.ItemRequestRepository;
+import ru.practicum.shareit_server.request.repository.ItemRequestTextView;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Matches open item requests with available items by the words they share. Both sides are kept in
+ * token indexes that follow item and request saves, so a match costs a few posting scans.
+ */
+@Component
+@Slf4j
+public class RequestMatcher {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final int openDays;
+    private final TokenIndex items;
+    private final TokenIndex requests;
+    private final Map<Long, Long> itemOwners = new ConcurrentHashMap<>();
+    private final Map<Long, OpenRequest> openRequests = new ConcurrentHashMap<>();
+
+    public RequestMatcher(final ItemRepository itemRepository,
+                          final ItemRequestRepository itemRequestRepository,
+                          @Value("${shareit.requests.matching.open-days:30}") final int openDays,
+                          @Value("${shareit.requests.matching.scan-limit:50000}") final int scanLimit) {
+        this.itemRepository = itemRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.openDays = openDays;
+        this.items = new TokenIndex(scanLimit);
+        this.requests = new TokenIndex(scanLimit);
+    }
+
+    /**
+     * Available items of other users that best match the request description.
+     */
+    public List<Long> findItems(final Long requestorId, final String description, final int limit) {
+        return items.search(Tokenizer.tokenize(description), limit,
+                itemId -> !requestorId.equals(itemOwners.get(itemId)));
+    }
+
+    /**
+     * Open requests of other users that the item could satisfy.
+     */
+    public List<Long> findRequests(final Long ownerId, final String name, final String description, final int limit) {
+        final var openSince = LocalDateTime.now().minusDays(openDays);
+
+        return requests.search(Tokenizer.tokenize(name, description), limit, requestId -> {
+            final var request = openRequests.get(requestId);
+            return request != null && !request.requestorId.equals(ownerId) && !request.created.isBefore(openSince);
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        var afterId = 0L;
+        List<ItemTextView> itemBatch;
+        do {
+            itemBatch = itemRepository.findTextsAfter(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            itemBatch.forEach(this::putItem);
+            afterId = itemBatch.isEmpty() ? afterId : itemBatch.get(itemBatch.size() - 1).getId();
+        } while (itemBatch.size() == REBUILD_BATCH_SIZE);
+
+        final var openSince = LocalDateTime.now().minusDays(openDays);
+        afterId = 0L;
+        List<ItemRequestTextView> requestBatch;
+        do {
+            requestBatch = itemRequestRepository.findTextsAfter(afterId, openSince,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE));
+            requestBatch.forEach(request -> putRequest(request.getId(), request.getRequestorId(),
+                    request.getDescription(), request.getCreated()));
+            afterId = requestBatch.isEmpty() ? afterId : requestBatch.get(requestBatch.size() - 1).getId();
+        } while (requestBatch.size() == REBUILD_BATCH_SIZE);
+
+        log.info(">>> REQUEST MATCHING INDEXED: [" + items.size() + "] ITEMS >> [" + requests.size() + "] REQUESTS");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemRequestSaved(final ItemRequestSavedEvent event) {
+        putRequest(event.getRequestId(), event.getRequestorId(), event.getDescription(), event.getCreated());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsFingerprinted(final ItemsFingerprintedEvent event) {
+        reindexItems(event.getFingerprints().stream()
+                .map(ItemFingerprint::getItemId)
+                .collect(Collectors.toList()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsUpdated(final ItemsUpdatedEvent event) {
+        reindexItems(event.getItemIds());
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.requests.matching.prune-interval:3600000}")
+    public void pruneExpiredRequests() {
+        final var openSince = LocalDateTime.now().minusDays(openDays);
+
+        openRequests.entrySet().removeIf(entry -> {
+            if (!entry.getValue().created.isBefore(openSince)) {
+                return false;
+            }
+            requests.remove(entry.getKey());
+            return true;
+        });
+    }
+
+    private void reindexItems(final Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+
+        final var missing = new HashSet<>(itemIds);
+        itemRepository.findTextsByIdIn(itemIds).forEach(item -> {
+            missing.remove(item.getId());
+            putItem(item);
+        });
+        missing.forEach(this::removeItem);
+    }
+
+    private void putItem(final ItemTextView item) {
+        final var tokens = Tokenizer.tokenize(item.getName(), item.getDescription());
+        if (!Boolean.TRUE.equals(item.getAvailable()) || tokens.length == 0) {
+            removeItem(item.getId());
+            return;
+        }
+
+        itemOwners.put(item.getId(), item.getOwnerId());
+        items.put(item.getId(), tokens);
+    }
+
+    private void removeItem(final Long itemId) {
+        items.remove(itemId);
+        itemOwners.remove(itemId);
+    }
+
+    private void putRequest(final Long requestId,
+                            final Long requestorId,
+                            final String description,
+                            final LocalDateTime created) {
+        openRequests.put(requestId, new OpenRequest(requestorId, created));
+        requests.put(requestId, Tokenizer.tokenize(description));
+    }
+
+    private static class OpenRequest {
+
+        private final Long requestorId;
+        private final LocalDateTime created;
+
+        private OpenRequest(final Long requestorId, final LocalDateTime created) {
+            this.requestorId = requestorId;
+            this.created = created;
+        }
+    }
+}
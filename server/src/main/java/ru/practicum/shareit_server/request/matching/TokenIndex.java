@@ -0,0 +1,215 @@
+package ru.practicum.shareit_server.request.matching;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Inverted index of document tokens. A document scores the summed inverse document frequency of the query
+ * tokens it contains, so rare shared words dominate the ranking. Tokens are scanned rarest first, tokens
+ * common enough to exceed the scan limit are skipped once a rarer one has been scanned, and no posting is
+ * scanned past the limit.
+ */
+public class TokenIndex {
+
+    private static final Comparator<Map.Entry<Long, Double>> RANKING =
+            Map.Entry.<Long, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey());
+
+    private final int scanLimit;
+    private final Map<String, Posting> postings = new HashMap<>();
+    private final Map<Long, String[]> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public TokenIndex(final int scanLimit) {
+        this.scanLimit = scanLimit;
+    }
+
+    public void put(final long id, final String[] tokens) {
+        lock.writeLock().lock();
+        try {
+            remove(id, documents.remove(id));
+
+            final var canonical = new String[tokens.length];
+            for (int i = 0; i < tokens.length; i++) {
+                final var posting = postings.computeIfAbsent(tokens[i], Posting::new);
+                posting.add(id);
+                canonical[i] = posting.token;
+            }
+            documents.put(id, canonical);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(final long id) {
+        lock.writeLock().lock();
+        try {
+            remove(id, documents.remove(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} accepted document ids, best match first.
+     */
+    public List<Long> search(final String[] tokens, final int limit, final LongPredicate accept) {
+        final Map<Long, Double> scores = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            final var matched = Arrays.stream(tokens)
+                    .map(postings::get)
+                    .filter(posting -> posting != null && posting.size > 0)
+                    .sorted(Comparator.comparingInt(posting -> posting.size))
+                    .toArray(Posting[]::new);
+
+            for (int i = 0; i < matched.length; i++) {
+                final var posting = matched[i];
+                if (i > 0 && posting.size > scanLimit) {
+                    break;
+                }
+
+                final var idf = Math.log(1 + (double) documents.size() / posting.size);
+                final var ids = posting.ids;
+                for (int j = 0, scanned = 0; j < ids.length && scanned < scanLimit; j++) {
+                    if (ids[j] != Posting.EMPTY) {
+                        scores.merge(ids[j], idf, Double::sum);
+                        scanned++;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        final var top = new PriorityQueue<>(RANKING);
+        for (Map.Entry<Long, Double> score : scores.entrySet()) {
+            if (!accept.test(score.getKey())) {
+                continue;
+            }
+            top.add(score);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        final List<Long> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add(top.poll().getKey());
+        }
+        Collections.reverse(ids);
+
+        return ids;
+    }
+
+    private void remove(final long id, final String[] tokens) {
+        if (tokens == null) {
+            return;
+        }
+
+        for (String token : tokens) {
+            final var posting = postings.get(token);
+            posting.remove(id);
+            if (posting.size == 0) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    /**
+     * Open addressing set of document ids with linear probing. Removal shifts the following entries of the
+     * probe run back instead of leaving tombstones, so both adding and removing an id take constant time.
+     */
+    private static class Posting {
+
+        // Document ids are database ids, so this one never comes up
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private final String token;
+        private long[] ids = empty(4);
+        private int shift = Long.SIZE - 2;
+        private int size;
+
+        private Posting(final String token) {
+            this.token = token;
+        }
+
+        private void add(final long id) {
+            if (size >= ids.length - (ids.length >> 2)) {
+                resize();
+            }
+
+            int slot = slot(id);
+            while (ids[slot] != EMPTY) {
+                if (ids[slot] == id) {
+                    return;
+                }
+                slot = (slot + 1) & (ids.length - 1);
+            }
+            ids[slot] = id;
+            size++;
+        }
+
+        private void remove(final long id) {
+            final var mask = ids.length - 1;
+
+            int hole = slot(id);
+            while (ids[hole] != id) {
+                if (ids[hole] == EMPTY) {
+                    return;
+                }
+                hole = (hole + 1) & mask;
+            }
+
+            for (int i = (hole + 1) & mask; ids[i] != EMPTY; i = (i + 1) & mask) {
+                // an entry may fill the hole only if the hole lies between its home slot and its current one
+                if (((i - slot(ids[i])) & mask) >= ((i - hole) & mask)) {
+                    ids[hole] = ids[i];
+                    hole = i;
+                }
+            }
+            ids[hole] = EMPTY;
+            size--;
+        }
+
+        private int slot(final long id) {
+            return (int) ((id * 0x9E3779B97F4A7C15L) >>> shift);
+        }
+
+        private void resize() {
+            final var old = ids;
+            ids = empty(old.length * 2);
+            shift--;
+            size = 0;
+            for (long id : old) {
+                if (id != EMPTY) {
+                    add(id);
+                }
+            }
+        }
+
+        private static long[] empty(final int capacity) {
+            final var ids = new long[capacity];
+            Arrays.fill(ids, EMPTY);
+            return ids;
+        }
+    }
+}
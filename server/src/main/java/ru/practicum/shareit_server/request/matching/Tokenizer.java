@@ -0,0 +1,38 @@
+package ru.practicum.shareit_server.request.matching;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class Tokenizer {
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "any", "are", "as", "at", "be", "by", "for", "from", "have", "i", "in", "is", "it",
+            "me", "my", "need", "of", "on", "or", "please", "the", "to", "want", "with",
+            "в", "и", "на", "нужен", "нужна", "нужно", "с", "для", "по");
+
+    private Tokenizer() {
+    }
+
+    public static String[] tokenize(final String... texts) {
+        final Set<String> tokens = new LinkedHashSet<>();
+
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+
+            final var words = WORD.matcher(text.toLowerCase(Locale.ROOT));
+            while (words.find()) {
+                final var word = words.group();
+                if (word.length() > 1 && !STOP_WORDS.contains(word)) {
+                    tokens.add(word);
+                }
+            }
+        }
+
+        return tokens.toArray(String[]::new);
+    }
+}
@@ -1,16 +1,40 @@
 package ru.practicum.shareit_server.request.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit_server.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
     List<ItemRequest> findAllByRequestorId(Long requestorId, Sort sort);
 
-    Page<ItemRequest> findAllByRequestorIdNot(Long requestorId, Pageable pageable);
+    @Query(" SELECT r.id AS id, r.requestor.id AS requestorId, r.description AS description, r.created AS created " +
+            "FROM ItemRequest AS r " +
+            "WHERE r.id > :afterId " +
+            "AND r.created >= :since " +
+            "ORDER BY r.id")
+    List<ItemRequestTextView> findTextsAfter(Long afterId, LocalDateTime since, Pageable pageable);
+
+    @Query(" SELECT r.id AS id, r.requestor.id AS requestorId, r.description AS description, r.created AS created " +
+            "FROM ItemRequest AS r " +
+            "WHERE r.id > :afterId " +
+            "ORDER BY r.id")
+    List<ItemRequestTextView> findTextsAfter(Long afterId, Pageable pageable);
+
+    @Query(" SELECT r.id " +
+            "FROM ItemRequest AS r " +
+            "WHERE r.requestor.id = :userId")
+    List<Long> findIdsDeletedWithUser(Long userId, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(" DELETE FROM ItemRequest AS r " +
+            "WHERE r.id IN :ids")
+    void deleteByIds(Collection<Long> ids);
 }
@@ -0,0 +1,14 @@
+package ru.practicum.shareit_server.request.repository;
+
+import java.time.LocalDateTime;
+
+public interface ItemRequestTextView {
+
+    Long getId();
+
+    Long getRequestorId();
+
+    String getDescription();
+
+    LocalDateTime getCreated();
+}
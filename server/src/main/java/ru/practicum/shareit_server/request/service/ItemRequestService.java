@@ -1,8 +1,10 @@
 package ru.practicum.shareit_server.request.service;
 
+import ru.practicum.shareit_server.item.dto.ItemCreationDto;
 import ru.practicum.shareit_server.request.dto.ItemRequestCreationDto;
 import ru.practicum.shareit_server.request.dto.ItemRequestDto;
 import ru.practicum.shareit_server.request.dto.ItemRequestInfoDto;
+import ru.practicum.shareit_server.request.dto.ItemRequestPageDto;
 
 import java.util.List;
 
@@ -14,5 +16,9 @@ public interface ItemRequestService {
 
     List<ItemRequestInfoDto> findAllWithPagination(Long userId, Integer from, Integer size);
 
+    ItemRequestPageDto findFeed(Long userId, String cursor, Integer size);
+
+    List<ItemCreationDto> findSuggestions(Long userId, Long requestId, Integer size);
+
     ItemRequestDto save(Long userId, ItemRequestCreationDto request);
 }
@@ -1,23 +1,32 @@
 package ru.practicum.shareit_server.request.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit_server.exception.NotFoundException;
 import ru.practicum.shareit_server.item.dto.ItemCreationDto;
 import ru.practicum.shareit_server.item.mapper.ItemMapper;
+import ru.practicum.shareit_server.item.model.Item;
 import ru.practicum.shareit_server.item.repository.ItemRepository;
 import ru.practicum.shareit_server.request.dto.ItemRequestCreationDto;
 import ru.practicum.shareit_server.request.dto.ItemRequestDto;
+import ru.practicum.shareit_server.request.dto.ItemRequestCursor;
 import ru.practicum.shareit_server.request.dto.ItemRequestInfoDto;
+import ru.practicum.shareit_server.request.dto.ItemRequestPageDto;
+import ru.practicum.shareit_server.request.event.ItemRequestSavedEvent;
+import ru.practicum.shareit_server.request.feed.ItemRequestFeed;
 import ru.practicum.shareit_server.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit_server.request.matching.RequestMatcher;
 import ru.practicum.shareit_server.request.repository.ItemRequestRepository;
-import ru.practicum.shareit_server.user.repository.UserRepository;
+import ru.practicum.shareit_server.user.cache.UserDirectory;
+import ru.practicum.shareit_server.user.mapper.UserMapper;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit_server.request.mapper.ItemRequestMapper.*;
@@ -28,12 +37,15 @@ import static ru.practicum.shareit_server.request.mapper.ItemRequestMapper.*;
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
-    private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
     private final ItemRepository itemRepository;
+    private final RequestMatcher requestMatcher;
+    private final ItemRequestFeed itemRequestFeed;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<ItemRequestInfoDto> findAllByUserId(final Long userId) {
-        userRepository.findById(userId)
+        userDirectory.find(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
         final var requests = itemRequestRepository.findAllByRequestorId(userId,
@@ -52,7 +64,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public ItemRequestInfoDto findByRequestId(final Long userId, final Long requestId) {
-        userRepository.findById(userId)
+        userDirectory.find(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
         final var request = mapToItemRequestInfo(itemRequestRepository.findById(requestId)
@@ -67,42 +79,68 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestInfoDto> findAllWithPagination(Long userId, Integer from, Integer size) {
-        userRepository.findById(userId)
+        userDirectory.find(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
-        final var pageable = PageRequest.of(from / size, size, Sort.by("created").descending());
-        final var requests = itemRequestRepository.findAllByRequestorIdNot(userId, pageable).stream()
-                .map(ItemRequestMapper::mapToItemRequestInfo)
-                .collect(Collectors.toList());
-        final var requestIds = requests.stream()
-                .map(ItemRequestInfoDto::getId)
-                .collect(Collectors.toList());
-        final var items = itemRepository.findByRequestIdIn(requestIds).stream()
+        return itemRequestFeed.find(userId, from, size);
+    }
+
+    @Override
+    public ItemRequestPageDto findFeed(final Long userId, final String cursor, final Integer size) {
+        userDirectory.find(userId)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+
+        final var after = cursor != null ? ItemRequestCursor.decode(cursor) : null;
+        final var requests = itemRequestFeed.find(userId, after, size + 1);
+        final var hasNext = requests.size() > size;
+        final var page = hasNext ? requests.subList(0, size) : requests;
+        final var last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return ItemRequestPageDto.builder()
+                .requests(page)
+                .nextCursor(hasNext ? new ItemRequestCursor(last.getCreated(), last.getId()).encode() : null)
+                .build();
+    }
+
+    @Override
+    public List<ItemCreationDto> findSuggestions(final Long userId, final Long requestId, final Integer size) {
+        userDirectory.find(userId)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+
+        final var request = itemRequestRepository.findById(requestId)
+                .orElseThrow(() -> new NotFoundException("Request not found"));
+        final var itemIds = requestMatcher.findItems(request.getRequestor().getId(), request.getDescription(), size);
+        final var items = itemRepository.findAllById(itemIds).stream()
+                .filter(Item::getAvailable)
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
                 .map(ItemMapper::mapToItemCreationDto)
                 .collect(Collectors.toList());
-
-        return setItems(requests, items);
     }
 
     @Transactional
     @Override
     public ItemRequestDto save(Long userId, ItemRequestCreationDto request) {
         final var currentTime = LocalDateTime.now();
-        final var user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
-        final var itemRequest = mapToItemRequest(user, currentTime, request);
+        final var user = UserMapper.mapToUser(userDirectory.find(userId)
+                .orElseThrow(() -> new NotFoundException("User not found")));
+        final var itemRequest = itemRequestRepository.save(mapToItemRequest(user, currentTime, request));
+        eventPublisher.publishEvent(new ItemRequestSavedEvent(itemRequest.getId(), userId,
+                itemRequest.getDescription(), itemRequest.getCreated()));
 
-        return mapToItemRequestDto(itemRequestRepository.save(itemRequest));
+        return mapToItemRequestDto(itemRequest);
     }
 
     private List<ItemRequestInfoDto> setItems(final List<ItemRequestInfoDto> requests,
                                               final List<ItemCreationDto> items) {
-        for (ItemRequestInfoDto request : requests) {
-            final var requestItems = items.stream()
-                    .filter(item -> item.getRequestId().equals(request.getId()))
-                    .collect(Collectors.toList());
+        final var itemsByRequestId = items.stream()
+                .collect(Collectors.groupingBy(ItemCreationDto::getRequestId));
 
-            request.setItems(requestItems);
+        for (ItemRequestInfoDto request : requests) {
+            request.setItems(itemsByRequestId.getOrDefault(request.getId(), List.of()));
         }
 
         return requests;
@@ -0,0 +1,112 @@
+package ru.practicum.shareit_server.user.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit_server.exception.NotFoundException;
+import ru.practicum.shareit_server.user.dto.UserDto;
+import ru.practicum.shareit_server.user.event.UserDeletedEvent;
+import ru.practicum.shareit_server.user.event.UserSavedEvent;
+import ru.practicum.shareit_server.user.mapper.UserMapper;
+import ru.practicum.shareit_server.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Users behind the {@code X-Sharer-User-Id} checks that start almost every request. Unknown ids are cached as well,
+ * for a shorter time, so repeated requests with a missing user do not reach the database either.
+ */
+@Component
+public class UserDirectory {
+
+    private final boolean enabled;
+    private final UserRepository userRepository;
+    private final LoadingCache<Long, Optional<UserDto>> cache;
+
+    public UserDirectory(@Value("${shareit.users.directory.enabled:true}") final boolean enabled,
+                         @Value("${shareit.users.directory.max-size:100000}") final long maxSize,
+                         @Value("${shareit.users.directory.ttl:600000}") final long ttlMillis,
+                         @Value("${shareit.users.directory.negative-ttl:60000}") final long negativeTtlMillis,
+                         final UserRepository userRepository,
+                         final MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new PresenceExpiry(Duration.ofMillis(ttlMillis), Duration.ofMillis(negativeTtlMillis)))
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users.directory");
+    }
+
+    public Optional<UserDto> find(final Long userId) {
+        return (enabled ? cache.get(userId) : load(userId))
+                .map(UserDirectory::copy);
+    }
+
+    public UserDto get(final Long userId) {
+        return find(userId)
+                .orElseThrow(() -> new NotFoundException("User does not exist"));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSaved(final UserSavedEvent event) {
+        cache.invalidate(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(final UserDeletedEvent event) {
+        cache.invalidate(event.getUserId());
+    }
+
+    private Optional<UserDto> load(final Long userId) {
+        return userRepository.findById(userId)
+                .map(UserMapper::mapToUserDto);
+    }
+
+    private static UserDto copy(final UserDto user) {
+        return UserDto.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .build();
+    }
+
+    private static class PresenceExpiry implements Expiry<Long, Optional<UserDto>> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        private PresenceExpiry(final Duration ttl, final Duration negativeTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(final Long userId, final Optional<UserDto> user, final long currentTime) {
+            return user.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(final Long userId,
+                                      final Optional<UserDto> user,
+                                      final long currentTime,
+                                      final long currentDuration) {
+            return expireAfterCreate(userId, user, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final Long userId,
+                                    final Optional<UserDto> user,
+                                    final long currentTime,
+                                    final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,11 +1,21 @@
 package ru.practicum.shareit_server.user.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit_server.user.dto.UserDeletionDto;
 import ru.practicum.shareit_server.user.dto.UserDto;
 import ru.practicum.shareit_server.user.service.UserService;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -15,6 +25,13 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/batch")
+    public List<UserDto> findByIds(@RequestParam final List<Long> ids) {
+        log.info(">>FIND USERS BY IDS: " + ids);
+        return userService.findByIds(ids);
+    }
 
     @GetMapping("/{id}")
     public UserDto findById(@PathVariable final Long id) {
@@ -22,10 +39,26 @@ public class UserController {
         return userService.findById(id);
     }
 
+    @GetMapping(params = "size")
+    public List<UserDto> findPage(@RequestParam(defaultValue = "0") final Long afterId,
+                                  @RequestParam final Integer size) {
+        log.info(">>FIND USERS AFTER ID: [" + afterId + "] SIZE: [" + size + "]");
+        return userService.findPage(afterId, size);
+    }
+
+    /**
+     * Every user, written as it is read from the database: a JSON array, or one user per line
+     * when {@code application/x-ndjson} is accepted.
+     */
     @GetMapping
-    public List<UserDto> findAll() {
+    public ResponseEntity<StreamingResponseBody> findAll(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept) {
         log.info(">>FIND ALL USERS");
-        return userService.findAll();
+        final var ndjson = accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE);
+
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(out -> writeUsers(out, ndjson));
     }
 
     @PostMapping
@@ -45,4 +78,35 @@ public class UserController {
         log.info(">>DELETE USER BY ID: [" + id + "]");
         userService.deleteById(id);
     }
+
+    @GetMapping("/{id}/deletion")
+    public UserDeletionDto findDeletion(@PathVariable final Long id) {
+        log.info(">>FIND USER DELETION BY ID: [" + id + "]");
+        return userService.findDeletion(id);
+    }
+
+    private void writeUsers(final OutputStream out, final boolean ndjson) throws IOException {
+        try (var generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            if (!ndjson) {
+                generator.writeStartArray();
+            }
+
+            userService.streamAll(user -> {
+                try {
+                    generator.writeObject(user);
+                    if (ndjson) {
+                        generator.writeRaw('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        }
+    }
 }
@@ -0,0 +1,183 @@
+package ru.practicum.shareit_server.user.deletion;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit_server.booking.repository.BookingRepository;
+import ru.practicum.shareit_server.item.event.CommentsDeletedEvent;
+import ru.practicum.shareit_server.item.event.ItemsDeletedEvent;
+import ru.practicum.shareit_server.item.event.ItemsUpdatedEvent;
+import ru.practicum.shareit_server.item.repository.CommentRepository;
+import ru.practicum.shareit_server.item.repository.ItemRepository;
+import ru.practicum.shareit_server.item.service.ItemBookingsRefresher;
+import ru.practicum.shareit_server.request.repository.ItemRequestRepository;
+import ru.practicum.shareit_server.user.event.UserDeletedEvent;
+import ru.practicum.shareit_server.user.model.UserDeletion;
+import ru.practicum.shareit_server.user.model.UserDeletionStatus;
+import ru.practicum.shareit_server.user.repository.UserDeletionRepository;
+import ru.practicum.shareit_server.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Removes what a deleted user leaves behind in chunks, each in its own short transaction, instead of one cascading
+ * delete that locks large parts of the item, booking, comment and request tables. Comments and bookings go first,
+ * then items and requests, and the user row last, so no chunk relies on the cascade. Deletions run one at a time in
+ * the background; unfinished ones, e.g. after a restart, are picked up again by {@link #resume()}. Items of other
+ * users that lose comments or bookings get their comment count and last/next bookings recomputed in the same chunk.
+ */
+@Component
+@Slf4j
+public class UserDeletionJob implements DisposableBean {
+
+    private final UserRepository userRepository;
+    private final UserDeletionRepository userDeletionRepository;
+    private final CommentRepository commentRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemBookingsRefresher itemBookingsRefresher;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("user-deletion-"));
+    private final Set<Long> scheduled = ConcurrentHashMap.newKeySet();
+
+    public UserDeletionJob(@Value("${shareit.users.deletion.chunk-size:500}") final int chunkSize,
+                           final UserRepository userRepository,
+                           final UserDeletionRepository userDeletionRepository,
+                           final CommentRepository commentRepository,
+                           final BookingRepository bookingRepository,
+                           final ItemRepository itemRepository,
+                           final ItemRequestRepository itemRequestRepository,
+                           final ItemBookingsRefresher itemBookingsRefresher,
+                           final TransactionTemplate transactionTemplate,
+                           final ApplicationEventPublisher eventPublisher) {
+        this.chunkSize = chunkSize;
+        this.userRepository = userRepository;
+        this.userDeletionRepository = userDeletionRepository;
+        this.commentRepository = commentRepository;
+        this.bookingRepository = bookingRepository;
+        this.itemRepository = itemRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.itemBookingsRefresher = itemBookingsRefresher;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(final UserDeletedEvent event) {
+        submit(event.getUserId());
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.users.deletion.resume-interval:60000}")
+    public void resume() {
+        userDeletionRepository.findByStatus(UserDeletionStatus.IN_PROGRESS)
+                .forEach(deletion -> submit(deletion.getUserId()));
+    }
+
+    /**
+     * Deletes everything of a tombstoned user in the calling thread.
+     */
+    public void run(final Long userId) {
+        deleteInChunks(userId, commentRepository::findIdsDeletedWithUser, this::deleteComments,
+                (deletion, count) -> deletion.setComments(deletion.getComments() + count));
+        deleteInChunks(userId, bookingRepository::findIdsDeletedWithUser, this::deleteBookings,
+                (deletion, count) -> deletion.setBookings(deletion.getBookings() + count));
+        deleteInChunks(userId, itemRepository::findIdsDeletedWithUser, itemIds -> {
+            itemRepository.deleteByIds(itemIds);
+            eventPublisher.publishEvent(new ItemsUpdatedEvent(itemIds));
+            eventPublisher.publishEvent(new ItemsDeletedEvent(itemIds));
+        }, (deletion, count) -> deletion.setItems(deletion.getItems() + count));
+        deleteInChunks(userId, itemRequestRepository::findIdsDeletedWithUser, itemRequestRepository::deleteByIds,
+                (deletion, count) -> deletion.setRequests(deletion.getRequests() + count));
+
+        final var deletion = transactionTemplate.execute(status -> {
+            userRepository.deleteTombstone(userId);
+            return userDeletionRepository.findById(userId)
+                    .map(progress -> {
+                        progress.setStatus(UserDeletionStatus.DONE);
+                        progress.setFinished(LocalDateTime.now());
+                        return progress;
+                    })
+                    .orElse(null);
+        });
+
+        if (deletion != null) {
+            log.info(">>> USER DELETED: [" + userId + "] >> COMMENTS: [" + deletion.getComments() + "] >> BOOKINGS: ["
+                    + deletion.getBookings() + "] >> ITEMS: [" + deletion.getItems() + "] >> REQUESTS: ["
+                    + deletion.getRequests() + "]");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private void submit(final Long userId) {
+        if (!scheduled.add(userId)) {
+            return;
+        }
+
+        executor.execute(() -> {
+            try {
+                run(userId);
+            } catch (RuntimeException e) {
+                log.warn(">>> USER DELETION FAILED: [" + userId + "], WILL BE RESUMED", e);
+            } finally {
+                scheduled.remove(userId);
+            }
+        });
+    }
+
+    private void deleteComments(final List<Long> commentIds) {
+        final var itemIds = commentRepository.findItemIdsByIds(commentIds);
+        commentRepository.deleteByIds(commentIds);
+        itemRepository.recountComments(itemIds);
+        eventPublisher.publishEvent(new CommentsDeletedEvent(itemIds));
+    }
+
+    private void deleteBookings(final List<Long> bookingIds) {
+        final var itemIds = bookingRepository.findItemIdsByIds(bookingIds);
+        bookingRepository.deleteByIds(bookingIds);
+        itemBookingsRefresher.refresh(itemRepository.findAllById(itemIds), LocalDateTime.now());
+        eventPublisher.publishEvent(new ItemsUpdatedEvent(itemIds));
+    }
+
+    private void deleteInChunks(final Long userId,
+                                final BiFunction<Long, Pageable, List<Long>> findIds,
+                                final Consumer<List<Long>> delete,
+                                final BiConsumer<UserDeletion, Integer> progress) {
+        int deleted;
+        do {
+            deleted = Objects.requireNonNull(transactionTemplate.execute(status -> {
+                final var ids = findIds.apply(userId, PageRequest.of(0, chunkSize));
+                if (!ids.isEmpty()) {
+                    delete.accept(ids);
+                    userDeletionRepository.findById(userId)
+                            .ifPresent(deletion -> progress.accept(deletion, ids.size()));
+                }
+                return ids.size();
+            }));
+        } while (deleted == chunkSize);
+    }
+}
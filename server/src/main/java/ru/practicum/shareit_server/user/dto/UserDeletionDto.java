@@ -0,0 +1,21 @@
+package ru.practicum.shareit_server.user.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit_server.user.model.UserDeletionStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class UserDeletionDto {
+
+    private Long userId;
+    private UserDeletionStatus status;
+    private LocalDateTime requested;
+    private LocalDateTime finished;
+    private long comments;
+    private long bookings;
+    private long items;
+    private long requests;
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit_server.user.email;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter of strings sized for an expected number of entries and false-positive rate.
+ * Probe positions come from double hashing of a single 64-bit hash.
+ */
+public class BloomFilter {
+
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final AtomicLong bitsSet = new AtomicLong();
+
+    public BloomFilter(final long expectedEntries, final double falsePositiveRate) {
+        final var entries = Math.max(1, expectedEntries);
+        final var optimalBits = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+
+        this.words = new AtomicLongArray((int) Math.max(1, (optimalBits + Long.SIZE - 1) / Long.SIZE));
+        this.bits = (long) words.length() * Long.SIZE;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / entries * Math.log(2)));
+    }
+
+    public void put(final String value) {
+        final var hash = hash(value);
+        final var step = (hash >>> 32) | 1;
+
+        for (int i = 0; i < hashes; i++) {
+            set(Math.floorMod(hash + i * step, bits));
+        }
+    }
+
+    public boolean mightContain(final String value) {
+        final var hash = hash(value);
+        final var step = (hash >>> 32) | 1;
+
+        for (int i = 0; i < hashes; i++) {
+            final var bit = Math.floorMod(hash + i * step, bits);
+            if ((words.get((int) (bit >>> 6)) & 1L << bit) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Chance that an absent value is reported as present, given the bits set so far.
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) bitsSet.get() / bits, hashes);
+    }
+
+    public long bitSize() {
+        return bits;
+    }
+
+    public int hashCount() {
+        return hashes;
+    }
+
+    private void set(final long bit) {
+        final var index = (int) (bit >>> 6);
+        final var mask = 1L << bit;
+
+        long word;
+        do {
+            word = words.get(index);
+            if ((word & mask) != 0) {
+                return;
+            }
+        } while (!words.compareAndSet(index, word, word | mask));
+
+        bitsSet.incrementAndGet();
+    }
+
+    private static long hash(final String value) {
+        var hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+
+        return hash ^ (hash >>> 33);
+    }
+}
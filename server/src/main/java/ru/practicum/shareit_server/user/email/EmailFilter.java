@@ -0,0 +1,171 @@
+package ru.practicum.shareit_server.user.email;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit_server.user.event.UserDeletedEvent;
+import ru.practicum.shareit_server.user.repository.UserEmailView;
+import ru.practicum.shareit_server.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bloom filter of every registered email, so uniqueness checks for new emails skip the database. Emails that go
+ * away stay in the filter as stale bits and are dropped by a periodic rebuild; the unique constraint remains the
+ * final word for the rare save racing with a rebuild.
+ */
+@Component
+@Slf4j
+public class EmailFilter {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final boolean enabled;
+    private final UserRepository userRepository;
+    private final long expectedEmails;
+    private final double falsePositiveRate;
+    private final double maxStaleRatio;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong emails = new AtomicLong();
+    private final AtomicLong staleEmails = new AtomicLong();
+    private final Counter negatives;
+    private final Counter positives;
+    private final Counter falsePositives;
+    private volatile BloomFilter filter;
+    private BloomFilter building;
+
+    public EmailFilter(@Value("${shareit.users.email-filter.enabled:true}") final boolean enabled,
+                       @Value("${shareit.users.email-filter.expected-emails:1000000}") final long expectedEmails,
+                       @Value("${shareit.users.email-filter.false-positive-rate:0.01}") final double falsePositiveRate,
+                       @Value("${shareit.users.email-filter.max-stale-ratio:0.1}") final double maxStaleRatio,
+                       final UserRepository userRepository,
+                       final MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.userRepository = userRepository;
+        this.expectedEmails = expectedEmails;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxStaleRatio = maxStaleRatio;
+        this.filter = new BloomFilter(expectedEmails, falsePositiveRate);
+        this.negatives = checks(meterRegistry, "negative");
+        this.positives = checks(meterRegistry, "positive");
+        this.falsePositives = checks(meterRegistry, "false_positive");
+        Gauge.builder("users.email.filter.false-positive-rate", this, EmailFilter::expectedFalsePositiveRate)
+                .register(meterRegistry);
+        Gauge.builder("users.email.filter.configured-false-positive-rate", () -> falsePositiveRate)
+                .register(meterRegistry);
+    }
+
+    /**
+     * {@code false} means no user has the email; {@code true} means the database has to be asked.
+     */
+    public boolean mightExist(final String email) {
+        if (!enabled || filter.mightContain(email)) {
+            positives.increment();
+            return true;
+        }
+
+        negatives.increment();
+        return false;
+    }
+
+    /**
+     * Reports that the database did not know an email the filter could not rule out.
+     */
+    public void falsePositive() {
+        falsePositives.increment();
+    }
+
+    public void put(final String email) {
+        lock.readLock().lock();
+        try {
+            filter.put(email);
+            if (building != null) {
+                building.put(email);
+            }
+            emails.incrementAndGet();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reports that a registered email went away; its bits stay set until the next rebuild.
+     */
+    public void markStale() {
+        staleEmails.incrementAndGet();
+    }
+
+    public double expectedFalsePositiveRate() {
+        return filter.expectedFalsePositiveRate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(final UserDeletedEvent event) {
+        markStale();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        final var next = new BloomFilter(Math.max(expectedEmails, 2 * emails.get()), falsePositiveRate);
+        lock.writeLock().lock();
+        try {
+            building = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        var loaded = 0L;
+        var afterId = 0L;
+        List<UserEmailView> batch;
+        do {
+            batch = userRepository.findEmailsAfter(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            batch.forEach(user -> next.put(user.getEmail()));
+            loaded += batch.size();
+            afterId = batch.isEmpty() ? afterId : batch.get(batch.size() - 1).getId();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            filter = next;
+            building = null;
+            emails.set(loaded);
+            staleEmails.set(0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info(">>> EMAIL FILTER LOADED: [" + loaded + "] EMAILS >> [" + next.bitSize() + "] BITS >> ["
+                + next.hashCount() + "] HASHES");
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.users.email-filter.check-interval:600000}")
+    public void rebuildIfStale() {
+        final var tooStale = staleEmails.get() > emails.get() * maxStaleRatio;
+        final var overfilled = emails.get() > expectedEmails && expectedFalsePositiveRate() > falsePositiveRate;
+
+        if (tooStale || overfilled) {
+            rebuild();
+        }
+    }
+
+    private static Counter checks(final MeterRegistry meterRegistry, final String result) {
+        return Counter.builder("users.email.filter.checks")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit_server.user.event;
+
+import lombok.Value;
+
+@Value
+public class UserDeletedEvent {
+
+    Long userId;
+}
@@ -1,8 +1,10 @@
 package ru.practicum.shareit_server.user.mapper;
 
+import ru.practicum.shareit_server.user.dto.UserDeletionDto;
 import ru.practicum.shareit_server.user.dto.UserDto;
 import ru.practicum.shareit_server.user.dto.UserShortDto;
 import ru.practicum.shareit_server.user.model.User;
+import ru.practicum.shareit_server.user.model.UserDeletion;
 
 public class UserMapper {
 
@@ -25,4 +27,17 @@ public class UserMapper {
                 .email(userDto.getEmail())
                 .build();
     }
+
+    public static UserDeletionDto mapToUserDeletionDto(final UserDeletion userDeletion) {
+        return UserDeletionDto.builder()
+                .userId(userDeletion.getUserId())
+                .status(userDeletion.getStatus())
+                .requested(userDeletion.getRequested())
+                .finished(userDeletion.getFinished())
+                .comments(userDeletion.getComments())
+                .bookings(userDeletion.getBookings())
+                .items(userDeletion.getItems())
+                .requests(userDeletion.getRequests())
+                .build();
+    }
 }
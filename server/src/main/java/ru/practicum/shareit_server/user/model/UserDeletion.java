@@ -0,0 +1,35 @@
+package ru.practicum.shareit_server.user.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a user deletion; the counters hold the rows removed so far.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "user_deletion")
+public class UserDeletion {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    private UserDeletionStatus status;
+
+    private LocalDateTime requested;
+    private LocalDateTime finished;
+    private long comments;
+    private long bookings;
+    private long items;
+    private long requests;
+}
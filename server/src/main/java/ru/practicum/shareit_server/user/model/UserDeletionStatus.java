@@ -0,0 +1,6 @@
+package ru.practicum.shareit_server.user.model;
+
+public enum UserDeletionStatus {
+    IN_PROGRESS,
+    DONE
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit_server.user.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.shareit_server.user.model.UserDeletion;
+import ru.practicum.shareit_server.user.model.UserDeletionStatus;
+
+import java.util.List;
+
+public interface UserDeletionRepository extends JpaRepository<UserDeletion, Long> {
+
+    List<UserDeletion> findByStatus(UserDeletionStatus status);
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit_server.user.repository;
+
+public interface UserEmailView {
+
+    Long getId();
+
+    String getEmail();
+}
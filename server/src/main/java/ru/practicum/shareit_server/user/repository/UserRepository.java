@@ -1,11 +1,55 @@
 package ru.practicum.shareit_server.user.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit_server.user.model.User;
 
+import javax.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Also finds users being deleted: their email stays taken until the deletion is done.
+     */
+    @Query(value = " SELECT * " +
+            "FROM users AS u " +
+            "WHERE u.email = :email", nativeQuery = true)
     Optional<User> findByEmail(String email);
+
+    /**
+     * Removes the row of a deleted user, which JPA no longer sees.
+     */
+    @Modifying
+    @Query(value = " DELETE FROM users " +
+            "WHERE user_id = :id " +
+            "AND deleted = true", nativeQuery = true)
+    void deleteTombstone(Long id);
+
+    /**
+     * Also lists users being deleted, like {@link #findByEmail(String)}, so their emails stay in the email filter.
+     */
+    @Query(value = " SELECT u.user_id AS id, u.email AS email " +
+            "FROM users AS u " +
+            "WHERE u.user_id > :afterId " +
+            "ORDER BY u.user_id", nativeQuery = true)
+    List<UserEmailView> findEmailsAfter(Long afterId, Pageable pageable);
+
+    List<User> findByIdGreaterThan(Long afterId, Pageable pageable);
+
+    /**
+     * All users in id order read through a database cursor; has to be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query(" SELECT u.id AS id, u.name AS name, u.email AS email " +
+            "FROM User AS u " +
+            "ORDER BY u.id")
+    Stream<UserView> streamAll();
 }
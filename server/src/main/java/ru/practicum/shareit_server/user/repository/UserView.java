@@ -0,0 +1,10 @@
+package ru.practicum.shareit_server.user.repository;
+
+public interface UserView {
+
+    Long getId();
+
+    String getName();
+
+    String getEmail();
+}
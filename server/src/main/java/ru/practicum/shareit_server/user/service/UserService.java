@@ -1,18 +1,26 @@
 package ru.practicum.shareit_server.user.service;
 
+import ru.practicum.shareit_server.user.dto.UserDeletionDto;
 import ru.practicum.shareit_server.user.dto.UserDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
 
     UserDto findById(Long id);
 
-    List<UserDto> findAll();
+    List<UserDto> findByIds(List<Long> ids);
+
+    List<UserDto> findPage(Long afterId, Integer size);
+
+    void streamAll(Consumer<UserDto> action);
 
     UserDto save(UserDto userDto);
 
     UserDto update(Long id, UserDto userDto);
 
     void deleteById(Long id);
+
+    UserDeletionDto findDeletion(Long id);
 }
@@ -1,15 +1,30 @@
 package ru.practicum.shareit_server.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit_server.exception.AlreadyExistsException;
 import ru.practicum.shareit_server.exception.NotFoundException;
+import ru.practicum.shareit_server.user.dto.UserDeletionDto;
 import ru.practicum.shareit_server.user.dto.UserDto;
+import ru.practicum.shareit_server.user.email.EmailFilter;
+import ru.practicum.shareit_server.user.event.UserDeletedEvent;
+import ru.practicum.shareit_server.user.event.UserSavedEvent;
 import ru.practicum.shareit_server.user.mapper.UserMapper;
+import ru.practicum.shareit_server.user.model.User;
+import ru.practicum.shareit_server.user.model.UserDeletion;
+import ru.practicum.shareit_server.user.model.UserDeletionStatus;
+import ru.practicum.shareit_server.user.repository.UserDeletionRepository;
 import ru.practicum.shareit_server.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,6 +33,9 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final UserDeletionRepository userDeletionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmailFilter emailFilter;
 
     @Override
     public UserDto findById(final Long id) {
@@ -26,16 +44,47 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<UserDto> findAll() {
-        return userRepository.findAll().stream()
+    public List<UserDto> findByIds(final List<Long> ids) {
+        final var usersById = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return ids.stream()
+                .distinct()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
                 .map(UserMapper::mapToUserDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<UserDto> findPage(final Long afterId, final Integer size) {
+        return userRepository.findByIdGreaterThan(afterId, PageRequest.of(0, size, Sort.by("id"))).stream()
+                .map(UserMapper::mapToUserDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void streamAll(final Consumer<UserDto> action) {
+        try (var users = userRepository.streamAll()) {
+            users.map(user -> UserDto.builder()
+                            .id(user.getId())
+                            .name(user.getName())
+                            .email(user.getEmail())
+                            .build())
+                    .forEach(action);
+        }
+    }
+
     @Transactional
     @Override
     public UserDto save(final UserDto userDto) {
-        return UserMapper.mapToUserDto(userRepository.save(UserMapper.mapToUser(userDto)));
+        checkEmailIsFree(userDto.getEmail());
+
+        final var user = userRepository.save(UserMapper.mapToUser(userDto));
+        emailFilter.put(user.getEmail());
+        eventPublisher.publishEvent(new UserSavedEvent(user.getId()));
+
+        return UserMapper.mapToUserDto(user);
     }
 
     @Transactional
@@ -44,24 +93,61 @@ public class UserServiceImpl implements UserService {
         final var user = userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("User does not exist"));
 
-        if (userRepository.findByEmail(userDto.getEmail()).isPresent()) {
-            throw new AlreadyExistsException("Email already exists");
-        }
+        checkEmailIsFree(userDto.getEmail());
 
         if (userDto.getName() != null && !userDto.getName().isEmpty()) {
             user.setName(userDto.getName());
         }
 
         if (userDto.getEmail() != null && !userDto.getEmail().isEmpty()) {
+            emailFilter.markStale();
+            emailFilter.put(userDto.getEmail());
             user.setEmail(userDto.getEmail());
         }
 
-        return UserMapper.mapToUserDto(userRepository.save(user));
+        final var updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserSavedEvent(id));
+
+        return UserMapper.mapToUserDto(updatedUser);
     }
 
+    /**
+     * Only tombstones the user; {@link ru.practicum.shareit_server.user.deletion.UserDeletionJob} removes their rows
+     * once the tombstone is committed.
+     */
     @Transactional
     @Override
     public void deleteById(final Long id) {
-        userRepository.deleteById(id);
+        final var user = userRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("User does not exist"));
+
+        user.setDeleted(true);
+        userRepository.save(user);
+        userDeletionRepository.save(UserDeletion.builder()
+                .userId(id)
+                .status(UserDeletionStatus.IN_PROGRESS)
+                .requested(LocalDateTime.now())
+                .build());
+        eventPublisher.publishEvent(new UserDeletedEvent(id));
+    }
+
+    @Override
+    public UserDeletionDto findDeletion(final Long id) {
+        return UserMapper.mapToUserDeletionDto(userDeletionRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("User deletion does not exist")));
+    }
+
+    /**
+     * Only emails the filter cannot rule out are looked up; the rest are known to be free.
+     */
+    private void checkEmailIsFree(final String email) {
+        if (email == null || !emailFilter.mightExist(email)) {
+            return;
+        }
+
+        if (userRepository.findByEmail(email).isPresent()) {
+            throw new AlreadyExistsException("Email already exists");
+        }
+        emailFilter.falsePositive();
     }
 }
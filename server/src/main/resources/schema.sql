@@ -3,19 +3,34 @@ DROP TABLE IF EXISTS request CASCADE;
 DROP TABLE IF EXISTS item CASCADE;
 DROP TABLE IF EXISTS booking CASCADE;
 DROP TABLE IF EXISTS comment CASCADE;
+DROP TABLE IF EXISTS stats_rollup CASCADE;
+DROP TABLE IF EXISTS stats_watermark CASCADE;
+DROP TABLE IF EXISTS user_deletion CASCADE;
+DROP SEQUENCE IF EXISTS users_seq;
+DROP SEQUENCE IF EXISTS request_seq;
+DROP SEQUENCE IF EXISTS item_seq;
+DROP SEQUENCE IF EXISTS booking_seq;
+DROP SEQUENCE IF EXISTS comment_seq;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS request_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS item_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS booking_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comment_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS users
 (
-    user_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    user_id BIGINT DEFAULT nextval('users_seq')     NOT NULL,
     name    VARCHAR(255)                            NOT NULL,
     email   varchar(512)                            NOT NULL,
+    deleted BOOLEAN DEFAULT FALSE                   NOT NULL,
     CONSTRAINT pk_user_id PRIMARY KEY (user_id),
     CONSTRAINT uq_user_email UNIQUE (email)
 );
 
 CREATE TABLE IF NOT EXISTS request
 (
-    request_id   BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    request_id BIGINT DEFAULT nextval('request_seq')     NOT NULL,
     description  TEXT                                    NOT NULL,
     created      TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
     requestor_id BIGINT                                  NOT NULL,
@@ -25,12 +40,18 @@ CREATE TABLE IF NOT EXISTS request
 
 CREATE TABLE IF NOT EXISTS item
 (
-    item_id     BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
-    owner_id    BIGINT                                  NOT NULL,
-    request_id  BIGINT,
-    name        VARCHAR(255)                            NOT NULL,
-    description TEXT                                    NOT NULL,
-    available   BOOLEAN                                 NOT NULL,
+    item_id BIGINT DEFAULT nextval('item_seq')                NOT NULL,
+    owner_id          BIGINT                                  NOT NULL,
+    request_id        BIGINT,
+    name              VARCHAR(255)                            NOT NULL,
+    description       TEXT                                    NOT NULL,
+    available         BOOLEAN                                 NOT NULL,
+    last_booking_id   BIGINT,
+    last_booker_id    BIGINT,
+    next_booking_id   BIGINT,
+    next_booker_id    BIGINT,
+    bookings_rollover TIMESTAMP WITHOUT TIME ZONE,
+    comment_count     BIGINT DEFAULT 0                        NOT NULL,
     CONSTRAINT pk_item_id PRIMARY KEY (item_id),
     CONSTRAINT fk_item_owner_id FOREIGN KEY (owner_id) REFERENCES users (user_id) ON DELETE CASCADE,
     CONSTRAINT fk_item_request_id FOREIGN KEY (request_id) REFERENCES request (request_id) ON DELETE CASCADE
@@ -38,20 +59,31 @@ CREATE TABLE IF NOT EXISTS item
 
 CREATE TABLE IF NOT EXISTS booking
 (
-    booking_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    booking_id BIGINT DEFAULT nextval('booking_seq')   NOT NULL,
     start_date TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
     end_date   TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
     item_id    BIGINT                                  NOT NULL,
     booker_id  BIGINT                                  NOT NULL,
     status     VARCHAR(30) DEFAULT 'WAITING',
+    created    TIMESTAMP WITHOUT TIME ZONE DEFAULT LOCALTIMESTAMP NOT NULL,
     CONSTRAINT pk_booking_id PRIMARY KEY (booking_id),
     CONSTRAINT fk_booking_item_id FOREIGN KEY (item_id) REFERENCES item (item_id) ON DELETE CASCADE,
     CONSTRAINT fk_booking_booker_id FOREIGN KEY (booker_id) REFERENCES users (user_id) ON DELETE CASCADE
 );
 
+CREATE INDEX IF NOT EXISTS idx_booking_item_start ON booking (item_id, start_date, booking_id);
+CREATE INDEX IF NOT EXISTS idx_booking_created ON booking (created);
+CREATE INDEX IF NOT EXISTS idx_booking_end ON booking (end_date);
+CREATE INDEX IF NOT EXISTS idx_item_bookings_rollover ON item (bookings_rollover);
+
+ALTER TABLE item
+    ADD CONSTRAINT fk_item_last_booking_id FOREIGN KEY (last_booking_id) REFERENCES booking (booking_id) ON DELETE SET NULL;
+ALTER TABLE item
+    ADD CONSTRAINT fk_item_next_booking_id FOREIGN KEY (next_booking_id) REFERENCES booking (booking_id) ON DELETE SET NULL;
+
 CREATE TABLE IF NOT EXISTS comment
 (
-    comment_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    comment_id BIGINT DEFAULT nextval('comment_seq')   NOT NULL,
     text       TEXT                                    NOT NULL,
     item_id    BIGINT                                  NOT NULL,
     author     BIGINT                                  NOT NULL,
@@ -59,4 +91,40 @@ CREATE TABLE IF NOT EXISTS comment
     CONSTRAINT pk_comment_id PRIMARY KEY (comment_id),
     CONSTRAINT fk_comment_item_id FOREIGN KEY (item_id) REFERENCES item (item_id) ON DELETE CASCADE,
     CONSTRAINT fk_comment_author_id FOREIGN KEY (author) REFERENCES users (user_id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS idx_comment_item_created ON comment (item_id, created, comment_id);
+
+CREATE TABLE IF NOT EXISTS stats_rollup
+(
+    scope          VARCHAR(10)                   NOT NULL,
+    scope_id       BIGINT                        NOT NULL,
+    stats_day      DATE                          NOT NULL,
+    bookings       BIGINT DEFAULT 0              NOT NULL,
+    rejected       BIGINT DEFAULT 0              NOT NULL,
+    booked_seconds BIGINT DEFAULT 0              NOT NULL,
+    renters        BYTEA,
+    CONSTRAINT pk_stats_rollup PRIMARY KEY (scope, scope_id, stats_day)
+);
+
+CREATE TABLE IF NOT EXISTS stats_watermark
+(
+    name      VARCHAR(50)                        NOT NULL,
+    watermark TIMESTAMP WITHOUT TIME ZONE        NOT NULL,
+    CONSTRAINT pk_stats_watermark PRIMARY KEY (name)
+);
+
+CREATE TABLE IF NOT EXISTS user_deletion
+(
+    user_id   BIGINT                             NOT NULL,
+    status    VARCHAR(20)                        NOT NULL,
+    requested TIMESTAMP WITHOUT TIME ZONE        NOT NULL,
+    finished  TIMESTAMP WITHOUT TIME ZONE,
+    comments  BIGINT DEFAULT 0                   NOT NULL,
+    bookings  BIGINT DEFAULT 0                   NOT NULL,
+    items     BIGINT DEFAULT 0                   NOT NULL,
+    requests  BIGINT DEFAULT 0                   NOT NULL,
+    CONSTRAINT pk_user_deletion PRIMARY KEY (user_id)
+);
+
+INSERT INTO stats_watermark (name, watermark) VALUES ('booking_end', LOCALTIMESTAMP);
@@ -53,6 +53,20 @@ public class BookingControllerTest {
         );
     }
 
+    @SneakyThrows
+    @Test
+    void findBookingsByIds_thenResponseIsOk() {
+        final var bookings = List.of(getBookingDto());
+        when(bookingService.findByIds(1L, List.of(3L, 2L))).thenReturn(bookings);
+
+        mockMvc.perform(get("/bookings/batch?ids={ids}", "3,2")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(bookingService).findByIds(1L, List.of(3L, 2L));
+    }
+
     @SneakyThrows
     @Test
     void findAllBookingsByState_thenResponseIsOk() {
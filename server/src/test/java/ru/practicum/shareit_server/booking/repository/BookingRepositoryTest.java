@@ -15,9 +15,10 @@ import ru.practicum.shareit_server.user.model.User;
 import ru.practicum.shareit_server.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.stream.Collectors;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
 public class BookingRepositoryTest {
@@ -58,6 +59,48 @@ public class BookingRepositoryTest {
         assertEquals(3, actualBookings.size());
     }
 
+    @Test
+    void findLastAndNextBookings() {
+        final var itemIds = itemRepository.findAll().stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        final var lastBookings = bookingRepository.findLastBookings(itemIds, LocalDateTime.now());
+        final var nextBookings = bookingRepository.findNextBookings(itemIds, LocalDateTime.now().plusHours(2));
+
+        assertAll(
+                () -> assertEquals(2, lastBookings.size()),
+                () -> assertEquals(2, lastBookings.stream().map(ItemBookingView::getItemId).distinct().count()),
+                () -> assertEquals(currentUserId, lastBookings.get(0).getBookerId()),
+                () -> assertNotNull(lastBookings.get(0).getStart()),
+                () -> assertNotNull(lastBookings.get(0).getEnd()),
+                () -> assertEquals(0, nextBookings.size())
+        );
+    }
+
+    @Test
+    void findLastBookings_whenStartsEqual_thenLaterBookingWins() {
+        final var booker = userRepository.findById(currentUserId).orElseThrow();
+        final var item = itemRepository.save(Item.builder()
+                .name("drill")
+                .description("cordless drill")
+                .available(true)
+                .ownerId(booker.getId())
+                .build()
+        );
+        final var start = LocalDateTime.now().minusDays(1).withNano(0);
+        final var first = bookingRepository.save(getBooking(item, booker, start));
+        final var second = bookingRepository.save(getBooking(item, booker, start));
+        final var time = start.plusSeconds(1);
+
+        assertAll(
+                () -> assertEquals(second.getId(), bookingRepository.findLastBookings(List.of(item.getId()), time)
+                        .get(0).getId()),
+                () -> assertEquals(second.getId(), bookingRepository.findNextBookings(List.of(item.getId()),
+                        start.minusSeconds(1)).get(0).getId()),
+                () -> assertTrue(first.getId() < second.getId())
+        );
+    }
+
     @AfterEach
     public void deleteAll() {
         deleteEntity();
@@ -116,6 +159,16 @@ public class BookingRepositoryTest {
         return user.getId();
     }
 
+    private static Booking getBooking(final Item item, final User booker, final LocalDateTime start) {
+        return Booking.builder()
+                .status(BookingStatus.APPROVED)
+                .start(start)
+                .end(start.plusHours(1))
+                .booker(booker)
+                .item(item)
+                .build();
+    }
+
     private void deleteEntity() {
         bookingRepository.deleteAll();
         itemRepository.deleteAll();
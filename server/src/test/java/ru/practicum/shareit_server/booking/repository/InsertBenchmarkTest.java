@@ -0,0 +1,96 @@
+package ru.practicum.shareit_server.booking.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit_server.booking.model.Booking;
+import ru.practicum.shareit_server.booking.model.BookingStatus;
+import ru.practicum.shareit_server.item.model.Item;
+import ru.practicum.shareit_server.item.repository.ItemRepository;
+import ru.practicum.shareit_server.user.model.User;
+import ru.practicum.shareit_server.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Run with {@code mvn test -Dbenchmark=true -Dtest=InsertBenchmarkTest}.
+ */
+@Slf4j
+@Transactional
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class InsertBenchmarkTest {
+
+    private static final int ROWS = 20_000;
+    private static final int CHUNK = 1_000;
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final EntityManager entityManager;
+
+    @Test
+    void insertItemsAndBookings() {
+        final var owner = userRepository.save(User.builder().name("owner").email("owner@t.to").build());
+        final var booker = userRepository.save(User.builder().name("booker").email("booker@t.to").build());
+        final var now = LocalDateTime.now();
+
+        var started = System.nanoTime();
+        for (int i = 0; i < ROWS; i += CHUNK) {
+            final List<Item> items = new ArrayList<>(CHUNK);
+            for (int j = 0; j < CHUNK; j++) {
+                items.add(Item.builder()
+                        .ownerId(owner.getId())
+                        .name("item " + (i + j))
+                        .description("desc")
+                        .available(true)
+                        .build());
+            }
+            itemRepository.saveAll(items);
+            flushAndClear();
+        }
+        final var itemSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        final var item = itemRepository.save(Item.builder()
+                .ownerId(owner.getId())
+                .name("booked")
+                .description("desc")
+                .available(true)
+                .build());
+        started = System.nanoTime();
+        for (int i = 0; i < ROWS; i += CHUNK) {
+            final var bookedItem = entityManager.getReference(Item.class, item.getId());
+            final var bookingUser = entityManager.getReference(User.class, booker.getId());
+            final List<Booking> bookings = new ArrayList<>(CHUNK);
+            for (int j = 0; j < CHUNK; j++) {
+                final var start = now.plusDays(i + j);
+                bookings.add(Booking.builder()
+                        .start(start)
+                        .end(start.plusHours(1))
+                        .item(bookedItem)
+                        .booker(bookingUser)
+                        .status(BookingStatus.APPROVED)
+                        .build());
+            }
+            bookingRepository.saveAll(bookings);
+            flushAndClear();
+        }
+        final var bookingSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        log.info(">>> BENCHMARK inserts: items {} rows/s, bookings {} rows/s",
+                String.format("%.0f", ROWS / itemSeconds), String.format("%.0f", ROWS / bookingSeconds));
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
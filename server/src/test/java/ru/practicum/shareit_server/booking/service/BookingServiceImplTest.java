@@ -20,6 +20,7 @@ import ru.practicum.shareit_server.user.model.User;
 import ru.practicum.shareit_server.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -68,6 +69,49 @@ public class BookingServiceImplTest {
         );
     }
 
+    @Test
+    void findBookingsByIds_thenReturnedVisibleBookingsInRequestOrder() {
+        // create users
+        final var ownerId = userRepository.save(getUser()).getId();
+        final var booker = getUser();
+        booker.setEmail("new@t.to");
+        userRepository.save(booker);
+        final var stranger = getUser();
+        stranger.setEmail("stranger@t.to");
+        userRepository.save(stranger);
+        // create items
+        final var item = getItem();
+        item.setOwnerId(ownerId);
+        itemRepository.save(item);
+        final var strangerItem = getItem();
+        strangerItem.setOwnerId(stranger.getId());
+        itemRepository.save(strangerItem);
+        // create bookings
+        final var first = getBooking();
+        first.setBooker(booker);
+        first.setItem(item);
+        bookingRepository.save(first);
+        final var second = getBooking();
+        second.setBooker(booker);
+        second.setItem(item);
+        bookingRepository.save(second);
+        final var hidden = getBooking();
+        hidden.setBooker(stranger);
+        hidden.setItem(strangerItem);
+        bookingRepository.save(hidden);
+
+        final var bookings = bookingService.findByIds(ownerId,
+                List.of(second.getId(), hidden.getId(), 99L, first.getId()));
+
+        assertAll(
+                () -> assertEquals(2, bookings.size()),
+                () -> assertEquals(second.getId(), bookings.get(0).getId()),
+                () -> assertEquals(first.getId(), bookings.get(1).getId()),
+                () -> assertEquals(item.getId(), bookings.get(1).getItem().getId()),
+                () -> assertEquals(booker.getId(), bookings.get(1).getBooker().getId())
+        );
+    }
+
     @Test
     void findBookingById_whenUserNotFound_thenNotFoundExceptionThrown() {
         final var exception = assertThrows(NotFoundException.class,
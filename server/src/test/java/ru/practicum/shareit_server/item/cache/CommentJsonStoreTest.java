@@ -0,0 +1,109 @@
+package ru.practicum.shareit_server.item.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit_server.item.dto.CommentInfoDto;
+import ru.practicum.shareit_server.item.dto.ItemInfoDto;
+import ru.practicum.shareit_server.item.event.CommentAddedEvent;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommentJsonStoreTest {
+
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
+    private CommentJsonStore commentJsonStore;
+
+    @BeforeEach
+    void init() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        meterRegistry = new SimpleMeterRegistry();
+        commentJsonStore = new CommentJsonStore(true, 1024 * 1024, 2, objectMapper, meterRegistry);
+    }
+
+    @Test
+    void find_whenCommentsStored_thenReturnedDecodedComments() {
+        final var comments = List.of(getCommentInfoDto(2L), getCommentInfoDto(1L));
+        commentJsonStore.put(1L, comments, commentJsonStore.stamp());
+
+        assertAll(
+                () -> assertEquals(comments, commentJsonStore.find(1L)),
+                () -> assertNull(commentJsonStore.find(2L)),
+                () -> assertTrue(meterRegistry.get("items.comments.json.bytes").gauge().value() > 0)
+        );
+    }
+
+    @SneakyThrows
+    @Test
+    void serialize_whenCommentsStored_thenSameJsonAsPlainComments() {
+        final var comments = List.of(getCommentInfoDto(2L), getCommentInfoDto(1L));
+        final var stored = commentJsonStore.put(1L, comments, commentJsonStore.stamp());
+
+        final var plainItem = ItemInfoDto.builder().id(1L).comments(comments).build();
+        final var storedItem = ItemInfoDto.builder().id(1L).comments(stored).build();
+
+        assertAll(
+                () -> assertInstanceOf(PreSerializedComments.class, stored),
+                () -> assertEquals(objectMapper.writeValueAsString(plainItem),
+                        objectMapper.writeValueAsString(storedItem)),
+                () -> assertEquals(new String(objectMapper.writeValueAsBytes(List.of(plainItem, plainItem))),
+                        new String(objectMapper.writeValueAsBytes(List.of(storedItem, storedItem)))),
+                () -> assertEquals(objectMapper.writeValueAsString(objectMapper.valueToTree(plainItem)),
+                        objectMapper.writeValueAsString(objectMapper.valueToTree(storedItem)))
+        );
+    }
+
+    @Test
+    void onCommentAdded_whenCommentsStored_thenCommentPrependedAndOldestDropped() {
+        commentJsonStore.put(1L, List.of(getCommentInfoDto(2L), getCommentInfoDto(1L)), commentJsonStore.stamp());
+
+        commentJsonStore.onCommentAdded(new CommentAddedEvent(1L, 3L, getCommentInfoDto(3L)));
+
+        assertEquals(List.of(getCommentInfoDto(3L), getCommentInfoDto(2L)), commentJsonStore.find(1L));
+    }
+
+    @Test
+    void onCommentAdded_whenCommentsNotStored_thenNothingStored() {
+        commentJsonStore.onCommentAdded(new CommentAddedEvent(1L, 1L, getCommentInfoDto(1L)));
+
+        assertNull(commentJsonStore.find(1L));
+    }
+
+    @Test
+    void put_whenCommentAddedDuringLoad_thenCommentsNotStored() {
+        final var stamp = commentJsonStore.stamp();
+        commentJsonStore.onCommentAdded(new CommentAddedEvent(1L, 2L, getCommentInfoDto(2L)));
+
+        commentJsonStore.put(1L, List.of(getCommentInfoDto(1L)), stamp);
+
+        assertNull(commentJsonStore.find(1L));
+    }
+
+    @Test
+    void find_whenDisabled_thenNothingStored() {
+        final var disabledStore = new CommentJsonStore(false, 1024 * 1024, 2, objectMapper, meterRegistry);
+        final var comments = List.of(getCommentInfoDto(1L));
+
+        assertAll(
+                () -> assertSame(comments, disabledStore.put(1L, comments, disabledStore.stamp())),
+                () -> assertNull(disabledStore.find(1L))
+        );
+    }
+
+    private CommentInfoDto getCommentInfoDto(final Long id) {
+        return CommentInfoDto.builder()
+                .id(id)
+                .text("comment " + id)
+                .authorName("author")
+                .created(LocalDateTime.of(2000, Month.JANUARY, 1, 1, 0, 0).plusHours(id))
+                .build();
+    }
+}
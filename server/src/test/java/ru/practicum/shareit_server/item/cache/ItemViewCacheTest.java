@@ -0,0 +1,173 @@
+package ru.practicum.shareit_server.item.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit_server.booking.dto.BookingShortDto;
+import ru.practicum.shareit_server.booking.event.BookingEvent;
+import ru.practicum.shareit_server.item.dto.CommentInfoDto;
+import ru.practicum.shareit_server.item.dto.ItemInfoDto;
+import ru.practicum.shareit_server.item.event.CommentAddedEvent;
+import ru.practicum.shareit_server.item.event.ItemUpdatedEvent;
+import ru.practicum.shareit_server.item.event.ItemsUpdatedEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemViewCacheTest {
+
+    private static final Long OWNER_ID = 1L;
+    private static final Long USER_ID = 2L;
+
+    private ItemViewCache itemViewCache;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        itemViewCache = new ItemViewCache(true, 100, meterRegistry);
+    }
+
+    @Test
+    void find_whenViewCached_thenReturnedVariantForUser() {
+        final var now = LocalDateTime.now();
+        itemViewCache.put(getItemInfoDto("owner view"), true, null, itemViewCache.stamp(1L));
+        itemViewCache.put(getItemInfoDto("guest view"), false, null, itemViewCache.stamp(1L));
+
+        assertAll(
+                () -> assertEquals("owner view", itemViewCache.find(1L, OWNER_ID, now).getName()),
+                () -> assertEquals("guest view", itemViewCache.find(1L, USER_ID, now).getName()),
+                () -> assertNull(itemViewCache.find(2L, USER_ID, now))
+        );
+    }
+
+    @Test
+    void find_whenOwnerViewRolledOver_thenReturnedNull() {
+        final var now = LocalDateTime.now();
+        itemViewCache.put(getItemInfoDto("owner view"), true, now.plusHours(1), itemViewCache.stamp(1L));
+
+        assertAll(
+                () -> assertNotNull(itemViewCache.find(1L, OWNER_ID, now)),
+                () -> assertNull(itemViewCache.find(1L, OWNER_ID, now.plusHours(1)))
+        );
+    }
+
+    @Test
+    void find_whenReturnedViewModified_thenCachedViewUnchanged() {
+        itemViewCache.put(getItemInfoDto("guest view"), false, null, itemViewCache.stamp(1L));
+
+        itemViewCache.find(1L, USER_ID, LocalDateTime.now()).setName("modified");
+
+        assertEquals("guest view", itemViewCache.find(1L, USER_ID, LocalDateTime.now()).getName());
+    }
+
+    @Test
+    void find_whenReturnedCommentsOrBookingModified_thenCachedViewUnchanged() {
+        final var view = getItemInfoDto("owner view");
+        view.setLastBooking(BookingShortDto.builder().id(1L).bookerId(USER_ID).build());
+        view.setComments(new ArrayList<>(List.of(CommentInfoDto.builder().id(1L).text("text").build())));
+        itemViewCache.put(view, true, null, itemViewCache.stamp(1L));
+
+        final var found = itemViewCache.find(1L, OWNER_ID, LocalDateTime.now());
+        found.getLastBooking().setBookerId(3L);
+        found.getComments().get(0).setText("modified");
+        found.getComments().clear();
+        view.getComments().clear();
+
+        final var cached = itemViewCache.find(1L, OWNER_ID, LocalDateTime.now());
+        assertAll(
+                () -> assertEquals(USER_ID, cached.getLastBooking().getBookerId()),
+                () -> assertEquals("text", cached.getComments().get(0).getText())
+        );
+    }
+
+    @Test
+    void put_whenOtherItemInvalidatedDuringAssembly_thenViewCached() {
+        final var stamp = itemViewCache.stamp(1L);
+        itemViewCache.onItemUpdated(new ItemUpdatedEvent(2L));
+
+        itemViewCache.put(getItemInfoDto("guest view"), false, null, stamp);
+
+        assertNotNull(itemViewCache.find(1L, USER_ID, LocalDateTime.now()));
+    }
+
+    @Test
+    void put_whenInvalidatedDuringAssembly_thenViewNotCached() {
+        final var stamp = itemViewCache.stamp(1L);
+        itemViewCache.onItemUpdated(new ItemUpdatedEvent(1L));
+
+        itemViewCache.put(getItemInfoDto("guest view"), false, null, stamp);
+
+        assertNull(itemViewCache.find(1L, USER_ID, LocalDateTime.now()));
+    }
+
+    @Test
+    void onItemsUpdated_thenBothViewsOfEveryItemEvicted() {
+        final var now = LocalDateTime.now();
+        itemViewCache.put(getItemInfoDto("owner view"), true, null, itemViewCache.stamp(1L));
+        itemViewCache.put(getItemInfoDto("guest view"), false, null, itemViewCache.stamp(1L));
+
+        itemViewCache.onItemsUpdated(new ItemsUpdatedEvent(List.of(1L, 2L)));
+
+        assertAll(
+                () -> assertNull(itemViewCache.find(1L, OWNER_ID, now)),
+                () -> assertNull(itemViewCache.find(1L, USER_ID, now))
+        );
+    }
+
+    @Test
+    void onBookingChanged_thenOnlyOwnerViewEvicted() {
+        final var now = LocalDateTime.now();
+        itemViewCache.put(getItemInfoDto("owner view"), true, null, itemViewCache.stamp(1L));
+        itemViewCache.put(getItemInfoDto("guest view"), false, null, itemViewCache.stamp(1L));
+
+        itemViewCache.onBookingChanged(BookingEvent.builder().itemId(1L).build());
+
+        assertAll(
+                () -> assertNull(itemViewCache.find(1L, OWNER_ID, now)),
+                () -> assertNotNull(itemViewCache.find(1L, USER_ID, now))
+        );
+    }
+
+    @Test
+    void onCommentAdded_thenBothViewsEvicted() {
+        final var now = LocalDateTime.now();
+        itemViewCache.put(getItemInfoDto("owner view"), true, null, itemViewCache.stamp(1L));
+        itemViewCache.put(getItemInfoDto("guest view"), false, null, itemViewCache.stamp(1L));
+
+        itemViewCache.onCommentAdded(new CommentAddedEvent(1L, 1L, null));
+
+        assertAll(
+                () -> assertNull(itemViewCache.find(1L, OWNER_ID, now)),
+                () -> assertNull(itemViewCache.find(1L, USER_ID, now))
+        );
+    }
+
+    @Test
+    void assemble_thenAssemblyTimeRecorded() {
+        itemViewCache.assemble(true, () -> getItemInfoDto("owner view"));
+
+        assertEquals(1, meterRegistry.get("items.view.assembly").tag("variant", "owner").timer().count());
+    }
+
+    @Test
+    void find_whenCacheDisabled_thenReturnedNull() {
+        final var disabledCache = new ItemViewCache(false, 100, meterRegistry);
+        disabledCache.put(getItemInfoDto("guest view"), false, null, disabledCache.stamp(1L));
+
+        assertNull(disabledCache.find(1L, USER_ID, LocalDateTime.now()));
+    }
+
+    private ItemInfoDto getItemInfoDto(final String name) {
+        return ItemInfoDto.builder()
+                .id(1L)
+                .ownerId(OWNER_ID)
+                .name(name)
+                .description("desc")
+                .available(true)
+                .build();
+    }
+}
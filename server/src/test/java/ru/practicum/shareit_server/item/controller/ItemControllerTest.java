@@ -10,9 +10,17 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit_server.item.dto.CommentCreationDto;
 import ru.practicum.shareit_server.item.dto.CommentInfoDto;
+import ru.practicum.shareit_server.item.dto.CommentPageDto;
+import ru.practicum.shareit_server.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit_server.item.dto.ItemCreationDto;
+import ru.practicum.shareit_server.item.dto.ItemFields;
 import ru.practicum.shareit_server.item.dto.ItemInfoDto;
+import ru.practicum.shareit_server.item.dto.ItemStatsDto;
+import ru.practicum.shareit_server.item.dto.PopularItemDto;
+import ru.practicum.shareit_server.item.popular.PopularityWindow;
+import ru.practicum.shareit_server.item.stats.StatsPeriod;
 import ru.practicum.shareit_server.item.service.ItemService;
+import ru.practicum.shareit_server.request.dto.ItemRequestDto;
 
 import java.util.List;
 
@@ -22,6 +30,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -38,7 +47,7 @@ public class ItemControllerTest {
     @Test
     void findItemById_thenResponseIsOk() {
         final var item = getItemInfoDto();
-        when(itemService.findById(1L, 1L)).thenReturn(item);
+        when(itemService.findById(1L, 1L, ItemFields.ALL)).thenReturn(item);
 
         final var result = mockMvc.perform(get("/items/{id}", 1L)
                         .header("X-Sharer-User-Id", 1L))
@@ -49,22 +58,63 @@ public class ItemControllerTest {
 
         assertAll(
                 () -> assertEquals(objectMapper.writeValueAsString(item), result),
-                () -> verify(itemService).findById(1L, 1L)
+                () -> verify(itemService).findById(1L, 1L, ItemFields.ALL)
         );
     }
 
+    @SneakyThrows
+    @Test
+    void findItemByIdWithFields_thenResponseContainsOnlyRequestedFields() {
+        final var item = ItemInfoDto.builder()
+                .id(1L)
+                .name("name")
+                .description("description")
+                .comments(List.of())
+                .build();
+        final var fields = ItemFields.parse("id,name");
+        when(itemService.findById(1L, 1L, fields)).thenReturn(item);
+
+        mockMvc.perform(get("/items/{id}?fields={fields}", 1L, "id,name")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(item.getId()))
+                .andExpect(jsonPath("$.name").value(item.getName()))
+                .andExpect(jsonPath("$.description").doesNotExist())
+                .andExpect(jsonPath("$.comments").doesNotExist());
+
+        verify(itemService).findById(1L, 1L, fields);
+    }
+
     @SneakyThrows
     @Test
     void findAllOwnerItems_thenResponseIsOk() {
         final var items = List.of(getItemInfoDto());
-        when(itemService.findAllOwnerItems(1L, 0, 10)).thenReturn(items);
+        when(itemService.findAllOwnerItems(1L, 0, 10, ItemFields.ALL)).thenReturn(items);
 
         mockMvc.perform(get("/items?from={from}&size={size}", 0, 10)
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
 
-        verify(itemService).findAllOwnerItems(1L, 0, 10);
+        verify(itemService).findAllOwnerItems(1L, 0, 10, ItemFields.ALL);
+    }
+
+    @SneakyThrows
+    @Test
+    void findComments_thenResponseIsOk() {
+        final var page = CommentPageDto.builder()
+                .comments(List.of(getCommentInfoDto()))
+                .nextCursor("cursor")
+                .build();
+        when(itemService.findComments(1L, 1L, null, 10)).thenReturn(page);
+
+        mockMvc.perform(get("/items/{id}/comments?size={size}", 1L, 10)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").value("cursor"));
+
+        verify(itemService).findComments(1L, 1L, null, 10);
     }
 
     @SneakyThrows
@@ -152,6 +202,91 @@ public class ItemControllerTest {
         );
     }
 
+    @SneakyThrows
+    @Test
+    void findItemsByIds_thenResponseIsOk() {
+        when(itemService.findByIds(1L, List.of(2L, 1L))).thenReturn(List.of(getItemInfoDto()));
+
+        mockMvc.perform(get("/items/batch?ids={ids}", "2,1")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(itemService).findByIds(1L, List.of(2L, 1L));
+    }
+
+    @SneakyThrows
+    @Test
+    void updateAvailability_thenResponseIsAffectedIds() {
+        final var itemAvailabilityDto = ItemAvailabilityDto.builder()
+                .itemIds(List.of(1L, 2L))
+                .available(false)
+                .build();
+
+        when(itemService.updateAvailability(1L, itemAvailabilityDto)).thenReturn(List.of(2L));
+
+        mockMvc.perform(patch("/items/availability")
+                        .contentType("application/json")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(objectMapper.writeValueAsString(itemAvailabilityDto)))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[2]"));
+
+        verify(itemService).updateAvailability(1L, itemAvailabilityDto);
+    }
+
+    @SneakyThrows
+    @Test
+    void findPopular_thenResponseIsOk() {
+        when(itemService.findPopular(PopularityWindow.DAY)).thenReturn(List.of(new PopularItemDto(1L, 3L)));
+
+        mockMvc.perform(get("/items/popular?window={window}", "DAY"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"itemId\":1,\"bookings\":3}]"));
+
+        verify(itemService).findPopular(PopularityWindow.DAY);
+    }
+
+    @SneakyThrows
+    @Test
+    void findStats_thenResponseIsOk() {
+        when(itemService.findStats(1L, 2L, StatsPeriod.MONTH))
+                .thenReturn(ItemStatsDto.builder().itemId(2L).bookings(5L).build());
+
+        mockMvc.perform(get("/items/{id}/stats?period={period}", 2L, "MONTH")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings").value(5));
+
+        verify(itemService).findStats(1L, 2L, StatsPeriod.MONTH);
+    }
+
+    @SneakyThrows
+    @Test
+    void findOwnerStats_thenDefaultPeriodIsWeek() {
+        when(itemService.findOwnerStats(1L, StatsPeriod.WEEK)).thenReturn(ItemStatsDto.builder().build());
+
+        mockMvc.perform(get("/items/stats")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+
+        verify(itemService).findOwnerStats(1L, StatsPeriod.WEEK);
+    }
+
+    @SneakyThrows
+    @Test
+    void findMatchingRequests_thenResponseIsOk() {
+        when(itemService.findMatchingRequests(1L, 2L, 5))
+                .thenReturn(List.of(ItemRequestDto.builder().id(3L).build()));
+
+        mockMvc.perform(get("/items/{id}/matching-requests?size={size}", 2L, 5)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3));
+
+        verify(itemService).findMatchingRequests(1L, 2L, 5);
+    }
+
     private ItemInfoDto getItemInfoDto() {
         return ItemInfoDto.builder().build();
     }
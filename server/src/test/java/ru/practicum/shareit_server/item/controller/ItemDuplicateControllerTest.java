@@ -0,0 +1,40 @@
+package ru.practicum.shareit_server.item.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit_server.item.dto.DuplicateClusterDto;
+import ru.practicum.shareit_server.item.service.ItemService;
+
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ItemDuplicateController.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemDuplicateControllerTest {
+
+    private final MockMvc mockMvc;
+    @MockBean
+    private ItemService itemService;
+
+    @SneakyThrows
+    @Test
+    void findDuplicateClusters_thenResponseIsOk() {
+        when(itemService.findDuplicateClusters(100)).thenReturn(List.of(new DuplicateClusterDto(List.of(1L, 2L))));
+
+        mockMvc.perform(get("/admin/items/duplicates"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"itemIds\":[1,2]}]"));
+
+        verify(itemService).findDuplicateClusters(100);
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit_server.item.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit_server.item.importer.ItemImportReader;
+import ru.practicum.shareit_server.item.service.ItemImportService;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = ItemImportController.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemImportControllerTest {
+
+    private final MockMvc mockMvc;
+    @MockBean
+    private ItemImportService itemImportService;
+
+    @SneakyThrows
+    @Test
+    void importItems_thenReportStreamed() {
+        final var reader = mock(ItemImportReader.class);
+        when(itemImportService.open(eq(1L), any(), any())).thenReturn(reader);
+        doAnswer(invocation -> {
+            invocation.getArgument(2, OutputStream.class).write("{\"row\":1,\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(itemImportService).importItems(eq(1L), eq(reader), any());
+
+        final var result = mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType("application/x-ndjson")
+                        .content("{\"name\":\"drill\",\"description\":\"drill\",\"available\":true}\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"row\":1,\"id\":1}\n"));
+    }
+
+    @SneakyThrows
+    @Test
+    void importItems_whenUnsupportedFormat_thenResponseIsUnsupportedMediaType() {
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType("application/xml")
+                        .content("<items/>"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verify(itemImportService, never()).open(any(), any(), any());
+    }
+}
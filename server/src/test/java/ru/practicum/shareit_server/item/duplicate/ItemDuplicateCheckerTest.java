@@ -0,0 +1,45 @@
+package ru.practicum.shareit_server.item.duplicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit_server.exception.AlreadyExistsException;
+import ru.practicum.shareit_server.item.event.ItemsFingerprintedEvent;
+import ru.practicum.shareit_server.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class ItemDuplicateCheckerTest {
+
+    private ItemFingerprintIndex index;
+
+    @BeforeEach
+    void init() {
+        index = new ItemFingerprintIndex(mock(ItemRepository.class), 3);
+        index.onItemsFingerprinted(new ItemsFingerprintedEvent(List.of(
+                new ItemFingerprint(1L, 10L, 0b0000L),
+                new ItemFingerprint(2L, 20L, 0b0011L))));
+    }
+
+    @Test
+    void check_whenSimilarItemsIndexed_thenTheirIdsReturned() {
+        final var checker = new ItemDuplicateChecker(index, false);
+
+        assertAll(
+                () -> assertEquals(List.of(1L, 2L), checker.check(10L, 0b0001L)),
+                () -> assertEquals(List.of(), checker.check(10L, -1L))
+        );
+    }
+
+    @Test
+    void check_whenRejectingAndOwnItemSimilar_thenAlreadyExistsExceptionThrown() {
+        final var checker = new ItemDuplicateChecker(index, true);
+
+        assertAll(
+                () -> assertThrows(AlreadyExistsException.class, () -> checker.check(10L, 0b0001L)),
+                () -> assertEquals(List.of(1L, 2L), checker.check(30L, 0b0001L))
+        );
+    }
+}
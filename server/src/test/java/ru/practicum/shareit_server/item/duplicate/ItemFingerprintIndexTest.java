@@ -0,0 +1,129 @@
+package ru.practicum.shareit_server.item.duplicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit_server.item.event.ItemsDeletedEvent;
+import ru.practicum.shareit_server.item.event.ItemsFingerprintedEvent;
+import ru.practicum.shareit_server.item.repository.ItemRepository;
+import ru.practicum.shareit_server.item.repository.ItemTextView;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ItemFingerprintIndexTest {
+
+    private ItemRepository itemRepository;
+    private ItemFingerprintIndex index;
+
+    @BeforeEach
+    void init() {
+        itemRepository = mock(ItemRepository.class);
+        index = new ItemFingerprintIndex(itemRepository, 3);
+    }
+
+    @Test
+    void findSimilar_whenFingerprintsWithinDistance_thenFound() {
+        put(1L, 10L, 0b0000L);
+        put(2L, 20L, 0b0111L);
+        put(3L, 10L, 0b1111L);
+        put(4L, 30L, 0xFFFF_0000_0000_0000L);
+
+        assertEquals(List.of(1L, 2L, 3L), itemIds(index.findSimilar(0b0001L)));
+    }
+
+    @Test
+    void findSimilar_whenDifferenceSpreadOverBands_thenFound() {
+        put(1L, 10L, 0x0001_0001_0001_0000L);
+
+        assertEquals(List.of(1L), itemIds(index.findSimilar(0L)));
+    }
+
+    @Test
+    void onItemsFingerprinted_whenItemReindexed_thenOldFingerprintForgotten() {
+        put(1L, 10L, 0L);
+        put(1L, 10L, -1L);
+
+        assertAll(
+                () -> assertTrue(index.findSimilar(0L).isEmpty()),
+                () -> assertEquals(List.of(1L), itemIds(index.findSimilar(-1L)))
+        );
+    }
+
+    @Test
+    void onItemsDeleted_thenItemsForgotten() {
+        put(1L, 10L, 0L);
+        put(2L, 10L, 0L);
+
+        index.onItemsDeleted(new ItemsDeletedEvent(List.of(1L)));
+
+        assertEquals(List.of(2L), itemIds(index.findSimilar(0L)));
+    }
+
+    @Test
+    void findClusters_thenTransitivelySimilarItemsGrouped() {
+        put(1L, 10L, 0b000000L);
+        put(2L, 10L, 0b000111L);
+        put(3L, 20L, 0b111111L);
+        put(4L, 20L, 0xFF00_0000_0000_0000L);
+        put(5L, 30L, 0xFF00_0000_0000_0001L);
+        put(6L, 30L, 0x00FF_00FF_00FF_00FFL);
+
+        assertEquals(List.of(List.of(1L, 2L, 3L), List.of(4L, 5L)), index.findClusters());
+    }
+
+    @Test
+    void rebuild_thenItemsLoadedInBatches() {
+        when(itemRepository.findTextsAfter(eq(0L), any())).thenReturn(List.of(text(1L, "Drill", "Cordless drill"),
+                text(2L, "Drill", "Cordless drill")));
+
+        index.rebuild();
+
+        assertEquals(List.of(List.of(1L, 2L)), index.findClusters());
+    }
+
+    private void put(final Long itemId, final Long ownerId, final long fingerprint) {
+        index.onItemsFingerprinted(new ItemsFingerprintedEvent(
+                List.of(new ItemFingerprint(itemId, ownerId, fingerprint))));
+    }
+
+    private static List<Long> itemIds(final List<ItemFingerprint> fingerprints) {
+        return fingerprints.stream()
+                .map(ItemFingerprint::getItemId)
+                .collect(Collectors.toList());
+    }
+
+    private static ItemTextView text(final Long id, final String name, final String description) {
+        return new ItemTextView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getOwnerId() {
+                return 1L;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+
+            @Override
+            public Boolean getAvailable() {
+                return true;
+            }
+        };
+    }
+}
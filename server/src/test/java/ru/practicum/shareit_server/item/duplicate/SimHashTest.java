@@ -0,0 +1,33 @@
+package ru.practicum.shareit_server.item.duplicate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimHashTest {
+
+    @Test
+    void fingerprint_whenCaseAndPunctuationDiffer_thenEqual() {
+        assertEquals(SimHash.fingerprint("Cordless drill", "Makita 18V, two batteries and a charger"),
+                SimHash.fingerprint("cordless DRILL!", "makita 18v two batteries and a charger."));
+    }
+
+    @Test
+    void fingerprint_whenOneWordAdded_thenClose() {
+        final var description = "Makita 18V cordless drill with two batteries, a charger and a case of bits "
+                + "for wood and metal, barely used and in perfect working condition";
+
+        final var distance = SimHash.distance(SimHash.fingerprint("Cordless drill", description),
+                SimHash.fingerprint("Cordless drill", description + " indeed"));
+
+        assertTrue(distance <= 3, "distance " + distance);
+    }
+
+    @Test
+    void fingerprint_whenTextsUnrelated_thenFar() {
+        final var distance = SimHash.distance(SimHash.fingerprint("Cordless drill", "Makita 18V with batteries"),
+                SimHash.fingerprint("Camping tent", "Four person tent with a rain fly"));
+
+        assertTrue(distance > 10, "distance " + distance);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit_server.item.popular;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CountMinSketchTest {
+
+    @Test
+    void estimate_whenKeysAdded_thenNeverUnderestimated() {
+        final var sketch = new CountMinSketch(64, 4);
+        for (long key = 1; key <= 500; key++) {
+            sketch.add(key, (int) (key % 7) + 1);
+        }
+
+        for (long key = 1; key <= 500; key++) {
+            assertTrue(sketch.estimate(key) >= (int) (key % 7) + 1);
+        }
+    }
+
+    @Test
+    void add_whenSketchSubtracted_thenCountsRemoved() {
+        final var total = new CountMinSketch(64, 4);
+        final var hour = new CountMinSketch(64, 4);
+        hour.add(1L, 3);
+        total.add(hour, 1);
+        total.add(2L, 1);
+
+        total.add(hour, -1);
+
+        assertAll(
+                () -> assertEquals(0, total.estimate(1L)),
+                () -> assertEquals(1, total.estimate(2L))
+        );
+    }
+
+    @Test
+    void clear_thenAllCountsZero() {
+        final var sketch = new CountMinSketch(64, 4);
+        sketch.add(1L, 5);
+
+        sketch.clear();
+
+        assertEquals(0, sketch.estimate(1L));
+    }
+}
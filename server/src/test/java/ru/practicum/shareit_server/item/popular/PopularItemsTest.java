@@ -0,0 +1,140 @@
+package ru.practicum.shareit_server.item.popular;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit_server.booking.event.BookingEvent;
+import ru.practicum.shareit_server.booking.model.BookingStatus;
+import ru.practicum.shareit_server.booking.repository.BookingCreationView;
+import ru.practicum.shareit_server.booking.repository.BookingRepository;
+import ru.practicum.shareit_server.item.dto.PopularItemDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PopularItemsTest {
+
+    private BookingRepository bookingRepository;
+    private PopularItems popularItems;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void init() {
+        bookingRepository = mock(BookingRepository.class);
+        popularItems = new PopularItems(bookingRepository, 2, 256, 4);
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    void find_whenBookingsCreated_thenTopItemsByCount() {
+        book(1L, now);
+        book(2L, now);
+        book(2L, now);
+        book(3L, now);
+        book(3L, now);
+        book(3L, now);
+
+        assertEquals(List.of(new PopularItemDto(3L, 3L), new PopularItemDto(2L, 2L)),
+                popularItems.find(PopularityWindow.WEEK));
+    }
+
+    @Test
+    void find_whenBookingOlderThanDay_thenCountedForWeekOnly() {
+        book(1L, now.minusDays(2));
+
+        assertAll(
+                () -> assertEquals(List.of(new PopularItemDto(1L, 1L)), popularItems.find(PopularityWindow.WEEK)),
+                () -> assertTrue(popularItems.find(PopularityWindow.DAY).isEmpty())
+        );
+    }
+
+    @Test
+    void tick_whenHoursPassed_thenBookingsLeaveWindows() {
+        book(1L, now);
+
+        popularItems.tick(now.plusHours(25));
+
+        assertAll(
+                () -> assertTrue(popularItems.find(PopularityWindow.DAY).isEmpty()),
+                () -> assertEquals(List.of(new PopularItemDto(1L, 1L)), popularItems.find(PopularityWindow.WEEK))
+        );
+
+        popularItems.tick(now.plusDays(8));
+
+        assertTrue(popularItems.find(PopularityWindow.WEEK).isEmpty());
+    }
+
+    @Test
+    void onBookingChanged_whenRejectedAndApprovedAgain_thenCountRestored() {
+        book(1L, now);
+
+        changeStatus(1L, BookingStatus.REJECTED, BookingStatus.WAITING);
+        assertTrue(popularItems.find(PopularityWindow.DAY).isEmpty());
+
+        changeStatus(1L, BookingStatus.APPROVED, BookingStatus.REJECTED);
+        assertEquals(List.of(new PopularItemDto(1L, 1L)), popularItems.find(PopularityWindow.DAY));
+    }
+
+    @Test
+    void onBookingChanged_whenApprovedFromWaiting_thenCountUnchanged() {
+        book(1L, now);
+
+        changeStatus(1L, BookingStatus.APPROVED, BookingStatus.WAITING);
+
+        assertEquals(List.of(new PopularItemDto(1L, 1L)), popularItems.find(PopularityWindow.DAY));
+    }
+
+    @Test
+    void rebuild_thenCountsLoadedFromBookings() {
+        book(5L, now);
+        when(bookingRepository.findCreatedSince(any(), eq(BookingStatus.REJECTED)))
+                .thenReturn(List.of(creation(1L, now), creation(1L, now.minusDays(3)), creation(2L, now)));
+
+        popularItems.rebuild();
+
+        assertAll(
+                () -> assertEquals(List.of(new PopularItemDto(1L, 2L), new PopularItemDto(2L, 1L)),
+                        popularItems.find(PopularityWindow.WEEK)),
+                () -> assertEquals(List.of(new PopularItemDto(1L, 1L), new PopularItemDto(2L, 1L)),
+                        popularItems.find(PopularityWindow.DAY))
+        );
+    }
+
+    private void book(final Long itemId, final LocalDateTime created) {
+        popularItems.onBookingChanged(BookingEvent.builder()
+                .type(BookingEvent.Type.CREATED)
+                .itemId(itemId)
+                .status(BookingStatus.WAITING)
+                .created(created)
+                .build(), now);
+    }
+
+    private void changeStatus(final Long itemId, final BookingStatus status, final BookingStatus previousStatus) {
+        popularItems.onBookingChanged(BookingEvent.builder()
+                .type(BookingEvent.Type.STATUS_CHANGED)
+                .itemId(itemId)
+                .status(status)
+                .previousStatus(previousStatus)
+                .created(now)
+                .build(), now);
+    }
+
+    private static BookingCreationView creation(final Long itemId, final LocalDateTime created) {
+        return new BookingCreationView() {
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public LocalDateTime getCreated() {
+                return created;
+            }
+        };
+    }
+}
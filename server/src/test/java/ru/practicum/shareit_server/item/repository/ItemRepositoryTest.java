@@ -1,16 +1,24 @@
 package ru.practicum.shareit_server.item.repository;
 
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit_server.item.model.Item;
+import ru.practicum.shareit_server.request.model.ItemRequest;
+import ru.practicum.shareit_server.request.repository.ItemRequestRepository;
 import ru.practicum.shareit_server.user.model.User;
 import ru.practicum.shareit_server.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
@@ -20,6 +28,10 @@ public class ItemRepositoryTest {
     private ItemRepository itemRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private TestEntityManager entityManager;
 
     @BeforeEach
     void init() {
@@ -38,6 +50,49 @@ public class ItemRepositoryTest {
         );
     }
 
+    @Test
+    void findByRequestIdIn_thenRequestsAndRequestorsFetchedWithItems() {
+        final var requestor = userRepository.save(User.builder()
+                .name("requestor")
+                .email("requestor@mail.com")
+                .build()
+        );
+        final List<Long> requestIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final var request = itemRequestRepository.save(ItemRequest.builder()
+                    .description("request " + i)
+                    .created(LocalDateTime.now())
+                    .requestor(requestor)
+                    .build()
+            );
+            requestIds.add(request.getId());
+            itemRepository.save(Item.builder()
+                    .name("item " + i)
+                    .description("answer " + i)
+                    .available(true)
+                    .ownerId(requestor.getId())
+                    .request(request)
+                    .build()
+            );
+        }
+        entityManager.flush();
+        entityManager.clear();
+        final var statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        final var items = itemRepository.findByRequestIdIn(requestIds);
+        statistics.setStatisticsEnabled(false);
+
+        assertAll(
+                () -> assertEquals(3, items.size()),
+                () -> assertEquals("requestor", items.get(0).getRequest().getRequestor().getName()),
+                () -> assertEquals(1, statistics.getPrepareStatementCount())
+        );
+    }
+
     @AfterEach
     void deleteAll() {
         deleteEntity();
@@ -77,6 +132,7 @@ public class ItemRepositoryTest {
 
     private void deleteEntity() {
         itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
         userRepository.deleteAll();
     }
 }
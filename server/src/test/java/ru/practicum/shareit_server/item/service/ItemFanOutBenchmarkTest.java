@@ -0,0 +1,103 @@
+package ru.practicum.shareit_server.item.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit_server.item.model.Item;
+import ru.practicum.shareit_server.item.repository.ItemRepository;
+import ru.practicum.shareit_server.user.model.User;
+import ru.practicum.shareit_server.user.repository.UserRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+/**
+ * Run with {@code mvn test -Dbenchmark=true -Dtest=ItemFanOutBenchmarkTest -Dfanout=true} and once more
+ * with {@code -Dfanout=false} to compare the modes.
+ */
+@Slf4j
+@SpringBootTest(properties = "shareit.items.fan-out.enabled=${fanout:false}")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemFanOutBenchmarkTest {
+
+    private static final int CLIENTS = 8;
+    private static final int CALLS_PER_CLIENT = 2_000;
+    private static final int COMMENTS = 50;
+
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @SneakyThrows
+    @Test
+    void findById() {
+        final var owner = userRepository.save(User.builder().name("owner").email("fan-out-owner@t.to").build());
+        final var guest = userRepository.save(User.builder().name("guest").email("fan-out-guest@t.to").build());
+        final var item = itemRepository.save(Item.builder()
+                .ownerId(owner.getId())
+                .name("item")
+                .description("desc")
+                .available(true)
+                .build());
+        final List<Object[]> comments = new ArrayList<>();
+        for (int i = 0; i < COMMENTS; i++) {
+            comments.add(new Object[]{"comment " + i, item.getId(), guest.getId(),
+                    Timestamp.valueOf(LocalDateTime.now().minusMinutes(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO comment (text, item_id, author, created) VALUES (?, ?, ?, ?)", comments);
+
+        final var clients = Executors.newFixedThreadPool(CLIENTS);
+        final List<Callable<long[]>> calls = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            calls.add(() -> {
+                final var latencies = new long[CALLS_PER_CLIENT];
+                for (int j = 0; j < CALLS_PER_CLIENT; j++) {
+                    final var started = System.nanoTime();
+                    itemService.findById(guest.getId(), item.getId());
+                    latencies[j] = System.nanoTime() - started;
+                }
+                return latencies;
+            });
+        }
+
+        final var started = System.nanoTime();
+        final var latencies = new long[CLIENTS * CALLS_PER_CLIENT];
+        int position = 0;
+        for (var result : clients.invokeAll(calls)) {
+            System.arraycopy(result.get(), 0, latencies, position, CALLS_PER_CLIENT);
+            position += CALLS_PER_CLIENT;
+        }
+        final var elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        clients.shutdown();
+        Arrays.sort(latencies);
+
+        log.info(">>> BENCHMARK findById: {} clients, p50 {} ms, p99 {} ms, {} calls/s, {} concurrent / {} sequential reads",
+                CLIENTS, millis(latencies[latencies.length / 2]), millis(latencies[latencies.length * 99 / 100]),
+                String.format("%.0f", latencies.length / elapsedSeconds), readCount("concurrent"),
+                readCount("sequential"));
+
+        jdbcTemplate.update("DELETE FROM users WHERE user_id IN (?, ?)", owner.getId(), guest.getId());
+    }
+
+    private long readCount(final String mode) {
+        return (long) meterRegistry.get("items.fan-out.reads").tag("mode", mode).counter().count();
+    }
+
+    private static String millis(final long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+}
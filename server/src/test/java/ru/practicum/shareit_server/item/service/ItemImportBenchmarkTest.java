@@ -0,0 +1,68 @@
+package ru.practicum.shareit_server.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit_server.item.dto.ItemCreationDto;
+import ru.practicum.shareit_server.item.repository.ItemRepository;
+import ru.practicum.shareit_server.user.model.User;
+import ru.practicum.shareit_server.user.repository.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Run with {@code mvn test -Dbenchmark=true -Dtest=ItemImportBenchmarkTest}.
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemImportBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int SINGLE_SAVES = 5_000;
+
+    private final ItemImportService itemImportService;
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+
+    @SneakyThrows
+    @Test
+    void importItems() {
+        final var owner = userRepository.save(User.builder().name("importer").email("importer@t.to").build());
+        final var body = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            body.append("{\"name\":\"item ").append(i).append("\",\"description\":\"desc\",\"available\":true}\n");
+        }
+        final var bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+
+        var started = System.nanoTime();
+        final var reader = itemImportService.open(owner.getId(), "application/x-ndjson",
+                new ByteArrayInputStream(bytes));
+        itemImportService.importItems(owner.getId(), reader, OutputStream.nullOutputStream());
+        final var importSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        assertEquals(ROWS, itemRepository.findByOwnerId(owner.getId()).size());
+
+        started = System.nanoTime();
+        for (int i = 0; i < SINGLE_SAVES; i++) {
+            itemService.save(owner.getId(), ItemCreationDto.builder()
+                    .name("single " + i)
+                    .description("desc")
+                    .available(true)
+                    .build());
+        }
+        final var saveSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        log.info(">>> BENCHMARK importItems: {} rows/s, single save: {} rows/s",
+                String.format("%.0f", ROWS / importSeconds), String.format("%.0f", SINGLE_SAVES / saveSeconds));
+    }
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit_server.item.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit_server.exception.IncorrectImportException;
+import ru.practicum.shareit_server.exception.NotFoundException;
+import ru.practicum.shareit_server.item.dto.ItemImportResultDto;
+import ru.practicum.shareit_server.item.duplicate.ItemFingerprint;
+import ru.practicum.shareit_server.item.duplicate.ItemFingerprintIndex;
+import ru.practicum.shareit_server.item.event.ItemsFingerprintedEvent;
+import ru.practicum.shareit_server.item.repository.ItemRepository;
+import ru.practicum.shareit_server.request.model.ItemRequest;
+import ru.practicum.shareit_server.request.repository.ItemRequestRepository;
+import ru.practicum.shareit_server.user.model.User;
+import ru.practicum.shareit_server.user.repository.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest(properties = "shareit.items.import.chunk-size=2")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemImportServiceImplTest {
+
+    private final ItemImportService itemImportService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemFingerprintIndex itemFingerprintIndex;
+    private final ObjectMapper objectMapper;
+
+    @Test
+    void importItems_whenNdjson_thenValidRowsImportedAndInvalidReported() {
+        final var owner = userRepository.save(getUser());
+        final var request = itemRequestRepository.save(ItemRequest.builder()
+                .description("need a drill")
+                .created(LocalDateTime.now())
+                .requestor(owner)
+                .build());
+        final var body = "{\"name\":\"drill\",\"description\":\"drill\",\"available\":true}\n" +
+                "{\"name\":\"saw\",\"description\":\"saw\",\"available\":true,\"requestId\":" + request.getId() + "}\n" +
+                "\n" +
+                "{\"name\":\"\",\"description\":\"blank name\",\"available\":true}\n" +
+                "{\"name\":\"hammer\",\"description\":\"hammer\",\"available\":false,\"requestId\":99}\n" +
+                "{\"name\":\"broken\"\n";
+
+        final var results = importItems(owner.getId(), "application/x-ndjson", body);
+
+        assertAll(
+                () -> assertEquals(5, results.size()),
+                () -> assertNotNull(results.get(0).getId()),
+                () -> assertEquals(1L, results.get(0).getRow()),
+                () -> assertNotNull(results.get(1).getId()),
+                () -> assertEquals(request.getId(),
+                        itemRepository.findById(results.get(1).getId()).orElseThrow().getRequest().getId()),
+                () -> assertEquals(4L, results.get(2).getRow()),
+                () -> assertEquals("Name is blank", results.get(2).getError()),
+                () -> assertEquals("Request not found", results.get(3).getError()),
+                () -> assertTrue(results.get(4).getError().startsWith("Malformed row")),
+                () -> assertEquals(2, itemRepository.findByOwnerId(owner.getId()).size())
+        );
+    }
+
+    @Test
+    void importItems_whenRowSimilarToIndexedItem_thenSimilarItemReported() {
+        final var owner = userRepository.save(getUser());
+        itemFingerprintIndex.onItemsFingerprinted(new ItemsFingerprintedEvent(List.of(
+                ItemFingerprint.of(Long.MAX_VALUE, owner.getId() + 1, "drill", "cordless drill"))));
+        final var body = "{\"name\":\"drill\",\"description\":\"cordless drill\",\"available\":true}\n" +
+                "{\"name\":\"tent\",\"description\":\"tent for four\",\"available\":true}\n";
+
+        final var results = importItems(owner.getId(), "application/x-ndjson", body);
+
+        assertAll(
+                () -> assertNotNull(results.get(0).getId()),
+                () -> assertEquals(List.of(Long.MAX_VALUE), results.get(0).getSimilarItemIds()),
+                () -> assertNull(results.get(1).getSimilarItemIds())
+        );
+    }
+
+    @Test
+    void importItems_whenCsv_thenRowsImported() {
+        final var owner = userRepository.save(getUser());
+        final var body = "available,name,description\n" +
+                "true,drill,\"cordless, 18V \"\"pro\"\"\"\n" +
+                "maybe,saw,saw\n" +
+                "false,hammer,hammer\n";
+
+        final var results = importItems(owner.getId(), "text/csv", body);
+        final var drill = itemRepository.findById(results.get(0).getId()).orElseThrow();
+
+        assertAll(
+                () -> assertEquals(3, results.size()),
+                () -> assertEquals("cordless, 18V \"pro\"", drill.getDescription()),
+                () -> assertTrue(drill.getAvailable()),
+                () -> assertEquals(3L, results.get(1).getRow()),
+                () -> assertNotNull(results.get(1).getError()),
+                () -> assertNotNull(results.get(2).getId())
+        );
+    }
+
+    @Test
+    void open_whenCsvHeaderIncomplete_thenIncorrectImportExceptionThrown() {
+        final var owner = userRepository.save(getUser());
+
+        assertThrows(IncorrectImportException.class, () -> itemImportService.open(owner.getId(), "text/csv",
+                new ByteArrayInputStream("name,description\n".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void open_whenUserNotFound_thenNotFoundExceptionThrown() {
+        assertThrows(NotFoundException.class, () -> itemImportService.open(99L, "text/csv",
+                new ByteArrayInputStream(new byte[0])));
+    }
+
+    @SneakyThrows
+    private List<ItemImportResultDto> importItems(final Long ownerId, final String contentType, final String body) {
+        final var reader = itemImportService.open(ownerId, contentType,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        final var report = new ByteArrayOutputStream();
+
+        itemImportService.importItems(ownerId, reader, report);
+
+        final List<ItemImportResultDto> results = new ArrayList<>();
+        for (String line : report.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, ItemImportResultDto.class));
+        }
+        return results;
+    }
+
+    private User getUser() {
+        return User.builder()
+                .name("owner")
+                .email("owner@i.to")
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit_server.item.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit_server.exception.NotFoundException;
+
+import javax.sql.DataSource;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ItemReadExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private ItemReadExecutor itemReadExecutor;
+
+    @AfterEach
+    void destroy() {
+        itemReadExecutor.destroy();
+    }
+
+    @Test
+    void submit_whenEnabled_thenReadRunsOnExecutor() {
+        itemReadExecutor = new ItemReadExecutor(true, 2, 2, transactionManager, mock(DataSource.class),
+                meterRegistry);
+
+        final var thread = ItemReadExecutor.join(itemReadExecutor.submit(() -> Thread.currentThread().getName()));
+
+        assertAll(
+                () -> assertTrue(thread.startsWith("item-read-")),
+                () -> assertEquals(1.0, readCount("concurrent"))
+        );
+    }
+
+    @Test
+    void submit_whenDisabled_thenReadRunsInCallingThread() {
+        itemReadExecutor = new ItemReadExecutor(false, 2, 2, transactionManager, mock(DataSource.class),
+                meterRegistry);
+
+        final var thread = ItemReadExecutor.join(itemReadExecutor.submit(() -> Thread.currentThread().getName()));
+
+        assertAll(
+                () -> assertEquals(Thread.currentThread().getName(), thread),
+                () -> assertEquals(1.0, readCount("sequential"))
+        );
+    }
+
+    @SneakyThrows
+    @Test
+    void submit_whenExecutorFull_thenReadRunsInCallingThread() {
+        itemReadExecutor = new ItemReadExecutor(true, 1, 1, transactionManager, mock(DataSource.class),
+                meterRegistry);
+        final var release = new CountDownLatch(1);
+        final CompletableFuture<Object> running = itemReadExecutor.submit(() -> await(release));
+        final CompletableFuture<Object> queued = itemReadExecutor.submit(() -> await(release));
+
+        final var thread = ItemReadExecutor.join(itemReadExecutor.submit(() -> Thread.currentThread().getName()));
+        release.countDown();
+
+        assertAll(
+                () -> assertEquals(Thread.currentThread().getName(), thread),
+                () -> assertNull(running.get()),
+                () -> assertNull(queued.get())
+        );
+    }
+
+    @SneakyThrows
+    @Test
+    void submit_whenPoolSaturated_thenReadRunsInCallingThread() {
+        final var dataSource = mock(DataSource.class);
+        final var hikariDataSource = mock(HikariDataSource.class);
+        final var pool = mock(HikariPoolMXBean.class);
+        when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+        when(dataSource.unwrap(HikariDataSource.class)).thenReturn(hikariDataSource);
+        when(hikariDataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(pool.getIdleConnections()).thenReturn(0);
+        itemReadExecutor = new ItemReadExecutor(true, 2, 2, transactionManager, dataSource, meterRegistry);
+
+        final var thread = ItemReadExecutor.join(itemReadExecutor.submit(() -> Thread.currentThread().getName()));
+
+        assertEquals(Thread.currentThread().getName(), thread);
+    }
+
+    @Test
+    void join_whenReadFailed_thenCauseThrown() {
+        itemReadExecutor = new ItemReadExecutor(true, 2, 2, transactionManager, mock(DataSource.class),
+                meterRegistry);
+
+        final CompletableFuture<Object> read = itemReadExecutor.submit(() -> {
+            throw new NotFoundException("User does not exist");
+        });
+
+        final var exception = assertThrows(NotFoundException.class, () -> ItemReadExecutor.join(read));
+        assertEquals("User does not exist", exception.getMessage());
+    }
+
+    private double readCount(final String mode) {
+        return meterRegistry.get("items.fan-out.reads").tag("mode", mode).counter().count();
+    }
+
+    @SneakyThrows
+    private static Object await(final CountDownLatch latch) {
+        latch.await();
+        return null;
+    }
+}
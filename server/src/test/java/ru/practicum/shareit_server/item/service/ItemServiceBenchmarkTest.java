@@ -0,0 +1,79 @@
+package ru.practicum.shareit_server.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit_server.item.model.Item;
+import ru.practicum.shareit_server.item.repository.ItemRepository;
+import ru.practicum.shareit_server.user.model.User;
+import ru.practicum.shareit_server.user.repository.UserRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Run with {@code mvn test -Dbenchmark=true -Dtest=ItemServiceBenchmarkTest}.
+ */
+@Slf4j
+@Transactional
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemServiceBenchmarkTest {
+
+    private static final int ITEMS = 100;
+    private static final int BOOKINGS_PER_ITEM = 10_000;
+    private static final int RUNS = 20;
+
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ItemBookingsRefresher itemBookingsRefresher;
+
+    @Test
+    void findAllOwnerItems() {
+        final var owner = userRepository.save(User.builder().name("owner").email("owner@t.to").build());
+        final var booker = userRepository.save(User.builder().name("booker").email("booker@t.to").build());
+        final var now = LocalDateTime.now();
+
+        for (int i = 0; i < ITEMS; i++) {
+            final var item = itemRepository.save(Item.builder()
+                    .ownerId(owner.getId())
+                    .name("item " + i)
+                    .description("desc")
+                    .available(true)
+                    .build());
+            final List<Object[]> bookings = new ArrayList<>();
+            for (int j = 0; j < BOOKINGS_PER_ITEM; j++) {
+                final var start = now.minusDays(BOOKINGS_PER_ITEM / 2).plusDays(j);
+                bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)),
+                        item.getId(), booker.getId()});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO booking (start_date, end_date, item_id, booker_id, status) " +
+                    "VALUES (?, ?, ?, ?, 'APPROVED')", bookings);
+        }
+        itemBookingsRefresher.refresh(itemRepository.findByOwnerId(owner.getId()), now);
+
+        itemService.findAllOwnerItems(owner.getId(), 0, ITEMS);
+
+        final var started = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            final var items = itemService.findAllOwnerItems(owner.getId(), 0, ITEMS);
+            assertEquals(ITEMS, items.size());
+        }
+        final var elapsedMillis = (System.nanoTime() - started) / 1_000_000.0 / RUNS;
+
+        log.info(">>> BENCHMARK findAllOwnerItems: {} items x {} bookings, {} ms per call",
+                ITEMS, BOOKINGS_PER_ITEM, String.format("%.2f", elapsedMillis));
+    }
+}
@@ -9,20 +9,32 @@ import ru.practicum.shareit_server.booking.model.Booking;
 import ru.practicum.shareit_server.booking.model.BookingStatus;
 import ru.practicum.shareit_server.booking.repository.BookingRepository;
 import ru.practicum.shareit_server.exception.AccessDeniedException;
+import ru.practicum.shareit_server.exception.IncorrectCursorException;
 import ru.practicum.shareit_server.exception.NotFoundException;
 import ru.practicum.shareit_server.exception.UnavailableException;
 import ru.practicum.shareit_server.item.dto.CommentCreationDto;
+import ru.practicum.shareit_server.item.dto.DuplicateClusterDto;
+import ru.practicum.shareit_server.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit_server.item.dto.ItemCreationDto;
+import ru.practicum.shareit_server.item.dto.ItemFields;
+import ru.practicum.shareit_server.item.duplicate.ItemFingerprint;
+import ru.practicum.shareit_server.item.duplicate.ItemFingerprintIndex;
+import ru.practicum.shareit_server.item.duplicate.SimHash;
+import ru.practicum.shareit_server.item.event.ItemsFingerprintedEvent;
 import ru.practicum.shareit_server.item.model.Comment;
 import ru.practicum.shareit_server.item.model.Item;
 import ru.practicum.shareit_server.item.repository.CommentRepository;
 import ru.practicum.shareit_server.item.repository.ItemRepository;
+import ru.practicum.shareit_server.item.stats.StatsPeriod;
 import ru.practicum.shareit_server.request.model.ItemRequest;
 import ru.practicum.shareit_server.request.repository.ItemRequestRepository;
 import ru.practicum.shareit_server.user.model.User;
 import ru.practicum.shareit_server.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -37,6 +49,8 @@ public class ItemServiceImplTest {
     private final ItemRequestRepository itemRequestRepository;
     private final CommentRepository commentRepository;
     private final ItemRepository itemRepository;
+    private final ItemBookingsRefresher itemBookingsRefresher;
+    private final ItemFingerprintIndex itemFingerprintIndex;
 
     @Test
     void findItemById_whenInvoked_thenReturnedItem() {
@@ -130,6 +144,7 @@ public class ItemServiceImplTest {
                 .build();
         bookingRepository.save(lastBooking);
         bookingRepository.save(nextBooking);
+        itemBookingsRefresher.refresh(item.getId(), LocalDateTime.now());
 
         final var actualItem = itemService.findById(owner.getId(), item.getId());
 
@@ -147,6 +162,46 @@ public class ItemServiceImplTest {
         );
     }
 
+    @Test
+    void findItemById_whenBookingsRolledOver_thenReturnedActualBookings() {
+        // create users
+        final var owner = userRepository.save(getUser());
+        final var booker = getUser();
+        booker.setEmail("newemail@w.to");
+        userRepository.save(booker);
+        // create item
+        final var item = getItem();
+        item.setOwnerId(owner.getId());
+        itemRepository.save(item);
+        // create bookings
+        final var lastBooking = Booking.builder()
+                .status(BookingStatus.APPROVED)
+                .booker(booker)
+                .item(item)
+                .start(LocalDateTime.now().minusHours(2))
+                .end(LocalDateTime.now().minusHours(1))
+                .build();
+        final var nextBooking = Booking.builder()
+                .booker(booker)
+                .item(item)
+                .start(LocalDateTime.now().plusHours(1))
+                .end(LocalDateTime.now().plusHours(2))
+                .build();
+        bookingRepository.save(lastBooking);
+        bookingRepository.save(nextBooking);
+        // stored references were computed before the last booking started
+        itemBookingsRefresher.refresh(item.getId(), LocalDateTime.now().minusHours(3));
+
+        final var actualItem = itemService.findById(owner.getId(), item.getId());
+
+        assertAll(
+                () -> assertNotNull(actualItem.getLastBooking()),
+                () -> assertNotNull(actualItem.getNextBooking()),
+                () -> assertEquals(lastBooking.getId(), actualItem.getLastBooking().getId()),
+                () -> assertEquals(nextBooking.getId(), actualItem.getNextBooking().getId())
+        );
+    }
+
     @Test
     void findItemById_whenItemWithComments_thenReturnedItem() {
         // create users
@@ -197,6 +252,36 @@ public class ItemServiceImplTest {
         );
     }
 
+    @Test
+    void findItemById_whenCommentsNotRequested_thenCommentsNotLoaded() {
+        // create users
+        final var owner = userRepository.save(getUser());
+        final var booker = getUser();
+        booker.setEmail("newemail@t.to");
+        userRepository.save(booker);
+        // create item
+        final var item = getItem();
+        item.setOwnerId(owner.getId());
+        itemRepository.save(item);
+        // create comment
+        commentRepository.save(
+                Comment.builder()
+                        .created(LocalDateTime.now())
+                        .item(item)
+                        .author(booker)
+                        .text("Wow, i'm commenting.")
+                        .build()
+        );
+
+        final var actualItem = itemService.findById(booker.getId(), item.getId(), ItemFields.parse("id,name"));
+
+        assertAll(
+                () -> assertNotNull(actualItem),
+                () -> assertNull(actualItem.getComments()),
+                () -> assertEquals(item.getName(), actualItem.getName())
+        );
+    }
+
     @Test
     void findAllOwnerItems_whenInvoked_thenReturnedItems() {
         final var ownerId = userRepository.save(getUser()).getId();
@@ -215,6 +300,62 @@ public class ItemServiceImplTest {
         );
     }
 
+    @Test
+    void findAllOwnerItems_whenItemsWithBookingsAndComments_thenReturnedItems() {
+        // create users
+        final var owner = userRepository.save(getUser());
+        final var booker = getUser();
+        booker.setEmail("booker@t.to");
+        userRepository.save(booker);
+        // create items
+        final var item = getItem();
+        item.setOwnerId(owner.getId());
+        itemRepository.save(item);
+        final var item2 = getItem();
+        item2.setOwnerId(owner.getId());
+        itemRepository.save(item2);
+        // create bookings
+        final var lastBooking = Booking.builder()
+                .status(BookingStatus.APPROVED)
+                .booker(booker)
+                .item(item)
+                .start(LocalDateTime.now().minusHours(2))
+                .end(LocalDateTime.now().minusHours(1))
+                .build();
+        final var nextBooking = Booking.builder()
+                .status(BookingStatus.WAITING)
+                .booker(booker)
+                .item(item)
+                .start(LocalDateTime.now().plusHours(1))
+                .end(LocalDateTime.now().plusHours(2))
+                .build();
+        bookingRepository.save(lastBooking);
+        bookingRepository.save(nextBooking);
+        itemBookingsRefresher.refresh(item.getId(), LocalDateTime.now());
+        // create comment
+        commentRepository.save(
+                Comment.builder()
+                        .created(LocalDateTime.now())
+                        .item(item)
+                        .author(booker)
+                        .text("Wow, i'm commenting.")
+                        .build()
+        );
+
+        final var actualItems = itemService.findAllOwnerItems(owner.getId(), 0, 10);
+
+        assertAll(
+                () -> assertEquals(2, actualItems.size()),
+                () -> assertEquals(lastBooking.getId(), actualItems.get(0).getLastBooking().getId()),
+                () -> assertEquals(booker.getId(), actualItems.get(0).getLastBooking().getBookerId()),
+                () -> assertEquals(nextBooking.getId(), actualItems.get(0).getNextBooking().getId()),
+                () -> assertEquals(1, actualItems.get(0).getComments().size()),
+                () -> assertNull(actualItems.get(1).getLastBooking()),
+                () -> assertNull(actualItems.get(1).getNextBooking()),
+                () -> assertEquals(0, actualItems.get(1).getComments().size())
+        );
+    }
+
     @Test
     void findAllOwnerItem_whenUserNotFound_thenNotFoundExceptionThrown() {
         final var exception = assertThrows(NotFoundException.class,
@@ -366,10 +507,61 @@ public class ItemServiceImplTest {
 
         assertAll(
                 () -> assertNotNull(actualComment),
-                () -> assertEquals(comment.getText(), actualComment.getText())
+                () -> assertEquals(comment.getText(), actualComment.getText()),
+                () -> assertEquals(1L, itemService.findById(ownerId, item.getId()).getCommentCount())
+        );
+    }
+
+    @Test
+    void findComments_whenPagedWithCursor_thenReturnedAllComments() {
+        // create users
+        final var owner = userRepository.save(getUser());
+        final var author = getUser();
+        author.setEmail("newemail@t.to");
+        userRepository.save(author);
+        // create item
+        final var item = getItem();
+        item.setOwnerId(owner.getId());
+        itemRepository.save(item);
+        // create comments, two of them written at the same moment
+        final var created = LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 5; i++) {
+            commentRepository.save(
+                    Comment.builder()
+                            .created(created.plusHours(Math.min(i, 3)))
+                            .item(item)
+                            .author(author)
+                            .text("comment " + i)
+                            .build()
+            );
+        }
+
+        final var firstPage = itemService.findComments(owner.getId(), item.getId(), null, 2);
+        final var secondPage = itemService.findComments(owner.getId(), item.getId(), firstPage.getNextCursor(), 2);
+        final var lastPage = itemService.findComments(owner.getId(), item.getId(), secondPage.getNextCursor(), 2);
+
+        assertAll(
+                () -> assertEquals("comment 4", firstPage.getComments().get(0).getText()),
+                () -> assertEquals("comment 3", firstPage.getComments().get(1).getText()),
+                () -> assertEquals("comment 2", secondPage.getComments().get(0).getText()),
+                () -> assertEquals("comment 1", secondPage.getComments().get(1).getText()),
+                () -> assertEquals(1, lastPage.getComments().size()),
+                () -> assertEquals("comment 0", lastPage.getComments().get(0).getText()),
+                () -> assertNull(lastPage.getNextCursor())
         );
     }
 
+    @Test
+    void findComments_whenCursorInvalid_thenIncorrectCursorExceptionThrown() {
+        final var ownerId = userRepository.save(getUser()).getId();
+        final var item = getItem();
+        item.setOwnerId(ownerId);
+        itemRepository.save(item);
+
+        assertThrows(IncorrectCursorException.class,
+                () -> itemService.findComments(ownerId, item.getId(), "whatever", 2));
+    }
+
     @Test
     void addComment_whenUserNotFound_thenNotFoundExceptionThrown() {
         // create users
@@ -528,6 +720,163 @@ public class ItemServiceImplTest {
         assertEquals("Item not found", exception.getMessage());
     }
 
+    @Test
+    void findItemsByIds_thenReturnedViewsForUserInRequestOrder() {
+        final var owner = userRepository.save(getUser());
+        final var other = getUser();
+        other.setEmail("other@t.to");
+        userRepository.save(other);
+        final var own = getItem();
+        own.setOwnerId(owner.getId());
+        itemRepository.save(own);
+        final var foreign = getItem();
+        foreign.setOwnerId(other.getId());
+        itemRepository.save(foreign);
+        bookingRepository.save(Booking.builder()
+                .status(BookingStatus.APPROVED)
+                .booker(other)
+                .item(own)
+                .start(LocalDateTime.now().minusHours(2))
+                .end(LocalDateTime.now().minusHours(1))
+                .build());
+        bookingRepository.save(Booking.builder()
+                .status(BookingStatus.APPROVED)
+                .booker(owner)
+                .item(foreign)
+                .start(LocalDateTime.now().minusHours(2))
+                .end(LocalDateTime.now().minusHours(1))
+                .build());
+        itemBookingsRefresher.refresh(List.of(own, foreign), LocalDateTime.now());
+
+        final var items = itemService.findByIds(owner.getId(), List.of(foreign.getId(), 99L, own.getId()));
+
+        assertAll(
+                () -> assertEquals(2, items.size()),
+                () -> assertEquals(foreign.getId(), items.get(0).getId()),
+                () -> assertNull(items.get(0).getLastBooking()),
+                () -> assertEquals(own.getId(), items.get(1).getId()),
+                () -> assertNotNull(items.get(1).getLastBooking()),
+                () -> assertNotNull(items.get(1).getComments())
+        );
+    }
+
+    @Test
+    void updateAvailability_whenItemIds_thenOnlyChangedOwnItemsUpdated() {
+        final var ownerId = userRepository.save(getUser()).getId();
+        final var other = getUser();
+        other.setEmail("other@t.to");
+        final var otherId = userRepository.save(other).getId();
+        final var first = getItem();
+        first.setOwnerId(ownerId);
+        itemRepository.save(first);
+        final var unavailable = getItem();
+        unavailable.setOwnerId(ownerId);
+        unavailable.setAvailable(false);
+        itemRepository.save(unavailable);
+        final var foreign = getItem();
+        foreign.setOwnerId(otherId);
+        itemRepository.save(foreign);
+
+        final var itemIds = itemService.updateAvailability(ownerId, ItemAvailabilityDto.builder()
+                .itemIds(List.of(first.getId(), unavailable.getId(), foreign.getId()))
+                .available(false)
+                .build());
+
+        assertAll(
+                () -> assertEquals(List.of(first.getId()), itemIds),
+                () -> assertFalse(itemRepository.findById(first.getId()).orElseThrow().getAvailable()),
+                () -> assertTrue(itemRepository.findById(foreign.getId()).orElseThrow().getAvailable())
+        );
+    }
+
+    @Test
+    void updateAvailability_whenAll_thenEveryOwnItemUpdated() {
+        final var ownerId = userRepository.save(getUser()).getId();
+        for (int i = 0; i < 3; i++) {
+            final var item = getItem();
+            item.setOwnerId(ownerId);
+            itemRepository.save(item);
+        }
+        final var other = getUser();
+        other.setEmail("other@t.to");
+        final var foreign = getItem();
+        foreign.setOwnerId(userRepository.save(other).getId());
+        itemRepository.save(foreign);
+
+        final var itemIds = itemService.updateAvailability(ownerId, ItemAvailabilityDto.builder()
+                .all(true)
+                .available(false)
+                .build());
+
+        assertAll(
+                () -> assertEquals(3, itemIds.size()),
+                () -> assertTrue(itemRepository.findByOwnerId(ownerId).stream().noneMatch(Item::getAvailable)),
+                () -> assertTrue(itemRepository.findById(foreign.getId()).orElseThrow().getAvailable())
+        );
+    }
+
+    @Test
+    void updateAvailability_whenUserNotFound_thenNotFoundExceptionThrown() {
+        final var exception = assertThrows(NotFoundException.class,
+                () -> itemService.updateAvailability(99L, ItemAvailabilityDto.builder()
+                        .all(true)
+                        .available(false)
+                        .build()));
+
+        assertEquals("User does not exist", exception.getMessage());
+    }
+
+    @Test
+    void findStats_whenNotOwner_thenAccessDeniedExceptionThrown() {
+        // create users
+        final var ownerId = userRepository.save(getUser()).getId();
+        final var user = getUser();
+        user.setEmail("new@m.to");
+        userRepository.save(user);
+        // create item
+        final var item = getItem();
+        item.setOwnerId(ownerId);
+        itemRepository.save(item);
+
+        final var exception = assertThrows(AccessDeniedException.class,
+                () -> itemService.findStats(user.getId(), item.getId(), StatsPeriod.WEEK));
+
+        assertAll(
+                () -> assertEquals("Access is denied", exception.getMessage()),
+                () -> assertEquals(item.getId(), itemService.findStats(ownerId, item.getId(), StatsPeriod.WEEK)
+                        .getItemId())
+        );
+    }
+
+    @Test
+    void findDuplicateClusters_whenIndexedItemDeleted_thenDroppedFromClustersAndIndexUntouched() {
+        // create user
+        final var ownerId = userRepository.save(getUser()).getId();
+        // create items
+        final var first = getItem();
+        first.setOwnerId(ownerId);
+        itemRepository.save(first);
+        final var second = getItem();
+        second.setOwnerId(ownerId);
+        itemRepository.save(second);
+        // index items and a deleted one
+        final var fingerprint = SimHash.fingerprint("item", "desc");
+        itemFingerprintIndex.onItemsFingerprinted(new ItemsFingerprintedEvent(List.of(
+                new ItemFingerprint(first.getId(), ownerId, fingerprint),
+                new ItemFingerprint(second.getId(), ownerId, fingerprint),
+                new ItemFingerprint(Long.MAX_VALUE, ownerId, fingerprint))));
+
+        final var clusters = itemService.findDuplicateClusters(10);
+
+        assertAll(
+                () -> assertEquals(List.of(List.of(first.getId(), second.getId())), clusters.stream()
+                        .map(DuplicateClusterDto::getItemIds)
+                        .collect(Collectors.toList())),
+                () -> assertTrue(itemFingerprintIndex.findSimilar(fingerprint).stream()
+                        .anyMatch(item -> item.getItemId().equals(Long.MAX_VALUE)))
+        );
+    }
+
     private User getUser() {
         return User.builder()
                 .email("email@t.to")
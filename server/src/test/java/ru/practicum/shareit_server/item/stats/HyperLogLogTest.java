@@ -0,0 +1,43 @@
+package ru.practicum.shareit_server.item.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HyperLogLogTest {
+
+    @Test
+    void estimate_whenFewValues_thenExact() {
+        final var renters = new HyperLogLog();
+        for (long value = 1; value <= 20; value++) {
+            renters.add(value);
+            renters.add(value);
+        }
+
+        assertEquals(20, renters.estimate());
+    }
+
+    @Test
+    void estimate_whenManyValues_thenWithinFivePercent() {
+        final var renters = new HyperLogLog();
+        for (long value = 1; value <= 100_000; value++) {
+            renters.add(value);
+        }
+
+        assertEquals(100_000, renters.estimate(), 5_000);
+    }
+
+    @Test
+    void merge_thenUnionEstimated() {
+        final var first = new HyperLogLog();
+        final var second = new HyperLogLog();
+        for (long value = 1; value <= 30; value++) {
+            first.add(value);
+            second.add(value + 20);
+        }
+
+        first.merge(HyperLogLog.fromBytes(second.toBytes()));
+
+        assertEquals(50, first.estimate(), 1);
+    }
+}
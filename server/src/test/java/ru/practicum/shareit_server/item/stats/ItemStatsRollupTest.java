@@ -0,0 +1,152 @@
+package ru.practicum.shareit_server.item.stats;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit_server.booking.event.BookingEvent;
+import ru.practicum.shareit_server.booking.model.Booking;
+import ru.practicum.shareit_server.booking.model.BookingStatus;
+import ru.practicum.shareit_server.booking.repository.BookingRepository;
+import ru.practicum.shareit_server.item.model.Item;
+import ru.practicum.shareit_server.item.repository.ItemRepository;
+import ru.practicum.shareit_server.user.model.User;
+import ru.practicum.shareit_server.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemStatsRollupTest {
+
+    private static final Long ITEM_ID = 1_000_001L;
+    private static final Long OWNER_ID = 1_000_002L;
+
+    private final ItemStatsRollup itemStatsRollup;
+    private final ItemStatsStore itemStatsStore;
+    private final StatsWatermarkRepository statsWatermarkRepository;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+
+    @Test
+    void onBookingChanged_whenBookingsCreatedAndRejected_thenCountedForItemAndOwner() {
+        final var now = LocalDateTime.now();
+        itemStatsRollup.onBookingChanged(event(BookingEvent.Type.CREATED, 10L, BookingStatus.WAITING, null, now), now);
+        itemStatsRollup.onBookingChanged(event(BookingEvent.Type.CREATED, 10L, BookingStatus.WAITING, null, now), now);
+        itemStatsRollup.onBookingChanged(event(BookingEvent.Type.CREATED, 11L, BookingStatus.WAITING, null, now), now);
+        itemStatsRollup.onBookingChanged(event(BookingEvent.Type.STATUS_CHANGED, 11L, BookingStatus.REJECTED,
+                BookingStatus.WAITING, now), now);
+
+        final var itemStats = itemStatsStore.find(StatsScope.ITEM, ITEM_ID, StatsPeriod.DAY, now.toLocalDate());
+        final var ownerStats = itemStatsStore.find(StatsScope.OWNER, OWNER_ID, StatsPeriod.WEEK, now.toLocalDate());
+
+        assertAll(
+                () -> assertEquals(ITEM_ID, itemStats.getItemId()),
+                () -> assertEquals(3, itemStats.getBookings()),
+                () -> assertEquals(1, itemStats.getRejected()),
+                () -> assertEquals(1.0 / 3, itemStats.getRejectionRate(), 1e-9),
+                () -> assertEquals(2, itemStats.getDistinctRenters()),
+                () -> assertNull(ownerStats.getItemId()),
+                () -> assertEquals(3, ownerStats.getBookings()),
+                () -> assertEquals(now.toLocalDate().minusDays(6), ownerStats.getFrom())
+        );
+    }
+
+    @Test
+    void onBookingChanged_whenCreatedBeforePeriod_thenNotCounted() {
+        final var now = LocalDateTime.now();
+        itemStatsRollup.onBookingChanged(event(BookingEvent.Type.CREATED, 10L, BookingStatus.WAITING, null,
+                now.minusDays(2)), now);
+
+        assertAll(
+                () -> assertEquals(0, itemStatsStore.find(StatsScope.ITEM, ITEM_ID, StatsPeriod.DAY,
+                        now.toLocalDate()).getBookings()),
+                () -> assertEquals(1, itemStatsStore.find(StatsScope.ITEM, ITEM_ID, StatsPeriod.WEEK,
+                        now.toLocalDate()).getBookings())
+        );
+    }
+
+    @Test
+    void rollupEndedBookings_thenBookedTimeAddedOnce() {
+        final var now = LocalDateTime.now();
+        final var owner = userRepository.save(User.builder().name("owner").email("owner@t.to").build());
+        final var booker = userRepository.save(User.builder().name("booker").email("booker@t.to").build());
+        final var item = itemRepository.save(Item.builder()
+                .ownerId(owner.getId())
+                .name("item")
+                .description("desc")
+                .available(true)
+                .build());
+        bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .start(now.minusHours(3))
+                .end(now.minusHours(1))
+                .build());
+        bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.REJECTED)
+                .start(now.minusHours(3))
+                .end(now.minusHours(1))
+                .build());
+        statsWatermarkRepository.findById(StatsWatermark.BOOKING_END).orElseThrow().setWatermark(now.minusDays(1));
+
+        assertEquals(1, itemStatsRollup.rollupEndedBookings(now));
+        assertEquals(0, itemStatsRollup.rollupEndedBookings(now));
+
+        final var endDay = now.minusHours(1).toLocalDate();
+        assertAll(
+                () -> assertEquals(2.0, itemStatsStore.find(StatsScope.ITEM, item.getId(), StatsPeriod.WEEK,
+                        endDay).getBookedHours(), 1e-9),
+                () -> assertEquals(2.0, itemStatsStore.find(StatsScope.OWNER, owner.getId(), StatsPeriod.WEEK,
+                        endDay).getBookedHours(), 1e-9)
+        );
+    }
+
+    @Test
+    void onBookingChanged_whenRolledUpBookingRejected_thenBookedTimeRemoved() {
+        final var now = LocalDateTime.now();
+        statsWatermarkRepository.findById(StatsWatermark.BOOKING_END).orElseThrow().setWatermark(now);
+        final var event = BookingEvent.builder()
+                .type(BookingEvent.Type.STATUS_CHANGED)
+                .itemId(ITEM_ID)
+                .ownerId(OWNER_ID)
+                .bookerId(10L)
+                .status(BookingStatus.REJECTED)
+                .previousStatus(BookingStatus.APPROVED)
+                .created(now.minusDays(1))
+                .start(now.minusHours(3))
+                .end(now.minusHours(1))
+                .build();
+
+        itemStatsRollup.onBookingChanged(event, now);
+
+        assertEquals(-2.0, itemStatsStore.find(StatsScope.ITEM, ITEM_ID, StatsPeriod.WEEK,
+                now.minusHours(1).toLocalDate()).getBookedHours(), 1e-9);
+    }
+
+    private static BookingEvent event(final BookingEvent.Type type,
+                                      final Long bookerId,
+                                      final BookingStatus status,
+                                      final BookingStatus previousStatus,
+                                      final LocalDateTime created) {
+        return BookingEvent.builder()
+                .type(type)
+                .itemId(ITEM_ID)
+                .ownerId(OWNER_ID)
+                .bookerId(bookerId)
+                .status(status)
+                .previousStatus(previousStatus)
+                .created(created)
+                .start(created.plusDays(1))
+                .end(created.plusDays(2))
+                .build();
+    }
+}
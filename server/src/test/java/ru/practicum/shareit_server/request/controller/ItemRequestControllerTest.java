@@ -8,9 +8,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit_server.item.dto.ItemCreationDto;
 import ru.practicum.shareit_server.request.dto.ItemRequestCreationDto;
 import ru.practicum.shareit_server.request.dto.ItemRequestDto;
 import ru.practicum.shareit_server.request.dto.ItemRequestInfoDto;
+import ru.practicum.shareit_server.request.dto.ItemRequestPageDto;
 import ru.practicum.shareit_server.request.service.ItemRequestService;
 
 import java.util.List;
@@ -105,6 +107,37 @@ public class ItemRequestControllerTest {
         );
     }
 
+    @SneakyThrows
+    @Test
+    void findFeed_thenResponseIsOk() {
+        when(itemRequestService.findFeed(1L, "abc", 10)).thenReturn(ItemRequestPageDto.builder()
+                .requests(List.of(getItemRequestInfoDto()))
+                .nextCursor("def")
+                .build());
+
+        mockMvc.perform(get("/requests/feed?cursor={cursor}&size={size}", "abc", 10)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requests", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+
+        verify(itemRequestService).findFeed(1L, "abc", 10);
+    }
+
+    @SneakyThrows
+    @Test
+    void findSuggestions_thenResponseIsOk() {
+        when(itemRequestService.findSuggestions(1L, 2L, 10))
+                .thenReturn(List.of(ItemCreationDto.builder().id(3L).build()));
+
+        mockMvc.perform(get("/requests/{requestId}/suggestions", 2L)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3));
+
+        verify(itemRequestService).findSuggestions(1L, 2L, 10);
+    }
+
     private ItemRequestInfoDto getItemRequestInfoDto() {
         return ItemRequestInfoDto.builder().build();
     }
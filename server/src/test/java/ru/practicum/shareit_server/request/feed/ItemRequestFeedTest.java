@@ -0,0 +1,127 @@
+package ru.practicum.shareit_server.request.feed;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit_server.item.dto.ItemCreationDto;
+import ru.practicum.shareit_server.item.event.ItemsUpdatedEvent;
+import ru.practicum.shareit_server.item.model.Item;
+import ru.practicum.shareit_server.item.repository.ItemRepository;
+import ru.practicum.shareit_server.request.dto.ItemRequestCursor;
+import ru.practicum.shareit_server.request.dto.ItemRequestInfoDto;
+import ru.practicum.shareit_server.request.event.ItemRequestSavedEvent;
+import ru.practicum.shareit_server.request.model.ItemRequest;
+import ru.practicum.shareit_server.request.repository.ItemRequestRepository;
+import ru.practicum.shareit_server.user.event.UserDeletedEvent;
+import ru.practicum.shareit_server.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ItemRequestFeedTest {
+
+    private static final Long OWNER_ID = 1L;
+    private static final Long REQUESTOR_ID = 2L;
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private ItemRepository itemRepository;
+    private ItemRequestRepository itemRequestRepository;
+    private ItemRequestFeed itemRequestFeed;
+
+    @BeforeEach
+    void init() {
+        itemRepository = mock(ItemRepository.class);
+        itemRequestRepository = mock(ItemRequestRepository.class);
+        itemRequestFeed = new ItemRequestFeed(itemRepository, itemRequestRepository);
+        itemRequestFeed.onItemRequestSaved(new ItemRequestSavedEvent(10L, REQUESTOR_ID, "drill", NOW));
+        itemRequestFeed.onItemRequestSaved(new ItemRequestSavedEvent(11L, OWNER_ID, "ladder", NOW.plusMinutes(1)));
+        itemRequestFeed.onItemRequestSaved(new ItemRequestSavedEvent(12L, REQUESTOR_ID, "saw", NOW.plusMinutes(2)));
+    }
+
+    @Test
+    void find_thenNewestRequestsOfOtherUsers() {
+        assertEquals(List.of(12L, 10L), ids(itemRequestFeed.find(OWNER_ID, 0, 10)));
+        assertEquals(List.of(10L), ids(itemRequestFeed.find(OWNER_ID, 1, 10)));
+        assertEquals(List.of(11L), ids(itemRequestFeed.find(REQUESTOR_ID, 0, 10)));
+    }
+
+    @Test
+    void find_whenCursorGiven_thenRequestsAfterIt() {
+        final var after = new ItemRequestCursor(NOW.plusMinutes(2), 12L);
+
+        assertEquals(List.of(10L), ids(itemRequestFeed.find(OWNER_ID, after, 10)));
+    }
+
+    @Test
+    void onItemsUpdated_thenItemAttachedToRequestWithoutReads() {
+        final var item = item(100L, 10L);
+        when(itemRepository.findAllByIdIn(List.of(100L))).thenReturn(List.of(item));
+
+        itemRequestFeed.onItemsUpdated(new ItemsUpdatedEvent(List.of(100L)));
+        item.setName("renamed");
+        itemRequestFeed.onItemsUpdated(new ItemsUpdatedEvent(List.of(100L)));
+        final var items = itemRequestFeed.find(OWNER_ID, 1, 1).get(0).getItems();
+
+        assertAll(
+                () -> assertEquals(List.of(100L), items.stream()
+                        .map(ItemCreationDto::getId)
+                        .collect(Collectors.toList())),
+                () -> assertEquals("renamed", items.get(0).getName())
+        );
+        verify(itemRepository, times(2)).findAllByIdIn(List.of(100L));
+        verifyNoInteractions(itemRequestRepository);
+    }
+
+    @Test
+    void find_whenReturnedItemChanged_thenFeedUntouched() {
+        when(itemRepository.findAllByIdIn(List.of(100L))).thenReturn(List.of(item(100L, 10L)));
+        itemRequestFeed.onItemsUpdated(new ItemsUpdatedEvent(List.of(100L)));
+
+        itemRequestFeed.find(OWNER_ID, 1, 1).get(0).getItems().get(0).setName("changed");
+
+        assertEquals("item", itemRequestFeed.find(OWNER_ID, 1, 1).get(0).getItems().get(0).getName());
+    }
+
+    @Test
+    void onUserDeleted_thenRequestsAndItemsOfUserDropped() {
+        when(itemRepository.findAllByIdIn(List.of(100L))).thenReturn(List.of(item(100L, 10L)));
+        itemRequestFeed.onItemsUpdated(new ItemsUpdatedEvent(List.of(100L)));
+
+        itemRequestFeed.onUserDeleted(new UserDeletedEvent(REQUESTOR_ID));
+        final var ownerFeed = itemRequestFeed.find(99L, 0, 10);
+
+        assertEquals(List.of(11L), ids(ownerFeed));
+
+        itemRequestFeed.onItemRequestSaved(new ItemRequestSavedEvent(13L, REQUESTOR_ID, "drill", NOW));
+        when(itemRepository.findAllByIdIn(List.of(101L))).thenReturn(List.of(item(101L, 13L)));
+        itemRequestFeed.onItemsUpdated(new ItemsUpdatedEvent(List.of(101L)));
+        itemRequestFeed.onUserDeleted(new UserDeletedEvent(OWNER_ID));
+
+        assertTrue(itemRequestFeed.find(99L, 0, 10).get(0).getItems().isEmpty());
+    }
+
+    private static Item item(final Long id, final Long requestId) {
+        return Item.builder()
+                .id(id)
+                .ownerId(OWNER_ID)
+                .name("item")
+                .description("desc")
+                .available(true)
+                .request(ItemRequest.builder()
+                        .id(requestId)
+                        .requestor(User.builder().id(REQUESTOR_ID).build())
+                        .description("drill")
+                        .created(NOW)
+                        .build())
+                .build();
+    }
+
+    private static List<Long> ids(final List<ItemRequestInfoDto> requests) {
+        return requests.stream()
+                .map(ItemRequestInfoDto::getId)
+                .collect(Collectors.toList());
+    }
+}
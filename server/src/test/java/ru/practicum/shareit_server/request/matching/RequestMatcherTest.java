@@ -0,0 +1,98 @@
+package ru.practicum.shareit_server.request.matching;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit_server.item.event.ItemsUpdatedEvent;
+import ru.practicum.shareit_server.item.repository.ItemRepository;
+import ru.practicum.shareit_server.item.repository.ItemTextView;
+import ru.practicum.shareit_server.request.event.ItemRequestSavedEvent;
+import ru.practicum.shareit_server.request.repository.ItemRequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RequestMatcherTest {
+
+    private static final Long OWNER_ID = 1L;
+    private static final Long REQUESTOR_ID = 2L;
+
+    private ItemRepository itemRepository;
+    private RequestMatcher requestMatcher;
+
+    @BeforeEach
+    void init() {
+        itemRepository = mock(ItemRepository.class);
+        requestMatcher = new RequestMatcher(itemRepository, mock(ItemRequestRepository.class), 30, 1000);
+        when(itemRepository.findTextsAfter(eq(0L), any())).thenReturn(List.of(
+                text(1L, OWNER_ID, "Cordless drill", true),
+                text(2L, REQUESTOR_ID, "Hammer drill", true),
+                text(3L, OWNER_ID, "Old drill", false)));
+        requestMatcher.rebuild();
+    }
+
+    @Test
+    void findItems_thenAvailableItemsOfOtherUsers() {
+        assertEquals(List.of(1L), requestMatcher.findItems(REQUESTOR_ID, "Need a drill", 10));
+    }
+
+    @Test
+    void onItemsUpdated_whenItemBecameUnavailable_thenNotSuggested() {
+        when(itemRepository.findTextsByIdIn(List.of(1L))).thenReturn(List.of(text(1L, OWNER_ID, "Cordless drill",
+                false)));
+
+        requestMatcher.onItemsUpdated(new ItemsUpdatedEvent(List.of(1L)));
+
+        assertTrue(requestMatcher.findItems(REQUESTOR_ID, "Need a drill", 10).isEmpty());
+    }
+
+    @Test
+    void findRequests_thenOpenRequestsOfOtherUsers() {
+        final var now = LocalDateTime.now();
+        requestMatcher.onItemRequestSaved(new ItemRequestSavedEvent(10L, REQUESTOR_ID, "Need a drill", now));
+        requestMatcher.onItemRequestSaved(new ItemRequestSavedEvent(11L, OWNER_ID, "Need a drill too", now));
+        requestMatcher.onItemRequestSaved(new ItemRequestSavedEvent(12L, REQUESTOR_ID, "Old drill request",
+                now.minusDays(31)));
+        requestMatcher.onItemRequestSaved(new ItemRequestSavedEvent(13L, REQUESTOR_ID, "Need a tent", now));
+
+        assertEquals(List.of(10L), requestMatcher.findRequests(OWNER_ID, "Cordless drill", "Makita", 10));
+
+        requestMatcher.pruneExpiredRequests();
+
+        assertEquals(List.of(10L), requestMatcher.findRequests(OWNER_ID, "Cordless drill", "Makita", 10));
+    }
+
+    private static ItemTextView text(final Long id, final Long ownerId, final String name, final Boolean available) {
+        return new ItemTextView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getOwnerId() {
+                return ownerId;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getDescription() {
+                return name;
+            }
+
+            @Override
+            public Boolean getAvailable() {
+                return available;
+            }
+        };
+    }
+}
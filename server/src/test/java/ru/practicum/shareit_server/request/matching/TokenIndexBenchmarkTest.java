@@ -0,0 +1,57 @@
+package ru.practicum.shareit_server.request.matching;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Run with {@code mvn test -Dbenchmark=true -Dtest=TokenIndexBenchmarkTest}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class TokenIndexBenchmarkTest {
+
+    private static final int ITEMS = 1_000_000;
+    private static final int VOCABULARY = 20_000;
+    private static final int WORDS_PER_ITEM = 8;
+    private static final int RUNS = 1_000;
+
+    @Test
+    void search() {
+        final var random = new Random(42);
+        final var index = new TokenIndex(50_000);
+        for (long id = 1; id <= ITEMS; id++) {
+            index.put(id, Tokenizer.tokenize(text(random)));
+        }
+
+        final var queries = new String[RUNS][];
+        for (int i = 0; i < RUNS; i++) {
+            queries[i] = Tokenizer.tokenize(text(random));
+        }
+        index.search(queries[0], 10, id -> true);
+
+        final var started = System.nanoTime();
+        for (String[] query : queries) {
+            assertFalse(index.search(query, 10, id -> true).isEmpty());
+        }
+        final var elapsedMillis = (System.nanoTime() - started) / 1_000_000.0 / RUNS;
+
+        log.info(">>> BENCHMARK TokenIndex.search: {} items, {} ms per query",
+                ITEMS, String.format("%.3f", elapsedMillis));
+    }
+
+    private static String text(final Random random) {
+        final var text = new StringBuilder();
+        for (int i = 0; i < WORDS_PER_ITEM; i++) {
+            // Skewed towards frequent words, like real descriptions
+            final var word = (int) Math.floor(Math.pow(random.nextDouble(), 3) * VOCABULARY);
+            text.append("word").append(word).append(' ');
+        }
+
+        return text.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit_server.request.matching;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenIndexTest {
+
+    private TokenIndex index;
+
+    @BeforeEach
+    void init() {
+        index = new TokenIndex(1000);
+        index.put(1L, Tokenizer.tokenize("Cordless drill", "Makita drill with two batteries"));
+        index.put(2L, Tokenizer.tokenize("Hammer drill", "Bosch hammer drill for concrete"));
+        index.put(3L, Tokenizer.tokenize("Camping tent", "Tent for four with a rain fly"));
+        index.put(4L, Tokenizer.tokenize("Ladder", "Aluminium ladder, four meters"));
+    }
+
+    @Test
+    void tokenize_thenLowercaseWordsWithoutStopWords() {
+        assertArrayEquals(new String[]{"cordless", "drill", "batteries"},
+                Tokenizer.tokenize("I need a Cordless drill,", "with batteries!"));
+    }
+
+    @Test
+    void search_thenRareSharedWordsRankFirst() {
+        assertAll(
+                () -> assertEquals(List.of(2L, 1L), index.search(Tokenizer.tokenize("drill for concrete"), 10,
+                        id -> true)),
+                () -> assertEquals(List.of(3L), index.search(Tokenizer.tokenize("tent"), 10, id -> true)),
+                () -> assertTrue(index.search(Tokenizer.tokenize("bicycle"), 10, id -> true).isEmpty())
+        );
+    }
+
+    @Test
+    void search_whenNotAccepted_thenSkippedBeforeLimit() {
+        assertEquals(List.of(1L), index.search(Tokenizer.tokenize("bosch drill"), 1, id -> id != 2L));
+    }
+
+    @Test
+    void put_whenDocumentReplaced_thenOldTokensForgotten() {
+        index.put(3L, Tokenizer.tokenize("Bicycle"));
+        index.remove(4L);
+
+        assertAll(
+                () -> assertTrue(index.search(Tokenizer.tokenize("tent"), 10, id -> true).isEmpty()),
+                () -> assertEquals(List.of(3L), index.search(Tokenizer.tokenize("bicycle"), 10, id -> true)),
+                () -> assertTrue(index.search(Tokenizer.tokenize("ladder"), 10, id -> true).isEmpty()),
+                () -> assertEquals(3, index.size())
+        );
+    }
+
+    @Test
+    void remove_whenManyDocumentsShareToken_thenOnlyRemovedOnesForgotten() {
+        final var shared = new TokenIndex(10_000);
+        for (long id = 1; id <= 1000; id++) {
+            shared.put(id, Tokenizer.tokenize("drill"));
+        }
+        for (long id = 2; id <= 1000; id += 2) {
+            shared.remove(id);
+        }
+
+        final var found = shared.search(Tokenizer.tokenize("drill"), 1000, id -> true);
+
+        assertAll(
+                () -> assertEquals(500, shared.size()),
+                () -> assertEquals(LongStream.rangeClosed(1, 1000).filter(id -> id % 2 == 1).boxed()
+                        .collect(Collectors.toSet()), Set.copyOf(found)),
+                () -> assertEquals(500, found.size())
+        );
+    }
+
+    @Test
+    void search_whenCommonTokenExceedsScanLimit_thenSkippedAfterRarerOne() {
+        final var limited = new TokenIndex(2);
+        limited.put(1L, Tokenizer.tokenize("red drill"));
+        limited.put(2L, Tokenizer.tokenize("red tent"));
+        limited.put(3L, Tokenizer.tokenize("red ladder"));
+
+        assertEquals(List.of(1L), limited.search(Tokenizer.tokenize("red drill"), 10, id -> true));
+    }
+}
@@ -6,13 +6,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit_server.exception.NotFoundException;
+import ru.practicum.shareit_server.item.event.ItemsUpdatedEvent;
+import ru.practicum.shareit_server.item.model.Item;
+import ru.practicum.shareit_server.item.repository.ItemRepository;
 import ru.practicum.shareit_server.request.dto.ItemRequestCreationDto;
+import ru.practicum.shareit_server.request.feed.ItemRequestFeed;
+import ru.practicum.shareit_server.request.matching.RequestMatcher;
 import ru.practicum.shareit_server.request.model.ItemRequest;
 import ru.practicum.shareit_server.request.repository.ItemRequestRepository;
 import ru.practicum.shareit_server.user.model.User;
 import ru.practicum.shareit_server.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,6 +30,9 @@ public class ItemRequestServiceImplTest {
     private final ItemRequestService itemRequestService;
     private final UserRepository userRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final RequestMatcher requestMatcher;
+    private final ItemRequestFeed itemRequestFeed;
 
     @Test
     void findAllRequestsByUserId_whenInvoked_thenReturnedRequests() {
@@ -108,6 +117,7 @@ public class ItemRequestServiceImplTest {
         final var request2 = getItemRequest();
         request2.setRequestor(requestor);
         itemRequestRepository.save(request2);
+        itemRequestFeed.rebuild();
 
         final var actualRequests = itemRequestService.findAllWithPagination(requestorId, 0, 10);
 
@@ -117,6 +127,35 @@ public class ItemRequestServiceImplTest {
         );
     }
 
+    @Test
+    void findFeed_whenPagedWithCursor_thenReturnedNextRequests() {
+        final var user = userRepository.save(getUser());
+        final var requestor = getUser();
+        requestor.setEmail("newemail@w.to");
+        userRepository.save(requestor);
+        final var own = getItemRequest();
+        own.setRequestor(user);
+        itemRequestRepository.save(own);
+        final var first = getItemRequest();
+        first.setRequestor(requestor);
+        itemRequestRepository.save(first);
+        final var second = getItemRequest();
+        second.setRequestor(requestor);
+        second.setCreated(first.getCreated().plusSeconds(1));
+        itemRequestRepository.save(second);
+        itemRequestFeed.rebuild();
+
+        final var firstPage = itemRequestService.findFeed(user.getId(), null, 1);
+        final var secondPage = itemRequestService.findFeed(user.getId(), firstPage.getNextCursor(), 1);
+
+        assertAll(
+                () -> assertEquals(second.getId(), firstPage.getRequests().get(0).getId()),
+                () -> assertNotNull(firstPage.getNextCursor()),
+                () -> assertEquals(first.getId(), secondPage.getRequests().get(0).getId()),
+                () -> assertNull(secondPage.getNextCursor())
+        );
+    }
+
     @Test
     void findAllRequestsWithPagination_whenUserNotFound_thenNotFoundExceptionThrown() {
         final var user = userRepository.save(getUser());
@@ -149,6 +188,47 @@ public class ItemRequestServiceImplTest {
         assertEquals("User not found", exception.getMessage());
     }
 
+    @Test
+    void findSuggestions_whenMatchingItemIndexed_thenReturnedItem() {
+        final var owner = userRepository.save(getUser());
+        final var requestor = getUser();
+        requestor.setEmail("requestor@t.com");
+        userRepository.save(requestor);
+        final var item = itemRepository.save(Item.builder()
+                .ownerId(owner.getId())
+                .name("Cordless drill")
+                .description("Makita, two batteries")
+                .available(true)
+                .build());
+        requestMatcher.onItemsUpdated(new ItemsUpdatedEvent(List.of(item.getId())));
+        final var request = getItemRequest();
+        request.setRequestor(requestor);
+        request.setDescription("Need a drill for a weekend");
+        itemRequestRepository.save(request);
+        final var ownRequest = getItemRequest();
+        ownRequest.setRequestor(owner);
+        ownRequest.setDescription("Need a drill");
+        itemRequestRepository.save(ownRequest);
+
+        final var suggestions = itemRequestService.findSuggestions(requestor.getId(), request.getId(), 10);
+
+        assertAll(
+                () -> assertEquals(1, suggestions.size()),
+                () -> assertEquals(item.getId(), suggestions.get(0).getId()),
+                () -> assertTrue(itemRequestService.findSuggestions(owner.getId(), ownRequest.getId(), 10).isEmpty())
+        );
+    }
+
+    @Test
+    void findSuggestions_whenRequestNotFound_thenNotFoundExceptionThrown() {
+        final var user = userRepository.save(getUser());
+
+        final var exception = assertThrows(NotFoundException.class,
+                () -> itemRequestService.findSuggestions(user.getId(), 99L, 10));
+
+        assertEquals("Request not found", exception.getMessage());
+    }
+
     private ItemRequestCreationDto getItemRequestCreationDto() {
         return ItemRequestCreationDto.builder()
                 .description("desc")
@@ -0,0 +1,99 @@
+package ru.practicum.shareit_server.user.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit_server.exception.NotFoundException;
+import ru.practicum.shareit_server.user.event.UserDeletedEvent;
+import ru.practicum.shareit_server.user.event.UserSavedEvent;
+import ru.practicum.shareit_server.user.model.User;
+import ru.practicum.shareit_server.user.repository.UserRepository;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UserDirectoryTest {
+
+    private UserRepository userRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private UserDirectory userDirectory;
+
+    @BeforeEach
+    void init() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        userDirectory = new UserDirectory(true, 100, 60_000, 60_000, userRepository, meterRegistry);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(getUser()));
+        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void get_whenCalledRepeatedly_thenUserLoadedOnce() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals("user", userDirectory.get(1L).getName());
+        }
+
+        verify(userRepository, times(1)).findById(1L);
+        assertEquals(9, meterRegistry.get("cache.gets").tag("cache", "users.directory").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void get_whenUserUnknown_thenMissCachedToo() {
+        for (int i = 0; i < 10; i++) {
+            final var exception = assertThrows(NotFoundException.class, () -> userDirectory.get(2L));
+            assertEquals("User does not exist", exception.getMessage());
+        }
+
+        verify(userRepository, times(1)).findById(2L);
+    }
+
+    @Test
+    void onUserSaved_thenUserReloaded() {
+        userDirectory.get(1L);
+        final var renamed = getUser();
+        renamed.setName("renamed");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(renamed));
+
+        userDirectory.onUserSaved(new UserSavedEvent(1L));
+
+        assertEquals("renamed", userDirectory.get(1L).getName());
+    }
+
+    @Test
+    void onUserDeleted_thenUserNotFound() {
+        userDirectory.get(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+        userDirectory.onUserDeleted(new UserDeletedEvent(1L));
+
+        assertTrue(userDirectory.find(1L).isEmpty());
+    }
+
+    @Test
+    void find_whenReturnedUserChanged_thenCachedUserIntact() {
+        userDirectory.get(1L).setName("changed");
+
+        assertEquals("user", userDirectory.get(1L).getName());
+    }
+
+    @Test
+    void find_whenDisabled_thenEveryCallLoadsUser() {
+        final var disabled = new UserDirectory(false, 100, 60_000, 60_000, userRepository, new SimpleMeterRegistry());
+
+        disabled.get(1L);
+        disabled.get(1L);
+
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    private User getUser() {
+        return User.builder()
+                .id(1L)
+                .name("user")
+                .email("user@u.to")
+                .build();
+    }
+}
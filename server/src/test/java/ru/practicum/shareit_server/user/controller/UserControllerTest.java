@@ -8,18 +8,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit_server.user.dto.UserDeletionDto;
 import ru.practicum.shareit_server.user.dto.UserDto;
+import ru.practicum.shareit_server.user.model.UserDeletionStatus;
 import ru.practicum.shareit_server.user.service.UserService;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = UserController.class)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -50,15 +52,88 @@ public class UserControllerTest {
 
     @SneakyThrows
     @Test
-    void findAllUsers_thenResponseIsOk() {
-        final List<UserDto> expectedUsers = List.of(getUserDto());
-        when(userService.findAll()).thenReturn(expectedUsers);
+    void findUserById_whenIfNoneMatchMatches_thenNotModified() {
+        when(userService.findById(1L)).thenReturn(getUserDto());
 
-        mockMvc.perform(get("/users"))
+        final var etag = mockMvc.perform(get("/users/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/users/{id}", 1L)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @SneakyThrows
+    @Test
+    void findUsersByIds_thenResponseIsOk() {
+        when(userService.findByIds(List.of(2L, 1L))).thenReturn(List.of(getUserDto()));
+
+        mockMvc.perform(get("/users/batch?ids={ids}", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(userService).findByIds(List.of(2L, 1L));
+    }
+
+    @SneakyThrows
+    @Test
+    void findAllUsers_thenUsersStreamedAsJsonArray() {
+        doAnswer(invocation -> {
+            final Consumer<UserDto> action = invocation.getArgument(0);
+            action.accept(getUserDto());
+            action.accept(getUserDto());
+            return null;
+        }).when(userService).streamAll(any());
+
+        final var result = mockMvc.perform(get("/users"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @SneakyThrows
+    @Test
+    void findAllUsers_whenNdjsonAccepted_thenOneUserPerLine() {
+        doAnswer(invocation -> {
+            final Consumer<UserDto> action = invocation.getArgument(0);
+            action.accept(getUserDto());
+            action.accept(getUserDto());
+            return null;
+        }).when(userService).streamAll(any());
+        final var line = objectMapper.writeValueAsString(getUserDto()) + "\n";
+
+        final var result = mockMvc.perform(get("/users")
+                        .accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(line + line));
+    }
+
+    @SneakyThrows
+    @Test
+    void findUsersPage_thenResponseIsOk() {
+        when(userService.findPage(5L, 10)).thenReturn(List.of(getUserDto()));
+
+        mockMvc.perform(get("/users?afterId={afterId}&size={size}", 5L, 10))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
 
-        verify(userService).findAll();
+        verify(userService).findPage(5L, 10);
     }
 
     @SneakyThrows
@@ -113,6 +188,21 @@ public class UserControllerTest {
         verify(userService).deleteById(anyLong());
     }
 
+    @SneakyThrows
+    @Test
+    void findDeletion_thenResponseIsOk() {
+        when(userService.findDeletion(1L)).thenReturn(UserDeletionDto.builder()
+                .userId(1L)
+                .status(UserDeletionStatus.IN_PROGRESS)
+                .items(500)
+                .build());
+
+        mockMvc.perform(get("/users/{id}/deletion", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.items").value(500));
+    }
+
     private UserDto getUserDto() {
         return UserDto.builder()
                 .id(1L)
@@ -0,0 +1,168 @@
+package ru.practicum.shareit_server.user.deletion;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit_server.booking.model.Booking;
+import ru.practicum.shareit_server.booking.model.BookingStatus;
+import ru.practicum.shareit_server.booking.repository.BookingRepository;
+import ru.practicum.shareit_server.exception.NotFoundException;
+import ru.practicum.shareit_server.item.model.Comment;
+import ru.practicum.shareit_server.item.model.Item;
+import ru.practicum.shareit_server.item.repository.CommentRepository;
+import ru.practicum.shareit_server.item.repository.ItemRepository;
+import ru.practicum.shareit_server.item.service.ItemBookingsRefresher;
+import ru.practicum.shareit_server.request.model.ItemRequest;
+import ru.practicum.shareit_server.request.repository.ItemRequestRepository;
+import ru.practicum.shareit_server.user.dto.UserDto;
+import ru.practicum.shareit_server.user.model.User;
+import ru.practicum.shareit_server.user.model.UserDeletionStatus;
+import ru.practicum.shareit_server.user.repository.UserRepository;
+import ru.practicum.shareit_server.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest(properties = "shareit.users.deletion.chunk-size=2")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class UserDeletionJobTest {
+
+    private final UserDeletionJob userDeletionJob;
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemBookingsRefresher itemBookingsRefresher;
+    private final EntityManager entityManager;
+
+    @Test
+    void run_thenEverythingOfUserDeletedInChunksAndOthersKept() {
+        final var user = userRepository.save(getUser("user"));
+        final var other = userRepository.save(getUser("other"));
+        final var request = itemRequestRepository.save(getItemRequest(user));
+        final var userItems = List.of(
+                itemRepository.save(getItem(user, null)),
+                itemRepository.save(getItem(user, null)),
+                itemRepository.save(getItem(user, null)));
+        final var answer = itemRepository.save(getItem(other, request));
+        final var otherItem = itemRepository.save(getItem(other, null));
+        bookingRepository.save(getBooking(userItems.get(0), other));
+        bookingRepository.save(getBooking(answer, other));
+        final var otherBooking = bookingRepository.save(getBooking(otherItem, other));
+        bookingRepository.save(getBooking(otherItem, user));
+        commentRepository.save(getComment(userItems.get(1), other));
+        commentRepository.save(getComment(otherItem, user));
+        final var otherComment = commentRepository.save(getComment(otherItem, other));
+        itemBookingsRefresher.refresh(List.of(otherItem), LocalDateTime.now());
+        itemRepository.save(otherItem);
+        itemRepository.incrementCommentCount(otherItem.getId());
+        itemRepository.incrementCommentCount(otherItem.getId());
+        assertEquals(user.getId(), itemRepository.findById(otherItem.getId()).orElseThrow().getNextBookerId());
+
+        userService.deleteById(user.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThrows(NotFoundException.class, () -> userService.findById(user.getId()));
+        assertEquals(UserDeletionStatus.IN_PROGRESS, userService.findDeletion(user.getId()).getStatus());
+        assertTrue(userRepository.findEmailsAfter(0L, PageRequest.of(0, 100)).stream()
+                .anyMatch(email -> email.getId().equals(user.getId()) && email.getEmail().equals(user.getEmail())));
+
+        userDeletionJob.run(user.getId());
+        entityManager.flush();
+        entityManager.clear();
+        final var deletion = userService.findDeletion(user.getId());
+        final var survivor = itemRepository.findById(otherItem.getId()).orElseThrow();
+
+        assertAll(
+                () -> assertEquals(UserDeletionStatus.DONE, deletion.getStatus()),
+                () -> assertNotNull(deletion.getFinished()),
+                () -> assertEquals(2, deletion.getComments()),
+                () -> assertEquals(3, deletion.getBookings()),
+                () -> assertEquals(4, deletion.getItems()),
+                () -> assertEquals(1, deletion.getRequests()),
+                () -> assertEquals(List.of(otherItem.getId()), ids(itemRepository.findAll(), Item::getId)),
+                () -> assertEquals(List.of(otherBooking.getId()), ids(bookingRepository.findAll(), Booking::getId)),
+                () -> assertEquals(List.of(otherComment.getId()), ids(commentRepository.findAll(), Comment::getId)),
+                () -> assertTrue(itemRequestRepository.findAll().isEmpty()),
+                () -> assertEquals(List.of(other.getId()),
+                        ids(userService.findByIds(List.of(user.getId(), other.getId())), UserDto::getId)),
+                () -> assertTrue(userRepository.findByEmail("user@email.com").isEmpty()),
+                () -> assertEquals(1L, survivor.getCommentCount()),
+                () -> assertEquals(otherBooking.getId(), survivor.getNextBookingId()),
+                () -> assertEquals(other.getId(), survivor.getNextBookerId())
+        );
+    }
+
+    @Test
+    void deleteById_whenAlreadyDeleted_thenNotFoundExceptionThrown() {
+        final var user = userRepository.save(getUser("user"));
+        userService.deleteById(user.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThrows(NotFoundException.class, () -> userService.deleteById(user.getId()));
+    }
+
+    private static User getUser(final String name) {
+        return User.builder()
+                .name(name)
+                .email(name + "@email.com")
+                .build();
+    }
+
+    private static ItemRequest getItemRequest(final User requestor) {
+        return ItemRequest.builder()
+                .description("Need a drill")
+                .created(LocalDateTime.now())
+                .requestor(requestor)
+                .build();
+    }
+
+    private static Item getItem(final User owner, final ItemRequest request) {
+        return Item.builder()
+                .ownerId(owner.getId())
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .request(request)
+                .build();
+    }
+
+    private static Booking getBooking(final Item item, final User booker) {
+        return Booking.builder()
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .created(LocalDateTime.now())
+                .build();
+    }
+
+    private static Comment getComment(final Item item, final User author) {
+        return Comment.builder()
+                .text("Good")
+                .item(item)
+                .author(author)
+                .created(LocalDateTime.now())
+                .build();
+    }
+
+    private static <T> List<Long> ids(final List<T> entities, final Function<T, Long> id) {
+        return entities.stream()
+                .map(id)
+                .collect(Collectors.toList());
+    }
+}
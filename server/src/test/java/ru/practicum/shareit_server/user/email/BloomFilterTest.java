@@ -0,0 +1,49 @@
+package ru.practicum.shareit_server.user.email;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloomFilterTest {
+
+    @Test
+    void mightContain_whenPut_thenAlwaysTrue() {
+        final var filter = new BloomFilter(10_000, 0.01);
+
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@mail.com");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@mail.com"));
+        }
+    }
+
+    @Test
+    void mightContain_whenFilledToCapacity_thenFalsePositiveRateNearConfigured() {
+        final var filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@mail.com");
+        }
+
+        var falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i + "@mail.com")) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.005);
+    }
+
+    @Test
+    void mightContain_whenEmpty_thenFalse() {
+        final var filter = new BloomFilter(100, 0.01);
+
+        assertAll(
+                () -> assertFalse(filter.mightContain("user@mail.com")),
+                () -> assertEquals(0, filter.expectedFalsePositiveRate())
+        );
+    }
+}
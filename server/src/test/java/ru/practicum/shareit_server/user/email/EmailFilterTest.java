@@ -0,0 +1,78 @@
+package ru.practicum.shareit_server.user.email;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit_server.user.repository.UserEmailView;
+import ru.practicum.shareit_server.user.repository.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EmailFilterTest {
+
+    private UserRepository userRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private EmailFilter emailFilter;
+
+    @BeforeEach
+    void init() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        emailFilter = new EmailFilter(true, 1000, 0.01, 0.1, userRepository, meterRegistry);
+        when(userRepository.findEmailsAfter(eq(0L), any())).thenReturn(List.of(email(1L, "first@mail.com")));
+        emailFilter.rebuild();
+    }
+
+    @Test
+    void mightExist_thenOnlyRegisteredEmailsMayExist() {
+        emailFilter.put("second@mail.com");
+
+        assertAll(
+                () -> assertTrue(emailFilter.mightExist("first@mail.com")),
+                () -> assertTrue(emailFilter.mightExist("second@mail.com")),
+                () -> assertFalse(emailFilter.mightExist("third@mail.com")),
+                () -> assertEquals(1, meterRegistry.get("users.email.filter.checks").tag("result", "negative")
+                        .counter().count()),
+                () -> assertEquals(0.01, meterRegistry.get("users.email.filter.configured-false-positive-rate")
+                        .gauge().value())
+        );
+    }
+
+    @Test
+    void rebuildIfStale_whenManyEmailsGone_thenStaleEmailsDropped() {
+        when(userRepository.findEmailsAfter(eq(0L), any())).thenReturn(List.of());
+
+        emailFilter.markStale();
+        emailFilter.rebuildIfStale();
+
+        assertFalse(emailFilter.mightExist("first@mail.com"));
+    }
+
+    @Test
+    void mightExist_whenDisabled_thenEveryEmailMayExist() {
+        final var disabled = new EmailFilter(false, 1000, 0.01, 0.1, userRepository, new SimpleMeterRegistry());
+        disabled.rebuild();
+
+        assertTrue(disabled.mightExist("third@mail.com"));
+    }
+
+    private static UserEmailView email(final Long id, final String email) {
+        return new UserEmailView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
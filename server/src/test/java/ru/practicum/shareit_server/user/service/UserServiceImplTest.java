@@ -7,15 +7,28 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit_server.exception.AlreadyExistsException;
 import ru.practicum.shareit_server.exception.NotFoundException;
 import ru.practicum.shareit_server.user.dto.UserDto;
+import ru.practicum.shareit_server.user.email.EmailFilter;
+import ru.practicum.shareit_server.user.event.UserDeletedEvent;
+import ru.practicum.shareit_server.user.event.UserSavedEvent;
 import ru.practicum.shareit_server.user.model.User;
+import ru.practicum.shareit_server.user.model.UserDeletion;
+import ru.practicum.shareit_server.user.model.UserDeletionStatus;
+import ru.practicum.shareit_server.user.repository.UserDeletionRepository;
 import ru.practicum.shareit_server.user.repository.UserRepository;
+import ru.practicum.shareit_server.user.repository.UserView;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -29,6 +42,12 @@ public class UserServiceImplTest {
 
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private UserDeletionRepository userDeletionRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private EmailFilter emailFilter;
     @InjectMocks
     private UserServiceImpl userService;
     @Captor
@@ -58,15 +77,43 @@ public class UserServiceImplTest {
     }
 
     @Test
-    void findAllUsers_whenInvoked_thenReturnedUsers() {
+    void findUsersPage_whenInvoked_thenReturnedUsersAfterId() {
         final var expectedUsers = List.of(getUser());
-        when(userRepository.findAll()).thenReturn(expectedUsers);
+        when(userRepository.findByIdGreaterThan(0L, PageRequest.of(0, 10, Sort.by("id")))).thenReturn(expectedUsers);
+
+        final var actualUsers = userService.findPage(0L, 10);
+
+        assertEquals(List.of(mapToUserDto(getUser())), actualUsers);
+    }
 
-        final var actualUsers = userService.findAll();
+    @Test
+    void streamAllUsers_whenInvoked_thenEveryUserPassedAndStreamClosed() {
+        final var closed = new AtomicBoolean();
+        final var user = getUser();
+        final UserView view = new UserView() {
+            @Override
+            public Long getId() {
+                return user.getId();
+            }
+
+            @Override
+            public String getName() {
+                return user.getName();
+            }
+
+            @Override
+            public String getEmail() {
+                return user.getEmail();
+            }
+        };
+        when(userRepository.streamAll()).thenReturn(Stream.of(view, view).onClose(() -> closed.set(true)));
+        final List<UserDto> users = new ArrayList<>();
+
+        userService.streamAll(users::add);
 
         assertAll(
-                () -> assertEquals(expectedUsers.size(), actualUsers.size()),
-                () -> verify(userRepository).findAll()
+                () -> assertEquals(List.of(mapToUserDto(user), mapToUserDto(user)), users),
+                () -> assertTrue(closed.get())
         );
     }
 
@@ -81,7 +128,8 @@ public class UserServiceImplTest {
                 () -> assertNotNull(savedUser),
                 () -> assertEquals(userToSave.getName(), savedUser.getName()),
                 () -> assertEquals(userToSave.getEmail(), savedUser.getEmail()),
-                () -> verify(userRepository).save(any())
+                () -> verify(userRepository).save(any()),
+                () -> verify(eventPublisher).publishEvent(new UserSavedEvent(userToSave.getId()))
         );
     }
 
@@ -171,6 +219,7 @@ public class UserServiceImplTest {
         final var foundUser = Optional.of(getUser());
         final var userToUpdate = getUserDto();
         when(userRepository.findById(anyLong())).thenReturn(foundUser);
+        when(emailFilter.mightExist(anyString())).thenReturn(true);
         when(userRepository.findByEmail(anyString())).thenReturn(foundUser);
 
         AlreadyExistsException alreadyExistsException = assertThrows(AlreadyExistsException.class,
@@ -183,10 +232,75 @@ public class UserServiceImplTest {
     }
 
     @Test
-    void deleteUser() {
-        userService.deleteById(anyLong());
+    void saveUser_whenEmailRuledOutByFilter_thenEmailNotLookedUp() {
+        final var userToSave = getUser();
+        when(userRepository.save(userToSave)).thenReturn(userToSave);
+
+        userService.save(mapToUserDto(userToSave));
+
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(emailFilter).put(userToSave.getEmail());
+    }
+
+    @Test
+    void saveUser_whenEmailAlreadyExist_thenAlreadyExistsExceptionThrown() {
+        final var user = getUser();
+        when(emailFilter.mightExist(user.getEmail())).thenReturn(true);
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+
+        final var exception = assertThrows(AlreadyExistsException.class, () -> userService.save(mapToUserDto(user)));
+
+        assertEquals("Email already exists", exception.getMessage());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteUser_whenInvoked_thenUserTombstonedAndDeletionStarted() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(getUser()));
+        final var deletionCaptor = ArgumentCaptor.forClass(UserDeletion.class);
+
+        userService.deleteById(1L);
+
+        verify(userRepository).save(userArgumentCaptor.capture());
+        verify(userRepository, never()).deleteById(anyLong());
+        verify(userDeletionRepository).save(deletionCaptor.capture());
+        verify(eventPublisher).publishEvent(new UserDeletedEvent(1L));
+        assertAll(
+                () -> assertTrue(userArgumentCaptor.getValue().isDeleted()),
+                () -> assertEquals(1L, deletionCaptor.getValue().getUserId()),
+                () -> assertEquals(UserDeletionStatus.IN_PROGRESS, deletionCaptor.getValue().getStatus())
+        );
+    }
+
+    @Test
+    void deleteUser_whenUserNotFound_thenNotFoundExceptionThrown() {
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+        final var exception = assertThrows(NotFoundException.class, () -> userService.deleteById(1L));
+
+        assertEquals("User does not exist", exception.getMessage());
+        verifyNoInteractions(userDeletionRepository, eventPublisher);
+    }
+
+    @Test
+    void findDeletion_whenNotRequested_thenNotFoundExceptionThrown() {
+        when(userDeletionRepository.findById(1L)).thenReturn(Optional.empty());
+
+        final var exception = assertThrows(NotFoundException.class, () -> userService.findDeletion(1L));
+
+        assertEquals("User deletion does not exist", exception.getMessage());
+    }
+
+    @Test
+    void findUsersByIds_thenReturnedKnownUsersInRequestOrder() {
+        final var first = getUser();
+        final var second = getUser();
+        second.setId(2L);
+        when(userRepository.findAllById(List.of(2L, 99L, 1L, 2L))).thenReturn(List.of(first, second));
+
+        final var users = userService.findByIds(List.of(2L, 99L, 1L, 2L));
 
-        verify(userRepository).deleteById(anyLong());
+        assertEquals(List.of(mapToUserDto(second), mapToUserDto(first)), users);
     }
 
     private User getUser() {